@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import org.apache.wicket.Page;
+import org.apache.wicket.RuntimeConfigurationType;
+import org.apache.wicket.mock.MockApplication;
+
+/**
+ * Application the benchmarks run against, configured for deployment and with mounts for a
+ * realistically deep mapper chain.
+ */
+public class BenchmarkApplication extends MockApplication
+{
+	/** number of additional mounts in front of the benchmarked ones */
+	static final int MOUNTS = 20;
+
+	@Override
+	public RuntimeConfigurationType getConfigurationType()
+	{
+		return RuntimeConfigurationType.DEPLOYMENT;
+	}
+
+	@Override
+	public Class<? extends Page> getHomePage()
+	{
+		return ListPage.class;
+	}
+
+	@Override
+	protected void init()
+	{
+		super.init();
+
+		for (int i = 0; i < MOUNTS; i++)
+		{
+			mountPage("/section" + i + "/list", ListPage.class);
+		}
+		mountPage("/contacts", ListPage.class);
+		mountPage("/contact/${id}", FormPage.class);
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the CSV results of two benchmark runs written by {@link Benchmarks}.
+ * <p>
+ * Usage: {@code CompareResults <baseline.csv> <current.csv> [tolerance percent]}. Prints the
+ * relative change of every benchmark and exits with status 1 if a benchmark got slower by more
+ * than the tolerance, which defaults to 10%.
+ */
+public class CompareResults
+{
+	/**
+	 * The score of one benchmark.
+	 */
+	static class Result
+	{
+		final String mode;
+
+		final double score;
+
+		final double error;
+
+		final String unit;
+
+		Result(String mode, double score, double error, String unit)
+		{
+			this.mode = mode;
+			this.score = score;
+			this.error = error;
+			this.unit = unit;
+		}
+
+		/**
+		 * @return whether a higher score is better, as for throughput
+		 */
+		boolean isHigherBetter()
+		{
+			return "thrpt".equals(mode);
+		}
+	}
+
+	/**
+	 * Reads a CSV result file of JMH.
+	 * 
+	 * @param file
+	 * @return the results by benchmark name and parameters
+	 * @throws IOException
+	 */
+	static Map<String, Result> read(File file) throws IOException
+	{
+		Map<String, Result> results = new LinkedHashMap<String, Result>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(
+			new FileInputStream(file), "UTF-8"));
+		try
+		{
+			List<String> header = split(reader.readLine());
+			int benchmark = header.indexOf("Benchmark");
+			int mode = header.indexOf("Mode");
+			int score = header.indexOf("Score");
+			int error = header.indexOf("Score Error (99.9%)");
+			int unit = header.indexOf("Unit");
+
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				List<String> values = split(line);
+				StringBuilder key = new StringBuilder(values.get(benchmark));
+				for (int i = unit + 1; i < values.size(); i++)
+				{
+					// parameter columns follow the unit, empty for benchmarks without the parameter
+					if (values.get(i).length() > 0)
+					{
+						key.append(' ')
+							.append(header.get(i).replace("Param: ", ""))
+							.append('=')
+							.append(values.get(i));
+					}
+				}
+				results.put(key.toString(), new Result(values.get(mode),
+					parse(values.get(score)), parse(values.get(error)), values.get(unit)));
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		return results;
+	}
+
+	private static double parse(String value)
+	{
+		return value.length() == 0 || "NaN".equals(value) ? Double.NaN
+			: Double.parseDouble(value);
+	}
+
+	private static List<String> split(String line)
+	{
+		List<String> values = new ArrayList<String>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++)
+		{
+			char c = line.charAt(i);
+			if (c == '"')
+			{
+				quoted = !quoted;
+			}
+			else if (c == ',' && !quoted)
+			{
+				values.add(value.toString());
+				value.setLength(0);
+			}
+			else
+			{
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+	/**
+	 * @param args
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2)
+		{
+			System.err.println("usage: CompareResults <baseline.csv> <current.csv> [tolerance percent]");
+			System.exit(2);
+		}
+		Map<String, Result> baseline = read(new File(args[0]));
+		Map<String, Result> current = read(new File(args[1]));
+		double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+		int regressions = 0;
+		for (Map.Entry<String, Result> entry : baseline.entrySet())
+		{
+			Result before = entry.getValue();
+			Result after = current.get(entry.getKey());
+			if (after == null || !before.unit.equals(after.unit))
+			{
+				continue;
+			}
+
+			double change = (after.score - before.score) * 100 / before.score;
+			double worse = before.isHigherBetter() ? -change : change;
+			boolean regressed = worse > tolerance;
+			if (regressed)
+			{
+				regressions++;
+			}
+			System.out.println(String.format("%-70s %12.3f +- %-9.3f %12.3f +- %-9.3f %-8s %+7.1f%%%s",
+				entry.getKey(), before.score, before.error, after.score, after.error,
+				after.unit, change, regressed ? "  REGRESSION" : ""));
+		}
+		if (regressions > 0)
+		{
+			System.out.println(regressions + " benchmark(s) regressed by more than " +
+				tolerance + "%");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.io.Serializable;
+
+/**
+ * Bean backing the {@link FormPage} and the property resolver benchmarks.
+ */
+public class Contact implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Address of a contact.
+	 */
+	public static class Address implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private String street = "Main Street 1";
+
+		private String city = "Amsterdam";
+
+		/**
+		 * @return street
+		 */
+		public String getStreet()
+		{
+			return street;
+		}
+
+		/**
+		 * @param street
+		 */
+		public void setStreet(String street)
+		{
+			this.street = street;
+		}
+
+		/**
+		 * @return city
+		 */
+		public String getCity()
+		{
+			return city;
+		}
+
+		/**
+		 * @param city
+		 */
+		public void setCity(String city)
+		{
+			this.city = city;
+		}
+	}
+
+	private String name;
+
+	private Integer age = 42;
+
+	private String country = "NL";
+
+	private boolean subscribed;
+
+	private Address address = new Address();
+
+	/**
+	 * Construct.
+	 * 
+	 * @param name
+	 */
+	public Contact(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * @return name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @param name
+	 */
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * @return age
+	 */
+	public Integer getAge()
+	{
+		return age;
+	}
+
+	/**
+	 * @param age
+	 */
+	public void setAge(Integer age)
+	{
+		this.age = age;
+	}
+
+	/**
+	 * @return country code
+	 */
+	public String getCountry()
+	{
+		return country;
+	}
+
+	/**
+	 * @param country
+	 */
+	public void setCountry(String country)
+	{
+		this.country = country;
+	}
+
+	/**
+	 * @return whether the contact subscribed
+	 */
+	public boolean isSubscribed()
+	{
+		return subscribed;
+	}
+
+	/**
+	 * @param subscribed
+	 */
+	public void setSubscribed(boolean subscribed)
+	{
+		this.subscribed = subscribed;
+	}
+
+	/**
+	 * @return address
+	 */
+	public Address getAddress()
+	{
+		return address;
+	}
+
+	/**
+	 * @param address
+	 */
+	public void setAddress(Address address)
+	{
+		this.address = address;
+	}
+}
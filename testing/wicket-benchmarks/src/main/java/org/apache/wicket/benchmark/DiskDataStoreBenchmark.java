@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.pageStore.DiskDataStore;
+import org.apache.wicket.util.file.Files;
+import org.apache.wicket.util.lang.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks storing pages in and loading them from the {@link DiskDataStore}, with pages of
+ * the size of a typical serialized page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiskDataStoreBenchmark
+{
+	private static final String SESSION_ID = "session";
+
+	/** number of distinct page ids written, enough to make the data store reuse its file */
+	private static final int PAGES = 200;
+
+	private File folder;
+
+	private DiskDataStore dataStore;
+
+	private byte[] data;
+
+	private int pageId;
+
+	/**
+	 * @throws IOException
+	 */
+	@Setup
+	public void setup() throws IOException
+	{
+		folder = File.createTempFile("wicket-benchmark", "");
+		folder.delete();
+		dataStore = new DiskDataStore("benchmark", folder, Bytes.megabytes(10));
+
+		data = new byte[(int)Bytes.kilobytes(20).bytes()];
+		new Random(0).nextBytes(data);
+		for (int i = 0; i < PAGES; i++)
+		{
+			dataStore.storeData(SESSION_ID, i, data);
+		}
+	}
+
+	/** */
+	@TearDown
+	public void tearDown()
+	{
+		dataStore.destroy();
+		Files.removeFolder(folder);
+	}
+
+	/** */
+	@Benchmark
+	public void store()
+	{
+		dataStore.storeData(SESSION_ID, nextPageId(), data);
+	}
+
+	/**
+	 * @return the loaded page
+	 */
+	@Benchmark
+	public byte[] load()
+	{
+		return dataStore.getData(SESSION_ID, nextPageId());
+	}
+
+	private int nextPageId()
+	{
+		pageId = (pageId + 1) % PAGES;
+		return pageId;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.form.Button;
+import org.apache.wicket.markup.html.form.CheckBox;
+import org.apache.wicket.markup.html.form.DropDownChoice;
+import org.apache.wicket.markup.html.form.Form;
+import org.apache.wicket.markup.html.form.RequiredTextField;
+import org.apache.wicket.markup.html.form.TextField;
+import org.apache.wicket.markup.html.panel.FeedbackPanel;
+import org.apache.wicket.model.CompoundPropertyModel;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.validation.validator.RangeValidator;
+
+/**
+ * A page with a form editing a {@link Contact}.
+ */
+public class FormPage extends WebPage
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> COUNTRIES = Arrays.asList("BE", "DE", "FR", "NL", "UK",
+		"US");
+
+	/**
+	 * Construct.
+	 * 
+	 * @param parameters
+	 */
+	public FormPage(PageParameters parameters)
+	{
+		super(parameters);
+
+		Contact contact = new Contact("Contact " + parameters.get("id").toInt(0));
+		Form<Contact> form = new Form<Contact>("form", new CompoundPropertyModel<Contact>(contact));
+		add(form);
+
+		form.add(new RequiredTextField<String>("name"));
+		form.add(new TextField<Integer>("age").add(new RangeValidator<Integer>(0, 150)));
+		form.add(new TextField<String>("address.street"));
+		form.add(new TextField<String>("address.city"));
+		form.add(new DropDownChoice<String>("country", COUNTRIES));
+		form.add(new CheckBox("subscribed"));
+		form.add(new Button("save"));
+
+		add(new FeedbackPanel("feedback"));
+	}
+}
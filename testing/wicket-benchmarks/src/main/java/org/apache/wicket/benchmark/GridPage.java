@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.Date;
+
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.list.Loop;
+import org.apache.wicket.markup.html.list.LoopItem;
+import org.apache.wicket.model.Model;
+
+/**
+ * A page with a large table of numbers and dates, all of them rendered through the converters of
+ * the application.
+ */
+public class GridPage extends WebPage
+{
+	private static final long serialVersionUID = 1L;
+
+	/** number of rows in the table */
+	static final int ROWS = 1000;
+
+	/** number of columns in the table: integers, followed by decimals and dates */
+	static final int COLUMNS = 20;
+
+	/** first column holding decimals */
+	private static final int DECIMALS = 10;
+
+	/** first column holding dates */
+	private static final int DATES = 18;
+
+	private static final long DAY = 24 * 60 * 60 * 1000L;
+
+	/**
+	 * Construct.
+	 */
+	public GridPage()
+	{
+		add(new Loop("rows", ROWS)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void populateItem(final LoopItem row)
+			{
+				row.add(new Loop("cells", COLUMNS)
+				{
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected void populateItem(final LoopItem cell)
+					{
+						int rowIndex = row.getIndex();
+						int column = cell.getIndex();
+						if (column < DECIMALS)
+						{
+							cell.add(new Label("value", Model.of(rowIndex * COLUMNS + column)));
+						}
+						else if (column < DATES)
+						{
+							cell.add(new Label("value", Model.of(rowIndex + column / 8d)));
+						}
+						else
+						{
+							cell.add(new Label("value", Model.of(new Date(rowIndex * DAY))));
+						}
+					}
+				});
+			}
+		});
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.injection.Injector;
+import org.apache.wicket.spring.ISpringContextLocator;
+import org.apache.wicket.spring.injection.annot.AnnotProxyFieldValueFactory;
+import org.apache.wicket.spring.injection.annot.SpringBean;
+import org.apache.wicket.spring.test.ApplicationContextMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Benchmarks injecting {@link SpringBean} fields into newly constructed objects, as the
+ * SpringComponentInjector does for every component.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionBenchmark
+{
+	private static final int COMPONENTS = 10000;
+
+	private Injector injector;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		final ApplicationContextMock context = new ApplicationContextMock();
+		context.putBean("service", new Service());
+		context.putBean("repository", new Repository());
+
+		final AnnotProxyFieldValueFactory factory = new AnnotProxyFieldValueFactory(
+			new ISpringContextLocator()
+			{
+				private static final long serialVersionUID = 1L;
+
+				public ApplicationContext getSpringContext()
+				{
+					return context;
+				}
+			});
+
+		injector = new Injector()
+		{
+			@Override
+			public void inject(Object object)
+			{
+				inject(object, factory);
+			}
+		};
+	}
+
+	/**
+	 * Constructs and injects 10000 components.
+	 * 
+	 * @return the last component
+	 */
+	@Benchmark
+	@OperationsPerInvocation(COMPONENTS)
+	public Object construct()
+	{
+		Component component = null;
+		for (int i = 0; i < COMPONENTS; i++)
+		{
+			component = new Component();
+			injector.inject(component);
+		}
+		return component;
+	}
+
+	/** a bean */
+	public static class Service
+	{
+	}
+
+	/** another bean */
+	public static class Repository
+	{
+	}
+
+	/** a component with injected fields in its class and super class */
+	public static class Component extends BaseComponent
+	{
+		@SpringBean
+		private Repository repository;
+
+		@SpringBean(name = "service")
+		private Service namedService;
+
+		private String notInjected;
+	}
+
+	/** super class of the component */
+	public static class BaseComponent
+	{
+		@SpringBean
+		private Service service;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.AttributeModifier;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.link.BookmarkablePageLink;
+import org.apache.wicket.markup.html.link.Link;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.model.PropertyModel;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+
+/**
+ * A page listing contacts in a table, each row with labels and links.
+ */
+public class ListPage extends WebPage
+{
+	private static final long serialVersionUID = 1L;
+
+	/** number of rows in the table */
+	static final int ROWS = 50;
+
+	private Contact selected;
+
+	/**
+	 * Construct.
+	 */
+	public ListPage()
+	{
+		List<Contact> contacts = new ArrayList<Contact>();
+		for (int i = 0; i < ROWS; i++)
+		{
+			contacts.add(new Contact("Contact " + i));
+		}
+
+		add(new Label("selected", new PropertyModel<String>(this, "selected.name")));
+		add(new ListView<Contact>("rows", contacts)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void populateItem(final ListItem<Contact> item)
+			{
+				item.add(new Label("name", new PropertyModel<String>(item.getModel(), "name")));
+				item.add(new Label("city", new PropertyModel<String>(item.getModel(),
+					"address.city")));
+				item.add(new Link<Contact>("select", item.getModel())
+				{
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public void onClick()
+					{
+						selected = getModelObject();
+					}
+				});
+				item.add(new BookmarkablePageLink<Void>("edit", FormPage.class,
+					new PageParameters().set("id", item.getIndex())));
+				item.add(AttributeModifier.replace("class", item.getIndex() % 2 == 0 ? "even"
+					: "odd"));
+			}
+		});
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.markup.IMarkupFragment;
+import org.apache.wicket.markup.MarkupParser;
+import org.apache.wicket.util.io.Streams;
+import org.apache.wicket.util.resource.ResourceStreamNotFoundException;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks parsing page templates, which happens whenever markup is loaded into the markup
+ * cache or reloaded in development mode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkupParserBenchmark
+{
+	/** the template to parse, relative to this package */
+	@Param({ "ListPage.html", "FormPage.html" })
+	public String template;
+
+	private WicketTester tester;
+
+	private String markup;
+
+	/**
+	 * @throws IOException
+	 */
+	@Setup
+	public void setup() throws IOException
+	{
+		// the parser reads its settings from the application
+		tester = new WicketTester(new BenchmarkApplication());
+		markup = Streams.readString(getClass().getResourceAsStream(template), "UTF-8");
+	}
+
+	/** */
+	@TearDown
+	public void tearDown()
+	{
+		tester.destroy();
+	}
+
+	/**
+	 * @return the parsed markup
+	 * @throws IOException
+	 * @throws ResourceStreamNotFoundException
+	 */
+	@Benchmark
+	public IMarkupFragment parse() throws IOException, ResourceStreamNotFoundException
+	{
+		return new MarkupParser(markup).parse();
+	}
+}
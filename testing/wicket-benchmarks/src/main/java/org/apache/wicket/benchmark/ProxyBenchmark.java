@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.proxy.IProxyTargetLocator;
+import org.apache.wicket.proxy.LazyInitProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks calls through the proxies created by {@link LazyInitProxyFactory}, compared to calling
+ * the target directly, and serialization of the proxies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyBenchmark
+{
+	private Service target;
+
+	private IService interfaceProxy;
+
+	private Service concreteProxy;
+
+	private int value;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		target = new Service();
+		interfaceProxy = (IService)LazyInitProxyFactory.createProxy(IService.class,
+			ServiceLocator.INSTANCE);
+		concreteProxy = (Service)LazyInitProxyFactory.createProxy(Service.class,
+			ServiceLocator.INSTANCE);
+	}
+
+	/**
+	 * @return result
+	 */
+	@Benchmark
+	public int direct()
+	{
+		return target.add(value++, 1);
+	}
+
+	/**
+	 * @return result
+	 */
+	@Benchmark
+	public int interfaceProxy()
+	{
+		return interfaceProxy.add(value++, 1);
+	}
+
+	/**
+	 * @return result
+	 */
+	@Benchmark
+	public int concreteProxy()
+	{
+		return concreteProxy.add(value++, 1);
+	}
+
+	/**
+	 * @return serialized proxy
+	 * @throws IOException
+	 */
+	@Benchmark
+	public byte[] serializeInterfaceProxy() throws IOException
+	{
+		return serialize(interfaceProxy);
+	}
+
+	/**
+	 * @return serialized proxy
+	 * @throws IOException
+	 */
+	@Benchmark
+	public byte[] serializeConcreteProxy() throws IOException
+	{
+		return serialize(concreteProxy);
+	}
+
+	private static byte[] serialize(Object object) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(object);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	/** the proxied interface */
+	public static interface IService
+	{
+		/**
+		 * @param a
+		 * @param b
+		 * @return sum
+		 */
+		int add(int a, int b);
+	}
+
+	/** the proxied class */
+	public static class Service implements IService
+	{
+		public int add(int a, int b)
+		{
+			return a + b;
+		}
+	}
+
+	/** locator with a static lookup */
+	private static class ServiceLocator implements IProxyTargetLocator
+	{
+		private static final long serialVersionUID = 1L;
+
+		private static final ServiceLocator INSTANCE = new ServiceLocator();
+
+		private static final Service SERVICE = new Service();
+
+		public Object locateProxyTarget()
+		{
+			return SERVICE;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.protocol.http.mock.MockHttpServletResponse;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks rendering complete pages through {@link WicketTester}, including the request cycle
+ * around the render.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark
+{
+	private WicketTester tester;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		tester = new WicketTester(new BenchmarkApplication());
+	}
+
+	/** */
+	@TearDown
+	public void tearDown()
+	{
+		tester.destroy();
+	}
+
+	/**
+	 * @return the response
+	 */
+	@Benchmark
+	public MockHttpServletResponse renderListPage()
+	{
+		tester.startPage(ListPage.class);
+		return clearPages();
+	}
+
+	/**
+	 * @return the response
+	 */
+	@Benchmark
+	public MockHttpServletResponse renderFormPage()
+	{
+		tester.startPage(FormPage.class, new PageParameters().set("id", 1));
+		return clearPages();
+	}
+
+	/**
+	 * Drops the rendered pages, which the tester's page manager would otherwise keep forever.
+	 */
+	private MockHttpServletResponse clearPages()
+	{
+		tester.getSession().getPageManager().newSessionCreated();
+		return tester.getLastResponse();
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.mock.MockWebRequest;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.IRequestMapper;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.handler.BookmarkablePageRequestHandler;
+import org.apache.wicket.request.handler.PageProvider;
+import org.apache.wicket.request.mapper.CryptoMapper;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks resolving requests to handlers and rendering urls for handlers with the
+ * application's compound root mapper, plain and wrapped in a {@link CryptoMapper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMappingBenchmark
+{
+	private static final String MOUNTED = "contact/42?foo=bar";
+
+	private static final String LISTENER = "wicket/page?0-1.ILinkListener-rows-3-select";
+
+	private final Charset charset = Charset.forName("UTF-8");
+
+	private WicketTester tester;
+
+	private IRequestMapper mapper;
+
+	private IRequestMapper cryptoMapper;
+
+	private IRequestHandler handler;
+
+	private MockWebRequest mountedRequest;
+
+	private MockWebRequest listenerRequest;
+
+	private MockWebRequest encryptedRequest;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		// the tester binds the application, session and request cycle the mappers rely on
+		tester = new WicketTester(new BenchmarkApplication());
+		mapper = tester.getApplication().getRootRequestMapper();
+		cryptoMapper = new CryptoMapper(mapper, tester.getApplication());
+
+		handler = new BookmarkablePageRequestHandler(new PageProvider(FormPage.class,
+			new PageParameters().set("id", 42)));
+		mountedRequest = new MockWebRequest(Url.parse(MOUNTED, charset));
+		listenerRequest = new MockWebRequest(Url.parse(LISTENER, charset));
+		encryptedRequest = new MockWebRequest(cryptoMapper.mapHandler(handler));
+	}
+
+	/** */
+	@TearDown
+	public void tearDown()
+	{
+		tester.destroy();
+	}
+
+	/**
+	 * @return the handler of a mounted page
+	 */
+	@Benchmark
+	public IRequestHandler mapRequestMounted()
+	{
+		return mapper.mapRequest(mountedRequest);
+	}
+
+	/**
+	 * @return the handler of a listener interface on a page instance
+	 */
+	@Benchmark
+	public IRequestHandler mapRequestListener()
+	{
+		return mapper.mapRequest(listenerRequest);
+	}
+
+	/**
+	 * @return the url of a mounted page
+	 */
+	@Benchmark
+	public Url mapHandler()
+	{
+		return mapper.mapHandler(handler);
+	}
+
+	/**
+	 * @return the handler of an encrypted url
+	 */
+	@Benchmark
+	public IRequestHandler cryptoMapRequest()
+	{
+		return cryptoMapper.mapRequest(encryptedRequest);
+	}
+
+	/**
+	 * @return the encrypted url of a mounted page
+	 */
+	@Benchmark
+	public Url cryptoMapHandler()
+	{
+		return cryptoMapper.mapHandler(handler);
+	}
+}
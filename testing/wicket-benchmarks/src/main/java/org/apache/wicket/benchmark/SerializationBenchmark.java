@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.Page;
+import org.apache.wicket.serialize.java.JavaSerializer;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks serializing and deserializing a rendered page with {@link JavaSerializer}, as the
+ * page store does for every stored page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark
+{
+	private WicketTester tester;
+
+	private JavaSerializer serializer;
+
+	private Page page;
+
+	private byte[] data;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		tester = new WicketTester(new BenchmarkApplication());
+		serializer = new JavaSerializer(tester.getApplication().getApplicationKey());
+		page = tester.startPage(ListPage.class);
+		data = serializer.serialize(page);
+	}
+
+	/** */
+	@TearDown
+	public void tearDown()
+	{
+		tester.destroy();
+	}
+
+	/**
+	 * @return the serialized page
+	 */
+	@Benchmark
+	public byte[] serialize()
+	{
+		return serializer.serialize(page);
+	}
+
+	/**
+	 * @return the deserialized page
+	 */
+	@Benchmark
+	public Object deserialize()
+	{
+		return serializer.deserialize(data);
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.request.Url;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks parsing and rendering of {@link Url}s, which happens for every request and every
+ * generated link.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBenchmark
+{
+	/** a typical url of a mounted page with a listener interface */
+	private static final String PLAIN = "wicket/bookmarkable/org.apache.wicket.examples.Home?0-1.ILinkListener-form-list-3-link&foo=bar";
+
+	/** an url with escaped characters in segments and parameters */
+	private static final String ENCODED = "products/shoes%20%26%20boots/%C3%A4rger?q=red+shoes&size=42%2F43";
+
+	/** an absolute url */
+	private static final String ABSOLUTE = "https://www.example.com:8443/app/products/list?page=2";
+
+	private final Charset charset = Charset.forName("UTF-8");
+
+	private Url plain;
+
+	private Url encoded;
+
+	private Url absolute;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		plain = Url.parse(PLAIN, charset);
+		encoded = Url.parse(ENCODED, charset);
+		absolute = Url.parse(ABSOLUTE, charset);
+	}
+
+	/**
+	 * @return parsed url
+	 */
+	@Benchmark
+	public Url parsePlain()
+	{
+		return Url.parse(PLAIN, charset);
+	}
+
+	/**
+	 * @return parsed url
+	 */
+	@Benchmark
+	public Url parseEncoded()
+	{
+		return Url.parse(ENCODED, charset);
+	}
+
+	/**
+	 * @return parsed url
+	 */
+	@Benchmark
+	public Url parseAbsolute()
+	{
+		return Url.parse(ABSOLUTE, charset);
+	}
+
+	/**
+	 * @return rendered url
+	 */
+	@Benchmark
+	public String renderPlain()
+	{
+		return plain.toString(charset);
+	}
+
+	/**
+	 * @return rendered url
+	 */
+	@Benchmark
+	public String renderEncoded()
+	{
+		return encoded.toString(charset);
+	}
+
+	/**
+	 * @return rendered url
+	 */
+	@Benchmark
+	public String renderAbsolute()
+	{
+		return absolute.toString(Url.StringMode.FULL, charset);
+	}
+
+	/**
+	 * @return rendered url
+	 */
+	@Benchmark
+	public String roundTrip()
+	{
+		return Url.parse(PLAIN, charset).toString(charset);
+	}
+}
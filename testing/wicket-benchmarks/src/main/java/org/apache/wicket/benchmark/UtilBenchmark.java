@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.util.lang.PropertyResolver;
+import org.apache.wicket.util.string.AppendingStringBuffer;
+import org.apache.wicket.util.string.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the utilities used for every component while rendering: property expressions, markup
+ * escaping and building the response text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark
+{
+	private static final String PLAIN_TEXT = "The quick brown fox jumps over the lazy dog";
+
+	private static final String MARKUP_TEXT = "<b>Fish & Chips</b> for \"2\" at the 'Dog & Duck'";
+
+	private static final String[] FRAGMENTS = { "<tr class=\"odd\">", "<td>", "Contact 1",
+			"</td>", "<td>", "Amsterdam", "</td>", "</tr>" };
+
+	private Contact contact;
+
+	/** */
+	@Setup
+	public void setup()
+	{
+		contact = new Contact("Contact 1");
+	}
+
+	/**
+	 * @return property value
+	 */
+	@Benchmark
+	public Object propertyResolverSimple()
+	{
+		return PropertyResolver.getValue("name", contact);
+	}
+
+	/**
+	 * @return property value
+	 */
+	@Benchmark
+	public Object propertyResolverNested()
+	{
+		return PropertyResolver.getValue("address.city", contact);
+	}
+
+	/**
+	 * @return escaped text
+	 */
+	@Benchmark
+	public CharSequence escapeMarkupPlain()
+	{
+		return Strings.escapeMarkup(PLAIN_TEXT);
+	}
+
+	/**
+	 * @return escaped text
+	 */
+	@Benchmark
+	public CharSequence escapeMarkupSpecial()
+	{
+		return Strings.escapeMarkup(MARKUP_TEXT);
+	}
+
+	/**
+	 * @return the appended text
+	 */
+	@Benchmark
+	public AppendingStringBuffer appendingStringBuffer()
+	{
+		AppendingStringBuffer buffer = new AppendingStringBuffer();
+		for (int i = 0; i < 50; i++)
+		{
+			for (String fragment : FRAGMENTS)
+			{
+				buffer.append(fragment);
+			}
+		}
+		return buffer;
+	}
+}
@@ -44,6 +44,7 @@ public class App1Test1
 		SimpleGetCommand getCmd = new SimpleGetCommand(gets, 10);
 		// getCmd.setPrintResponse(true);
 		Tester tester = new Tester(getCmd, 100, true);
+		tester.setName("App1Test1");
 		tester.run();
 	}
 }
@@ -40,6 +40,7 @@ public class App1Test2
 
 		// getCmd.setPrintResponse(true);
 		Tester tester = new Tester(getCmd, 100, false);
+		tester.setName("App1Test2");
 		tester.run();
 	}
 }
@@ -46,6 +46,7 @@ public class App1Test3
 
 		// getCmd.setPrintResponse(true);
 		Tester tester = new Tester(getCmd, 100, false);
+		tester.setName("App1Test3");
 		tester.run();
 	}
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.threadtest;
+
+import org.apache.wicket.threadtest.tester.ScenarioCommand;
+import org.apache.wicket.threadtest.tester.Tester;
+
+/**
+ * Renders the home page, follows its Ajax link and submits its form, each thread in its own
+ * session. Run with {@code -Dwicket.threadtest.report=<file>} to store the report as a baseline
+ * for {@link org.apache.wicket.threadtest.tester.Baseline}.
+ */
+public class App1Test4
+{
+	/**
+	 * @param args
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		ScenarioCommand scenario = new ScenarioCommand(10).get(
+			"/app1/wicket/bookmarkable/org.apache.wicket.threadtest.apps.app1.Home")
+			.followAjax("Wicket\\.Ajax\\.get\\('([^']*ajaxLink)'")
+			.submit("action=\"([^\"]*inputForm)\"", "stringProperty", "test",
+				"integerProperty", "${iteration}", "doubleProperty", "1.5");
+
+		Tester tester = new Tester(scenario, 50, true);
+		tester.setName("App1Test4");
+		tester.run();
+	}
+}
@@ -44,6 +44,7 @@ public class App2Test1
 		// AS OF OCTOBER 9 2006, THIS TYPICALLY RESULTS IN A DEADLOCK
 		// FIXED now... keep this test
 		Tester tester = new Tester(getCmd, 50, false);
+		tester.setName("App2Test1");
 
 		// new Tester(.., .., false) would not give a deadlock, as then
 		// all threads point to seperate sessions
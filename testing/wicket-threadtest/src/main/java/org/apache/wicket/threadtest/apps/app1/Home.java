@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Locale;
 
 import org.apache.wicket.AttributeModifier;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.ajax.markup.html.AjaxLink;
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.html.WebPage;
 import org.apache.wicket.markup.html.basic.Label;
@@ -371,7 +373,20 @@ public class Home extends WebPage
 			}
 		});
 
-		add(new Label("selectedLabel", new PropertyModel<Contact>(this, "selectedContactLabel")));
+		final Label selectedLabel = new Label("selectedLabel", new PropertyModel<Contact>(this,
+			"selectedContactLabel"));
+		add(selectedLabel.setOutputMarkupId(true));
+
+		add(new AjaxLink<Void>("ajaxLink")
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onClick(AjaxRequestTarget target)
+			{
+				target.add(selectedLabel);
+			}
+		});
 
 		add(new DataView<Contact>("simple", new ContactDataProvider())
 		{
@@ -30,6 +30,7 @@ import org.apache.wicket.pageStore.memory.HttpSessionDataStore;
 import org.apache.wicket.pageStore.memory.PageNumberEvictionStrategy;
 import org.apache.wicket.protocol.http.WebApplication;
 import org.apache.wicket.serialize.java.JavaSerializer;
+import org.apache.wicket.threadtest.tester.CountingDataStore;
 
 /**
  * Test application
@@ -77,8 +78,8 @@ public class TestApp1 extends WebApplication
 			@Override
 			public IPageManager get(IPageManagerContext pageManagerContext)
 			{
-				IDataStore dataStore = new HttpSessionDataStore(pageManagerContext,
-					new PageNumberEvictionStrategy(100));
+				IDataStore dataStore = new CountingDataStore(new HttpSessionDataStore(
+					pageManagerContext, new PageNumberEvictionStrategy(100)));
 				IPageStore pageStore = new DefaultPageStore(
 					new JavaSerializer(getApplicationKey()), dataStore,
 					getStoreSettings().getInmemoryCacheSize());
@@ -55,7 +55,9 @@ public abstract class AbstractGetCommand extends AbstractCommand
 
 				String modUrl = Strings.replaceAll(url, "${iteration}", String.valueOf(i))
 					.toString();
-				doGet(runner.getClient(), modUrl);
+				long start = System.nanoTime();
+				int code = doGet(runner.getClient(), modUrl);
+				runner.getStatistics().record(url, System.nanoTime() - start, code != 200);
 			}
 		}
 	}
@@ -67,7 +69,8 @@ public abstract class AbstractGetCommand extends AbstractCommand
 	 *            The url to GET
 	 * @param client
 	 *            the http client
+	 * @return the status code of the response
 	 * @throws Exception
 	 */
-	protected abstract void doGet(HttpClient client, String url) throws Exception;
+	protected abstract int doGet(HttpClient client, String url) throws Exception;
 }
\ No newline at end of file
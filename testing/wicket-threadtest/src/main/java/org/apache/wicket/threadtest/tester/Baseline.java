@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.threadtest.tester;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Compares a stored {@link Report} against a baseline stored by an earlier build.
+ * <p>
+ * Usage: {@code Baseline <baseline.properties> <current.properties> [tolerance percent]}. Prints
+ * the relative change of every metric and exits with status 1 if a metric got worse by more than
+ * the tolerance, which defaults to 10%.
+ */
+public class Baseline
+{
+	private final Properties baseline;
+
+	private final double tolerance;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param baseline
+	 *            the metrics to compare against
+	 * @param tolerancePercent
+	 *            how much worse a metric may get before it counts as a regression
+	 */
+	public Baseline(Properties baseline, double tolerancePercent)
+	{
+		this.baseline = baseline;
+		tolerance = tolerancePercent;
+	}
+
+	/**
+	 * Compares the metrics against the baseline. Metrics missing on either side are skipped.
+	 * 
+	 * @param current
+	 *            the metrics of the current build
+	 * @param out
+	 *            receives one line per compared metric
+	 * @return the metrics that regressed
+	 */
+	public List<String> compare(Properties current, StringBuilder out)
+	{
+		List<String> regressions = new ArrayList<String>();
+		for (String key : new TreeSet<String>(baseline.stringPropertyNames()))
+		{
+			String value = current.getProperty(key);
+			if (value == null || key.endsWith(".requests"))
+			{
+				continue;
+			}
+			double before = Double.parseDouble(baseline.getProperty(key));
+			double after = Double.parseDouble(value);
+			if (before < 0 || after < 0)
+			{
+				// not measured
+				continue;
+			}
+
+			double change = before == 0 ? (after == 0 ? 0 : 100) : (after - before) * 100 /
+				before;
+			// only throughput is better when it grows
+			double worse = key.endsWith(".throughput") ? -change : change;
+			boolean regressed = worse > tolerance;
+			if (regressed)
+			{
+				regressions.add(key);
+			}
+			out.append(String.format("%-40s %14.3f %14.3f %+8.1f%%%s%n", key, before, after,
+				change, regressed ? "  REGRESSION" : ""));
+		}
+		return regressions;
+	}
+
+	/**
+	 * @param args
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length < 2)
+		{
+			System.err.println("usage: Baseline <baseline.properties> <current.properties> [tolerance percent]");
+			System.exit(2);
+		}
+		double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+		Baseline baseline = new Baseline(Report.load(new File(args[0])), tolerance);
+
+		StringBuilder out = new StringBuilder();
+		List<String> regressions = baseline.compare(Report.load(new File(args[1])), out);
+		System.out.print(out);
+		if (!regressions.isEmpty())
+		{
+			System.out.println(regressions.size() + " metric(s) regressed by more than " +
+				tolerance + "%: " + regressions);
+			System.exit(1);
+		}
+	}
+}
@@ -56,6 +56,8 @@ public class CommandRunner implements Runnable
 
 	private final CommandRunnerObserver observer;
 
+	private final Statistics statistics = new Statistics();
+
 	/**
 	 * Construct.
 	 * 
@@ -80,6 +82,16 @@ public class CommandRunner implements Runnable
 		return client;
 	}
 
+	/**
+	 * Gets the statistics the commands record the requests of this runner in.
+	 * 
+	 * @return the statistics
+	 */
+	public Statistics getStatistics()
+	{
+		return statistics;
+	}
+
 	/**
 	 * @see java.lang.Runnable#run()
 	 */
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.threadtest.tester;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.wicket.pageStore.IDataStore;
+
+/**
+ * Data store decorator that counts the pages and bytes written to the page store, so that a
+ * {@link Tester} running the server in its own JVM can report them per scenario.
+ */
+public class CountingDataStore implements IDataStore
+{
+	private static final AtomicLong storedPages = new AtomicLong();
+
+	private static final AtomicLong storedBytes = new AtomicLong();
+
+	private final IDataStore delegate;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param delegate
+	 *            the data store to count the writes of
+	 */
+	public CountingDataStore(IDataStore delegate)
+	{
+		this.delegate = delegate;
+	}
+
+	/**
+	 * @return number of pages stored by all counting data stores in this JVM
+	 */
+	public static long getStoredPages()
+	{
+		return storedPages.get();
+	}
+
+	/**
+	 * @return number of bytes stored by all counting data stores in this JVM
+	 */
+	public static long getStoredBytes()
+	{
+		return storedBytes.get();
+	}
+
+	public byte[] getData(String sessionId, int id)
+	{
+		return delegate.getData(sessionId, id);
+	}
+
+	public void removeData(String sessionId, int id)
+	{
+		delegate.removeData(sessionId, id);
+	}
+
+	public void removeData(String sessionId)
+	{
+		delegate.removeData(sessionId);
+	}
+
+	public void storeData(String sessionId, int id, byte[] data)
+	{
+		storedPages.incrementAndGet();
+		storedBytes.addAndGet(data.length);
+		delegate.storeData(sessionId, id, data);
+	}
+
+	public void destroy()
+	{
+		delegate.destroy();
+	}
+
+	public boolean isReplicated()
+	{
+		return delegate.isReplicated();
+	}
+
+	public boolean canBeAsynchronous()
+	{
+		return delegate.canBeAsynchronous();
+	}
+}
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.threadtest.tester;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.wicket.threadtest.tester.Statistics.Series;
+
+/**
+ * The outcome of one {@link Tester} run: request latencies, throughput, the bytes written to the
+ * page store and the garbage produced while the scenario ran. Reports can be stored in a
+ * properties file which serves as the baseline for later runs, see {@link Baseline}.
+ */
+public class Report
+{
+	/**
+	 * Resource usage of this JVM at a point in time.
+	 */
+	static class Snapshot
+	{
+		private final long nanos = System.nanoTime();
+
+		private final Map<Long, Long> allocatedBytes = new HashMap<Long, Long>();
+
+		private long gcCount;
+
+		private long gcMillis;
+
+		private final long storedPages = CountingDataStore.getStoredPages();
+
+		private final long storedBytes = CountingDataStore.getStoredBytes();
+
+		Snapshot()
+		{
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (threads instanceof com.sun.management.ThreadMXBean)
+			{
+				com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean)threads;
+				if (hotspot.isThreadAllocatedMemorySupported() &&
+					hotspot.isThreadAllocatedMemoryEnabled())
+				{
+					long[] ids = hotspot.getAllThreadIds();
+					long[] bytes = hotspot.getThreadAllocatedBytes(ids);
+					for (int i = 0; i < ids.length; i++)
+					{
+						if (bytes[i] >= 0)
+						{
+							allocatedBytes.put(ids[i], bytes[i]);
+						}
+					}
+				}
+			}
+			for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			{
+				gcCount += Math.max(0, gc.getCollectionCount());
+				gcMillis += Math.max(0, gc.getCollectionTime());
+			}
+		}
+
+		/**
+		 * Bytes allocated between the earlier snapshot and this one by the threads alive at this
+		 * snapshot, which excludes the runner threads but includes the pooled server threads when
+		 * the server runs in this JVM.
+		 */
+		private long allocatedSince(Snapshot earlier)
+		{
+			if (allocatedBytes.isEmpty())
+			{
+				return -1;
+			}
+			long total = 0;
+			for (Map.Entry<Long, Long> entry : allocatedBytes.entrySet())
+			{
+				Long before = earlier.allocatedBytes.get(entry.getKey());
+				total += entry.getValue() - (before != null ? before : 0);
+			}
+			return total;
+		}
+	}
+
+	private final String name;
+
+	private final Statistics statistics;
+
+	private final long elapsedNanos;
+
+	private final long allocatedBytes;
+
+	private final long gcCount;
+
+	private final long gcMillis;
+
+	private final long storedPages;
+
+	private final long storedBytes;
+
+	Report(String name, Statistics statistics, Snapshot start, Snapshot end)
+	{
+		this.name = name;
+		this.statistics = statistics;
+		elapsedNanos = end.nanos - start.nanos;
+		allocatedBytes = end.allocatedSince(start);
+		gcCount = end.gcCount - start.gcCount;
+		gcMillis = end.gcMillis - start.gcMillis;
+		storedPages = end.storedPages - start.storedPages;
+		storedBytes = end.storedBytes - start.storedBytes;
+	}
+
+	/**
+	 * @return the name of the scenario
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return the latencies of the requests
+	 */
+	public Statistics getStatistics()
+	{
+		return statistics;
+	}
+
+	/**
+	 * @return wall clock time of the run in milliseconds
+	 */
+	public long getElapsedMillis()
+	{
+		return elapsedNanos / 1000000;
+	}
+
+	/**
+	 * @return requests per second
+	 */
+	public double getThroughput()
+	{
+		return elapsedNanos > 0 ? statistics.getTotal().getCount() * 1000000000d / elapsedNanos
+			: 0;
+	}
+
+	/**
+	 * @return bytes allocated by the threads still alive at the end of the run, or -1 if the JVM
+	 *         doesn't support measuring it
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	/**
+	 * @return number of garbage collections during the run
+	 */
+	public long getGcCount()
+	{
+		return gcCount;
+	}
+
+	/**
+	 * @return time spent in garbage collection during the run, in milliseconds
+	 */
+	public long getGcMillis()
+	{
+		return gcMillis;
+	}
+
+	/**
+	 * @return number of pages written to a {@link CountingDataStore} during the run
+	 */
+	public long getStoredPages()
+	{
+		return storedPages;
+	}
+
+	/**
+	 * @return number of bytes written to a {@link CountingDataStore} during the run
+	 */
+	public long getStoredBytes()
+	{
+		return storedBytes;
+	}
+
+	/**
+	 * Puts the metrics of this report into {@code properties}, each key prefixed with the name of
+	 * the scenario.
+	 * 
+	 * @param properties
+	 */
+	public void putInto(Properties properties)
+	{
+		Series total = statistics.getTotal();
+		put(properties, "requests", total.getCount());
+		put(properties, "errors", total.getErrors());
+		put(properties, "throughput", getThroughput());
+		put(properties, "latency.avg", Statistics.millis(total.getAverage()));
+		put(properties, "latency.p50", Statistics.millis(total.getPercentile(50)));
+		put(properties, "latency.p90", Statistics.millis(total.getPercentile(90)));
+		put(properties, "latency.p99", Statistics.millis(total.getPercentile(99)));
+		put(properties, "latency.max", Statistics.millis(total.getMax()));
+		put(properties, "allocatedBytes", allocatedBytes);
+		put(properties, "gcCount", gcCount);
+		put(properties, "gcMillis", gcMillis);
+		put(properties, "pageStore.pages", storedPages);
+		put(properties, "pageStore.bytes", storedBytes);
+	}
+
+	private void put(Properties properties, String key, Number value)
+	{
+		String text = value instanceof Double ? String.format("%.3f", value) : value.toString();
+		properties.setProperty(name + "." + key, text);
+	}
+
+	/**
+	 * Adds this report to the given properties file, replacing an earlier report of the same
+	 * scenario and keeping the reports of other scenarios.
+	 * 
+	 * @param file
+	 * @throws IOException
+	 */
+	public void store(File file) throws IOException
+	{
+		Properties properties = load(file);
+		putInto(properties);
+		OutputStream out = new FileOutputStream(file);
+		try
+		{
+			properties.store(out, "wicket-threadtest report");
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Loads a stored report.
+	 * 
+	 * @param file
+	 * @return the metrics, empty if the file doesn't exist
+	 * @throws IOException
+	 */
+	public static Properties load(File file) throws IOException
+	{
+		Properties properties = new Properties();
+		if (file.exists())
+		{
+			InputStream in = new FileInputStream(file);
+			try
+			{
+				properties.load(in);
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		return properties;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder b = new StringBuilder();
+		b.append("scenario ").append(name).append(": ");
+		b.append(String.format("%.1f requests/s, %s", getThroughput(), statistics.getTotal()));
+		for (String label : statistics.getLabels())
+		{
+			b.append("\n  ").append(label).append(": ").append(statistics.get(label));
+		}
+		b.append(String.format("\n  allocated %,d bytes, %d GCs taking %d ms", allocatedBytes,
+			gcCount, gcMillis));
+		b.append(String.format("\n  page store: %,d pages, %,d bytes", storedPages, storedBytes));
+		return b.toString();
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.threadtest.tester;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.httpclient.Header;
+import org.apache.commons.httpclient.HttpMethodBase;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.httpclient.methods.PostMethod;
+import org.apache.wicket.util.io.Streams;
+import org.apache.wicket.util.string.Strings;
+
+/**
+ * Command that walks through a page like a browser would: it requests a page, follows links and
+ * Ajax callbacks found in the markup of that page and submits its forms. Each step is recorded in
+ * the runner's {@link Statistics} under its url or pattern.
+ * <p>
+ * Urls and posted values may contain {@code ${iteration}}, which is replaced by the number of the
+ * current iteration. The urls of {@code follow*} and {@code submit} steps are taken from the first
+ * group of the pattern's first match in the last page, with the entities of its markup unescaped,
+ * and are resolved against that page's url. Ajax responses don't replace the page, so several
+ * callbacks of the same page can be followed in a row.
+ * 
+ * <pre>
+ * new ScenarioCommand(10).get(&quot;/app1/wicket/bookmarkable/org.example.Home&quot;)
+ * 	.followAjax(&quot;Wicket\\.Ajax\\.get\\('([^']*ajaxLink)'&quot;)
+ * 	.submit(&quot;action=\&quot;([^\&quot;]*inputForm)\&quot;&quot;, &quot;name&quot;, &quot;value&quot;);
+ * </pre>
+ */
+public class ScenarioCommand implements Command
+{
+	private static final Pattern AJAX_BASE_URL = Pattern.compile("Wicket\\.Ajax\\.baseUrl=\"([^\"]*)\"");
+
+	private static class Step
+	{
+		private final String url;
+
+		private final Pattern pattern;
+
+		private final boolean ajax;
+
+		/** name/value pairs to post, or {@code null} for a GET request */
+		private final String[] parameters;
+
+		private Step(String url, Pattern pattern, boolean ajax, String[] parameters)
+		{
+			this.url = url;
+			this.pattern = pattern;
+			this.ajax = ajax;
+			this.parameters = parameters;
+		}
+
+		private String getLabel()
+		{
+			return pattern != null ? pattern.pattern() : url;
+		}
+
+		private String getUrl(String page, String pageUrl, int iteration)
+		{
+			if (pattern == null)
+			{
+				return replaceIteration(url, iteration);
+			}
+			Matcher matcher = pattern.matcher(page);
+			if (!matcher.find())
+			{
+				throw new IllegalStateException("no match for " + pattern + " in " + pageUrl);
+			}
+			return resolve(pageUrl, matcher.group(1));
+		}
+	}
+
+	private final int iterations;
+
+	private final List<Step> steps = new ArrayList<Step>();
+
+	/**
+	 * Construct.
+	 * 
+	 * @param iterations
+	 *            number of executions of the steps
+	 */
+	public ScenarioCommand(int iterations)
+	{
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Adds a GET request.
+	 * 
+	 * @param url
+	 *            the url
+	 * @return this
+	 */
+	public ScenarioCommand get(String url)
+	{
+		steps.add(new Step(url, null, false, null));
+		return this;
+	}
+
+	/**
+	 * Adds a POST request.
+	 * 
+	 * @param url
+	 *            the url
+	 * @param parameters
+	 *            name/value pairs to post
+	 * @return this
+	 */
+	public ScenarioCommand post(String url, String... parameters)
+	{
+		steps.add(new Step(url, null, false, parameters));
+		return this;
+	}
+
+	/**
+	 * Adds a GET request of a url found in the last page, e.g. the href of a link.
+	 * 
+	 * @param regex
+	 *            pattern whose first group matches the url
+	 * @return this
+	 */
+	public ScenarioCommand follow(String regex)
+	{
+		steps.add(new Step(null, Pattern.compile(regex), false, null));
+		return this;
+	}
+
+	/**
+	 * Adds an Ajax request of a callback url found in the last page.
+	 * 
+	 * @param regex
+	 *            pattern whose first group matches the callback url
+	 * @return this
+	 */
+	public ScenarioCommand followAjax(String regex)
+	{
+		steps.add(new Step(null, Pattern.compile(regex), true, null));
+		return this;
+	}
+
+	/**
+	 * Adds a POST request of a form found in the last page.
+	 * 
+	 * @param regex
+	 *            pattern whose first group matches the form's action
+	 * @param parameters
+	 *            name/value pairs to post
+	 * @return this
+	 */
+	public ScenarioCommand submit(String regex, String... parameters)
+	{
+		steps.add(new Step(null, Pattern.compile(regex), false, parameters));
+		return this;
+	}
+
+	/**
+	 * @see org.apache.wicket.threadtest.tester.Command#execute(CommandRunner)
+	 */
+	public void execute(CommandRunner runner) throws Exception
+	{
+		for (int i = 0; i < iterations; i++)
+		{
+			String page = "";
+			String pageUrl = null;
+			String ajaxBaseUrl = null;
+			for (Step step : steps)
+			{
+				String url = step.getUrl(page, pageUrl, i);
+				HttpMethodBase method = createMethod(step, url, ajaxBaseUrl, i);
+				try
+				{
+					long start = System.nanoTime();
+					int code = runner.getClient().executeMethod(method);
+					Header location = method.getResponseHeader("Location");
+					if (method instanceof PostMethod && code / 100 == 3 && location != null)
+					{
+						// HttpClient doesn't follow the redirect after post by itself
+						read(method);
+						method.releaseConnection();
+						method = new GetMethod(resolve(method.getURI().toString(),
+							location.getValue()));
+						method.setFollowRedirects(true);
+						code = runner.getClient().executeMethod(method);
+					}
+					String response = read(method);
+					runner.getStatistics().record(step.getLabel(), System.nanoTime() - start,
+						code != 200);
+
+					if (!step.ajax)
+					{
+						page = Strings.unescapeMarkup(response).toString();
+						pageUrl = method.getURI().toString();
+						Matcher matcher = AJAX_BASE_URL.matcher(page);
+						ajaxBaseUrl = matcher.find() ? matcher.group(1) : null;
+					}
+				}
+				finally
+				{
+					method.releaseConnection();
+				}
+			}
+		}
+	}
+
+	private static HttpMethodBase createMethod(Step step, String url, String ajaxBaseUrl,
+		int iteration)
+	{
+		HttpMethodBase method;
+		if (step.parameters != null)
+		{
+			PostMethod post = new PostMethod(url);
+			for (int i = 0; i + 1 < step.parameters.length; i += 2)
+			{
+				post.addParameter(step.parameters[i], replaceIteration(step.parameters[i + 1],
+					iteration));
+			}
+			method = post;
+		}
+		else
+		{
+			method = new GetMethod(url);
+			method.setFollowRedirects(true);
+		}
+		if (step.ajax)
+		{
+			method.setRequestHeader("Wicket-Ajax", "true");
+			if (ajaxBaseUrl != null)
+			{
+				method.setRequestHeader("Wicket-Ajax-BaseURL", ajaxBaseUrl);
+			}
+		}
+		return method;
+	}
+
+	private static String replaceIteration(String value, int iteration)
+	{
+		return Strings.replaceAll(value, "${iteration}", String.valueOf(iteration)).toString();
+	}
+
+	private static String read(HttpMethodBase method) throws Exception
+	{
+		InputStream body = method.getResponseBodyAsStream();
+		return body != null ? Streams.readString(body) : "";
+	}
+
+	private static String resolve(String base, String url)
+	{
+		return base != null ? URI.create(base).resolve(url).toString() : url;
+	}
+}
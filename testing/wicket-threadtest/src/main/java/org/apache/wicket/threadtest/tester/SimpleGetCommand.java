@@ -16,6 +16,7 @@
  */
 package org.apache.wicket.threadtest.tester;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -86,7 +87,7 @@ public class SimpleGetCommand extends AbstractGetCommand
 	 *      String)
 	 */
 	@Override
-	protected void doGet(HttpClient client, String url) throws Exception
+	protected int doGet(HttpClient client, String url) throws Exception
 	{
 
 		GetMethod method = new GetMethod(url);
@@ -98,18 +99,20 @@ public class SimpleGetCommand extends AbstractGetCommand
 				log.info(url);
 			}
 			int code = client.executeMethod(method);
+			// read the whole response so that it is part of the measured time
+			InputStream body = method.getResponseBodyAsStream();
+			String response = body != null ? Streams.readString(body) : "";
 			if (code != 200)
 			{
+				// counted as an error in the statistics
 				log.error("ERROR! code: " + code);
 				log.error(url);
-// log.error(Streams.readString(method.getResponseBodyAsStream()));
-				// TODO rather than failing, just gather statistics
-				// throw new Exception(new String(method.getResponseBody()));
 			}
 			if (getPrintResponse())
 			{
-				log.info("\n" + Streams.readString(method.getResponseBodyAsStream()));
+				log.info("\n" + response);
 			}
+			return code;
 		}
 		finally
 		{
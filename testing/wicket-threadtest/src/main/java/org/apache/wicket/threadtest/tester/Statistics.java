@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.threadtest.tester;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Latencies of the requests issued by a test run, grouped by a label such as the URL template of
+ * the request. Each {@link CommandRunner} records into its own instance, which are merged when the
+ * runners are done, so recording doesn't need any synchronization.
+ * 
+ * @see Tester#getReport()
+ */
+public class Statistics
+{
+	/**
+	 * The latencies recorded for one label.
+	 */
+	public static class Series
+	{
+		private long[] latencies = new long[64];
+
+		private int count;
+
+		private int errors;
+
+		private boolean sorted = true;
+
+		private void add(long nanos, boolean error)
+		{
+			if (count == latencies.length)
+			{
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+			if (error)
+			{
+				errors++;
+			}
+			sorted = false;
+		}
+
+		private void addAll(Series other)
+		{
+			for (int i = 0; i < other.count; i++)
+			{
+				add(other.latencies[i], false);
+			}
+			errors += other.errors;
+		}
+
+		/**
+		 * @return number of requests
+		 */
+		public int getCount()
+		{
+			return count;
+		}
+
+		/**
+		 * @return number of requests that failed or answered with an unexpected status
+		 */
+		public int getErrors()
+		{
+			return errors;
+		}
+
+		/**
+		 * Gets the latency below which the given percentage of the requests completed.
+		 * 
+		 * @param percentile
+		 *            between 0 and 100
+		 * @return latency in nanoseconds, or 0 if nothing was recorded
+		 */
+		public long getPercentile(double percentile)
+		{
+			if (count == 0)
+			{
+				return 0;
+			}
+			if (!sorted)
+			{
+				Arrays.sort(latencies, 0, count);
+				sorted = true;
+			}
+			int index = (int)Math.ceil(percentile / 100 * count) - 1;
+			return latencies[Math.max(0, Math.min(count - 1, index))];
+		}
+
+		/**
+		 * @return the highest latency in nanoseconds
+		 */
+		public long getMax()
+		{
+			return getPercentile(100);
+		}
+
+		/**
+		 * @return the average latency in nanoseconds
+		 */
+		public long getAverage()
+		{
+			if (count == 0)
+			{
+				return 0;
+			}
+			long total = 0;
+			for (int i = 0; i < count; i++)
+			{
+				total += latencies[i];
+			}
+			return total / count;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%d requests, %d errors, avg %.2f ms, p50 %.2f ms, "
+				+ "p90 %.2f ms, p99 %.2f ms, max %.2f ms", count, errors, millis(getAverage()),
+				millis(getPercentile(50)), millis(getPercentile(90)), millis(getPercentile(99)),
+				millis(getMax()));
+		}
+	}
+
+	private final Map<String, Series> series = new LinkedHashMap<String, Series>();
+
+	private final Series total = new Series();
+
+	/**
+	 * Records a request.
+	 * 
+	 * @param label
+	 *            the label to group the request under
+	 * @param nanos
+	 *            the time the request took
+	 * @param error
+	 *            whether the request failed
+	 */
+	public void record(String label, long nanos, boolean error)
+	{
+		getSeries(label).add(nanos, error);
+		total.add(nanos, error);
+	}
+
+	/**
+	 * Adds all requests recorded by {@code other} to this statistics.
+	 * 
+	 * @param other
+	 */
+	public void merge(Statistics other)
+	{
+		for (Map.Entry<String, Series> entry : other.series.entrySet())
+		{
+			getSeries(entry.getKey()).addAll(entry.getValue());
+		}
+		total.addAll(other.total);
+	}
+
+	private Series getSeries(String label)
+	{
+		Series s = series.get(label);
+		if (s == null)
+		{
+			s = new Series();
+			series.put(label, s);
+		}
+		return s;
+	}
+
+	/**
+	 * @return the labels requests were recorded under, in the order they were first seen
+	 */
+	public Set<String> getLabels()
+	{
+		return series.keySet();
+	}
+
+	/**
+	 * @param label
+	 * @return the requests recorded under {@code label}, or {@code null} if there were none
+	 */
+	public Series get(String label)
+	{
+		return series.get(label);
+	}
+
+	/**
+	 * @return all recorded requests
+	 */
+	public Series getTotal()
+	{
+		return total;
+	}
+
+	static double millis(long nanos)
+	{
+		return nanos / 1000000d;
+	}
+}
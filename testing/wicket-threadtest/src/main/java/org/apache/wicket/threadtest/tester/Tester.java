@@ -16,6 +16,7 @@
  */
 package org.apache.wicket.threadtest.tester;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 
@@ -119,6 +120,14 @@ public final class Tester implements CommandRunnerObserver
 
 	private int port = 8090;
 
+	private String name = "test";
+
+	private File reportFile;
+
+	private Statistics statistics;
+
+	private Report report;
+
 	/**
 	 * Construct.
 	 * 
@@ -151,6 +160,12 @@ public final class Tester implements CommandRunnerObserver
 		this.commands = commands;
 		this.numberOfThreads = numberOfThreads;
 		this.multipleSessions = multipleSessions;
+
+		String file = System.getProperty("wicket.threadtest.report");
+		if (file != null)
+		{
+			reportFile = new File(file);
+		}
 	}
 
 	/**
@@ -173,14 +188,46 @@ public final class Tester implements CommandRunnerObserver
 		return port;
 	}
 
+	/**
+	 * Gets the name of the scenario this tester runs.
+	 * 
+	 * @return name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the report of the last run.
+	 * 
+	 * @return report, {@code null} if the tester didn't run yet
+	 */
+	public Report getReport()
+	{
+		return report;
+	}
+
+	/**
+	 * Gets the file the report is stored in.
+	 * 
+	 * @return report file, {@code null} if the report isn't stored
+	 */
+	public File getReportFile()
+	{
+		return reportFile;
+	}
+
 	public synchronized void onDone(CommandRunner runner)
 	{
+		statistics.merge(runner.getStatistics());
 		activeThreads--;
 		notifyAll();
 	}
 
 	public synchronized void onError(CommandRunner runner, Exception e)
 	{
+		statistics.merge(runner.getStatistics());
 		activeThreads--;
 		notifyAll();
 	}
@@ -194,6 +241,7 @@ public final class Tester implements CommandRunnerObserver
 	{
 
 		activeThreads = 0;
+		statistics = new Statistics();
 
 		HttpConnectionManagerParams connManagerParams = new HttpConnectionManagerParams();
 		connManagerParams.setDefaultMaxConnectionsPerHost(numberOfThreads * 2);
@@ -246,6 +294,7 @@ public final class Tester implements CommandRunnerObserver
 				threads[i] = new Thread(g, new CommandRunner(commands, client, this));
 			}
 
+			Report.Snapshot snapshot = new Report.Snapshot();
 			long start = System.currentTimeMillis();
 
 			for (int i = 0; i < numberOfThreads; i++)
@@ -267,6 +316,17 @@ public final class Tester implements CommandRunnerObserver
 			log.info("\n******** finished in " + Duration.milliseconds(time) + " (" + time +
 				" milis)");
 
+			synchronized (this)
+			{
+				report = new Report(name, statistics, snapshot, new Report.Snapshot());
+			}
+			log.info(report.toString());
+			if (reportFile != null)
+			{
+				report.store(reportFile);
+				log.info("report stored in " + reportFile.getAbsolutePath());
+			}
+
 		}
 		finally
 		{
@@ -289,6 +349,29 @@ public final class Tester implements CommandRunnerObserver
 		this.host = host;
 	}
 
+	/**
+	 * Sets the name of the scenario, which prefixes its metrics in the report.
+	 * 
+	 * @param name
+	 *            name
+	 */
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * Sets the file to store the report in. Defaults to the {@code wicket.threadtest.report}
+	 * system property.
+	 * 
+	 * @param reportFile
+	 *            report file, {@code null} to not store the report
+	 */
+	public void setReportFile(File reportFile)
+	{
+		this.reportFile = reportFile;
+	}
+
 	/**
 	 * Sets port.
 	 * 
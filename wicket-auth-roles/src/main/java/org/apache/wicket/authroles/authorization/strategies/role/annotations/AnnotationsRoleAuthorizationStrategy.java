@@ -16,23 +16,36 @@
  */
 package org.apache.wicket.authroles.authorization.strategies.role.annotations;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.wicket.Component;
 import org.apache.wicket.authorization.Action;
 import org.apache.wicket.authroles.authorization.strategies.role.AbstractRoleAuthorizationStrategy;
 import org.apache.wicket.authroles.authorization.strategies.role.IRoleCheckingStrategy;
 import org.apache.wicket.authroles.authorization.strategies.role.Roles;
 import org.apache.wicket.request.component.IRequestableComponent;
+import org.apache.wicket.util.collections.ClassMetaCache;
 
 
 /**
  * Strategy that checks the
  * {@link org.apache.wicket.authorization.strategies.role.annotations.AuthorizeInstantiation}
  * annotation.
+ * <p>
+ * The annotations of a component class and its package are read once and kept per class, so
+ * authorizing components without annotations does not need any lookup besides the cached one.
  * 
  * @author Eelco Hillenius
  */
 public class AnnotationsRoleAuthorizationStrategy extends AbstractRoleAuthorizationStrategy
 {
+	/** authorization rules of component classes */
+	private final ClassMetaCache<ClassAuthorization> cache = new ClassMetaCache<ClassAuthorization>();
+
 	/**
 	 * Construct.
 	 * 
@@ -50,30 +63,10 @@ public class AnnotationsRoleAuthorizationStrategy extends AbstractRoleAuthorizat
 	public <T extends IRequestableComponent> boolean isInstantiationAuthorized(
 		final Class<T> componentClass)
 	{
-		// We are authorized unless we are found not to be
-		boolean authorized = true;
+		final Roles roles = getClassAuthorization(componentClass).instantiationRoles;
 
-		// Check class annotation first because it is more specific than package annotation
-		final AuthorizeInstantiation classAnnotation = componentClass.getAnnotation(AuthorizeInstantiation.class);
-		if (classAnnotation != null)
-		{
-			authorized = hasAny(new Roles(classAnnotation.value()));
-		}
-		else
-		{
-			// Check package annotation if there is no one on the the class
-			final Package componentPackage = componentClass.getPackage();
-			if (componentPackage != null)
-			{
-				final AuthorizeInstantiation packageAnnotation = componentPackage.getAnnotation(AuthorizeInstantiation.class);
-				if (packageAnnotation != null)
-				{
-					authorized = hasAny(new Roles(packageAnnotation.value()));
-				}
-			}
-		}
-
-		return authorized;
+		// We are authorized unless we are found not to be
+		return roles == null || hasAny(roles);
 	}
 
 	/**
@@ -90,19 +83,12 @@ public class AnnotationsRoleAuthorizationStrategy extends AbstractRoleAuthorizat
 
 	protected boolean isActionAuthorized(final Class<?> componentClass, final Action action)
 	{
-		// Check for a single action
-		if (!check(action, componentClass.getAnnotation(AuthorizeAction.class)))
-		{
-			return false;
-		}
-
-		// Check for multiple actions
-		final AuthorizeActions authorizeActionsAnnotation = componentClass.getAnnotation(AuthorizeActions.class);
-		if (authorizeActionsAnnotation != null)
+		final ActionAuthorization[] authorizations = getClassAuthorization(componentClass).actions.get(action.getName());
+		if (authorizations != null)
 		{
-			for (final AuthorizeAction authorizeActionAnnotation : authorizeActionsAnnotation.actions())
+			for (final ActionAuthorization authorization : authorizations)
 			{
-				if (!check(action, authorizeActionAnnotation))
+				if (!check(authorization))
 				{
 					return false;
 				}
@@ -113,31 +99,139 @@ public class AnnotationsRoleAuthorizationStrategy extends AbstractRoleAuthorizat
 	}
 
 	/**
-	 * @param action
-	 *            The action to check
-	 * @param authorizeActionAnnotation
-	 *            The annotations information
+	 * @param authorization
+	 *            The roles of an action
 	 * @return False if the action is not authorized
 	 */
-	private boolean check(final Action action, final AuthorizeAction authorizeActionAnnotation)
+	private boolean check(final ActionAuthorization authorization)
 	{
-		if (authorizeActionAnnotation != null)
+		if (authorization.deniedRoles != null && hasAny(authorization.deniedRoles))
 		{
-			if (action.getName().equals(authorizeActionAnnotation.action()))
+			return false;
+		}
+
+		if (authorization.acceptedRoles != null && !hasAny(authorization.acceptedRoles))
+		{
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the authorization rules of a class, reading its annotations if they are not cached yet.
+	 * 
+	 * @param componentClass
+	 * @return authorization rules
+	 */
+	private ClassAuthorization getClassAuthorization(final Class<?> componentClass)
+	{
+		ClassAuthorization authorization = cache.get(componentClass);
+		if (authorization == null)
+		{
+			authorization = new ClassAuthorization(componentClass);
+			cache.put(componentClass, authorization);
+		}
+		return authorization;
+	}
+
+	/**
+	 * The roles required by the annotations of a component class.
+	 */
+	private static final class ClassAuthorization
+	{
+		/** roles required for instantiation, <code>null</code> if not restricted */
+		private final Roles instantiationRoles;
+
+		/** roles of the actions, by action name */
+		private final Map<String, ActionAuthorization[]> actions;
+
+		/**
+		 * Construct.
+		 * 
+		 * @param componentClass
+		 */
+		private ClassAuthorization(final Class<?> componentClass)
+		{
+			// Check class annotation first because it is more specific than package annotation
+			AuthorizeInstantiation instantiation = componentClass.getAnnotation(AuthorizeInstantiation.class);
+			if (instantiation == null)
 			{
-				Roles deniedRoles = new Roles(authorizeActionAnnotation.deny());
-				if (isEmpty(deniedRoles) == false && hasAny(deniedRoles))
+				// Check package annotation if there is no one on the the class
+				final Package componentPackage = componentClass.getPackage();
+				if (componentPackage != null)
 				{
-					return false;
+					instantiation = componentPackage.getAnnotation(AuthorizeInstantiation.class);
 				}
+			}
+			instantiationRoles = instantiation != null ? new Roles(instantiation.value()) : null;
 
-				Roles acceptedRoles = new Roles(authorizeActionAnnotation.roles());
-				if (!(isEmpty(acceptedRoles) || hasAny(acceptedRoles)))
+			// Collect the single action and the multiple actions
+			final List<AuthorizeAction> annotations = new ArrayList<AuthorizeAction>();
+			final AuthorizeAction authorizeAction = componentClass.getAnnotation(AuthorizeAction.class);
+			if (authorizeAction != null)
+			{
+				annotations.add(authorizeAction);
+			}
+			final AuthorizeActions authorizeActions = componentClass.getAnnotation(AuthorizeActions.class);
+			if (authorizeActions != null)
+			{
+				Collections.addAll(annotations, authorizeActions.actions());
+			}
+
+			if (annotations.isEmpty())
+			{
+				actions = Collections.emptyMap();
+			}
+			else
+			{
+				final Map<String, List<ActionAuthorization>> byName = new HashMap<String, List<ActionAuthorization>>();
+				for (final AuthorizeAction annotation : annotations)
 				{
-					return false;
+					List<ActionAuthorization> list = byName.get(annotation.action());
+					if (list == null)
+					{
+						list = new ArrayList<ActionAuthorization>();
+						byName.put(annotation.action(), list);
+					}
+					list.add(new ActionAuthorization(annotation));
+				}
+
+				actions = new HashMap<String, ActionAuthorization[]>();
+				for (final Map.Entry<String, List<ActionAuthorization>> entry : byName.entrySet())
+				{
+					final List<ActionAuthorization> list = entry.getValue();
+					actions.put(entry.getKey(), list.toArray(new ActionAuthorization[list.size()]));
 				}
 			}
 		}
-		return true;
+	}
+
+	/**
+	 * The roles of a single {@link AuthorizeAction} annotation.
+	 */
+	private static final class ActionAuthorization
+	{
+		/** roles that are denied, <code>null</code> if none */
+		private final Roles deniedRoles;
+
+		/** roles that are accepted, <code>null</code> if all */
+		private final Roles acceptedRoles;
+
+		/**
+		 * Construct.
+		 * 
+		 * @param annotation
+		 */
+		private ActionAuthorization(final AuthorizeAction annotation)
+		{
+			deniedRoles = rolesOrNull(annotation.deny());
+			acceptedRoles = rolesOrNull(annotation.roles());
+		}
+
+		private static Roles rolesOrNull(final String[] names)
+		{
+			final Roles roles = new Roles(names);
+			return roles.isEmpty() ? null : roles;
+		}
 	}
 }
@@ -49,6 +49,32 @@ public class AnnotationsRoleAuthorizationStrategyTest extends Assert
 		assertTrue(strategy.isActionAuthorized(component, Component.RENDER));
 	}
 
+	/**
+	 * Decisions stay the same when the annotations of a class are read from the cache.
+	 */
+	@Test
+	public void repeatedChecks()
+	{
+		AnnotationsRoleAuthorizationStrategy strategy = new AnnotationsRoleAuthorizationStrategy(
+			new IRoleCheckingStrategy()
+			{
+				public boolean hasAnyRole(Roles roles)
+				{
+					return roles.contains(Roles.USER);
+				}
+			});
+
+		for (int i = 0; i < 2; i++)
+		{
+			assertTrue(strategy.isInstantiationAuthorized(TestComponent.class));
+			assertFalse(strategy.isInstantiationAuthorized(AdminComponent.class));
+
+			assertFalse(strategy.isActionAuthorized(AdminComponent.class, Component.RENDER));
+			assertFalse(strategy.isActionAuthorized(AdminComponent.class, Component.ENABLE));
+			assertTrue(strategy.isActionAuthorized(TestComponent.class, Component.ENABLE));
+		}
+	}
+
 	/**
 	 * A component without denied roles.
 	 */
@@ -63,4 +89,20 @@ public class AnnotationsRoleAuthorizationStrategyTest extends Assert
 		}
 
 	}
+
+	/**
+	 * A component for admins only.
+	 */
+	@AuthorizeInstantiation(Roles.ADMIN)
+	@AuthorizeActions(actions = { @AuthorizeAction(action = "RENDER", roles = { Roles.ADMIN }),
+			@AuthorizeAction(action = "ENABLE", deny = { Roles.USER }) })
+	private static class AdminComponent extends WebComponent
+	{
+		private static final long serialVersionUID = 1L;
+
+		private AdminComponent()
+		{
+			super("notUsed");
+		}
+	}
 }
@@ -31,9 +31,11 @@ import org.apache.wicket.application.ComponentInitializationListenerCollection;
 import org.apache.wicket.application.ComponentInstantiationListenerCollection;
 import org.apache.wicket.application.ComponentOnAfterRenderListenerCollection;
 import org.apache.wicket.application.ComponentOnBeforeRenderListenerCollection;
+import org.apache.wicket.application.ComponentRenderPhaseListenerCollection;
 import org.apache.wicket.application.HeaderContributorListenerCollection;
 import org.apache.wicket.application.IComponentInitializationListener;
 import org.apache.wicket.application.IComponentInstantiationListener;
+import org.apache.wicket.application.IComponentRenderPhaseListener;
 import org.apache.wicket.event.IEvent;
 import org.apache.wicket.event.IEventSink;
 import org.apache.wicket.javascript.DefaultJavaScriptCompressor;
@@ -72,6 +74,8 @@ import org.apache.wicket.request.cycle.IRequestCycleListener;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.cycle.RequestCycleContext;
 import org.apache.wicket.request.cycle.RequestCycleListenerCollection;
+import org.apache.wicket.request.cycle.RequestPhase;
+import org.apache.wicket.request.cycle.RequestPhaseStatistics;
 import org.apache.wicket.request.mapper.CompoundRequestMapper;
 import org.apache.wicket.request.mapper.ICompoundRequestMapper;
 import org.apache.wicket.request.mapper.IMapperContext;
@@ -208,6 +212,9 @@ public abstract class Application implements UnboundListener, IEventSink
 	 */
 	private IHeaderResponseDecorator headerResponseDecorator;
 
+	/** times of the request phases, null if they are not collected */
+	private volatile RequestPhaseStatistics requestPhaseStatistics;
+
 	/**
 	 * Checks if the <code>Application</code> threadlocal is set in this thread
 	 * 
@@ -897,6 +904,9 @@ public abstract class Application implements UnboundListener, IEventSink
 	/** */
 	private final ComponentOnAfterRenderListenerCollection componentOnAfterRenderListeners = new ComponentOnAfterRenderListenerCollection();
 
+	/** list of {@link IComponentRenderPhaseListener}s. */
+	private final ComponentRenderPhaseListenerCollection componentRenderPhaseListeners = new ComponentRenderPhaseListenerCollection();
+
 	/** */
 	private final RequestCycleListenerCollection requestCycleListeners = new RequestCycleListenerCollection();
 
@@ -998,6 +1008,14 @@ public abstract class Application implements UnboundListener, IEventSink
 		return componentOnAfterRenderListeners;
 	}
 
+	/**
+	 * @return listeners notified around the render phases of every component, e.g. by profilers
+	 */
+	public final ComponentRenderPhaseListenerCollection getComponentRenderPhaseListeners()
+	{
+		return componentRenderPhaseListeners;
+	}
+
 	/**
 	 * @return the unmodifiable request list of {@link IRequestCycleListener}s in this application
 	 */
@@ -1627,7 +1645,15 @@ public abstract class Application implements UnboundListener, IEventSink
 			@Override
 			public void onDetach(final RequestCycle requestCycle)
 			{
+				final RequestPhaseStatistics statistics = requestPhaseStatistics;
+				final long start = statistics != null ? System.nanoTime() : 0;
+
 				Session.get().getPageManager().commitRequest();
+
+				if (statistics != null)
+				{
+					statistics.recordSince(RequestPhase.STORE_PAGES, null, start);
+				}
 			}
 
 			@Override
@@ -1646,6 +1672,28 @@ public abstract class Application implements UnboundListener, IEventSink
 		return requestCycle;
 	}
 
+	/**
+	 * Gets the statistics the times of the request phases are recorded to.
+	 * 
+	 * @return the statistics, or <code>null</code> if the request phases are not timed
+	 */
+	public final RequestPhaseStatistics getRequestPhaseStatistics()
+	{
+		return requestPhaseStatistics;
+	}
+
+	/**
+	 * Sets the statistics to record the times of the request phases to. Request phases are only
+	 * timed while statistics are set.
+	 * 
+	 * @param requestPhaseStatistics
+	 *            the statistics, or <code>null</code> to stop timing
+	 */
+	public final void setRequestPhaseStatistics(final RequestPhaseStatistics requestPhaseStatistics)
+	{
+		this.requestPhaseStatistics = requestPhaseStatistics;
+	}
+
 	/**
 	 * Sets an {@link IHeaderResponseDecorator} that you want your application to use to decorate
 	 * header responses.
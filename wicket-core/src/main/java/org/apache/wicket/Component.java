@@ -24,6 +24,9 @@ import java.util.List;
 import java.util.Locale;
 
 import org.apache.wicket.ajax.IAjaxRegionMarkupIdProvider;
+import org.apache.wicket.application.ComponentRenderPhaseListenerCollection;
+import org.apache.wicket.application.IComponentRenderPhaseListener;
+import org.apache.wicket.application.IComponentRenderPhaseListener.Phase;
 import org.apache.wicket.authorization.Action;
 import org.apache.wicket.authorization.AuthorizationException;
 import org.apache.wicket.authorization.IAuthorizationStrategy;
@@ -976,7 +979,16 @@ public abstract class Component
 
 			getApplication().getComponentPreOnBeforeRenderListeners().onBeforeRender(this);
 
+			final IComponentRenderPhaseListener phaseListener = getRenderPhaseListener();
+			if (phaseListener != null)
+			{
+				phaseListener.onPhaseStart(this, Phase.BEFORE_RENDER);
+			}
 			onBeforeRender();
+			if (phaseListener != null)
+			{
+				phaseListener.onPhaseEnd(this, Phase.BEFORE_RENDER);
+			}
 			getApplication().getComponentPostOnBeforeRenderListeners().onBeforeRender(this);
 
 			if (!getRequestFlag(RFLAG_BEFORE_RENDER_SUPER_CALL_VERIFIED))
@@ -1077,7 +1089,18 @@ public abstract class Component
 		{
 			clearEnabledInHierarchyCache();
 			clearVisibleInHierarchyCache();
+
+			final IComponentRenderPhaseListener phaseListener = getRenderPhaseListener();
+			if (phaseListener != null)
+			{
+				phaseListener.onPhaseStart(this, Phase.CONFIGURE);
+			}
 			onConfigure();
+			if (phaseListener != null)
+			{
+				phaseListener.onPhaseEnd(this, Phase.CONFIGURE);
+			}
+
 			for (Behavior behavior : getBehaviors())
 			{
 				if (isBehaviorAccepted(behavior))
@@ -1659,8 +1682,17 @@ public abstract class Component
 		{
 			try
 			{
-				// Get model value for this component.
-				return model.getObject();
+				final IComponentRenderPhaseListener phaseListener = getRenderPhaseListener();
+				if (phaseListener == null)
+				{
+					// Get model value for this component.
+					return model.getObject();
+				}
+
+				phaseListener.onPhaseStart(this, Phase.MODEL);
+				final Object object = model.getObject();
+				phaseListener.onPhaseEnd(this, Phase.MODEL);
+				return object;
 			}
 			catch (RuntimeException ex)
 			{
@@ -2505,8 +2537,18 @@ public abstract class Component
 		final ComponentTag openTag = markupStream.getTag();
 		final ComponentTag tag = openTag.mutable();
 
+		final IComponentRenderPhaseListener phaseListener = getRenderPhaseListener();
+
 		// Call any tag handler
+		if (phaseListener != null)
+		{
+			phaseListener.onPhaseStart(this, Phase.COMPONENT_TAG);
+		}
 		onComponentTag(tag);
+		if (phaseListener != null)
+		{
+			phaseListener.onPhaseEnd(this, Phase.COMPONENT_TAG);
+		}
 
 		// If we're an openclose tag
 		if (!tag.isOpenClose() && !tag.isOpen())
@@ -2535,7 +2577,15 @@ public abstract class Component
 			{
 				// Render the body. The default strategy will simply call the component's
 				// onComponentTagBody() implementation.
+				if (phaseListener != null)
+				{
+					phaseListener.onPhaseStart(this, Phase.COMPONENT_TAG_BODY);
+				}
 				getMarkupSourcingStrategy().onComponentTagBody(this, markupStream, tag);
+				if (phaseListener != null)
+				{
+					phaseListener.onPhaseEnd(this, Phase.COMPONENT_TAG_BODY);
+				}
 			}
 
 			// Render close tag
@@ -3431,6 +3481,19 @@ public abstract class Component
 		getSession().dirty();
 	}
 
+	/**
+	 * @return the application's render phase listeners or {@code null} if none are registered
+	 */
+	private IComponentRenderPhaseListener getRenderPhaseListener()
+	{
+		if (ComponentRenderPhaseListenerCollection.isUsed() == false)
+		{
+			return null;
+		}
+		final ComponentRenderPhaseListenerCollection listeners = getApplication().getComponentRenderPhaseListeners();
+		return listeners.isEmpty() ? null : listeners;
+	}
+
 	/**
 	 * {@link Behavior#beforeRender(Component)} Notify all behaviors that are assigned to this
 	 * component that the component is about to be rendered.
@@ -23,6 +23,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.wicket.util.convert.ConversionException;
 import org.apache.wicket.util.convert.IConverter;
@@ -77,6 +79,15 @@ public class ConverterLocator implements IConverterLocator
 			this.type = new WeakReference<Class<C>>(type);
 		}
 
+		/**
+		 * @param type
+		 * @return whether this converter converts the given type
+		 */
+		private boolean isFor(Class<?> type)
+		{
+			return this.type != null && this.type.get() == type;
+		}
+
 		/**
 		 * @see org.apache.wicket.util.convert.IConverter#convertToObject(java.lang.String,
 		 *      java.util.Locale)
@@ -149,6 +160,9 @@ public class ConverterLocator implements IConverterLocator
 	/** Maps Classes to ITypeConverters. */
 	private final Map<String, IConverter<?>> classToConverter = new HashMap<String, IConverter<?>>();
 
+	/** Default converters handed out for types without a registered converter, by class name. */
+	private transient volatile ConcurrentMap<String, DefaultConverter<?>> defaultConverters;
+
 	/**
 	 * Constructor
 	 */
@@ -212,7 +226,7 @@ public class ConverterLocator implements IConverterLocator
 		if (type == null)
 		{
 			@SuppressWarnings("unchecked")
-			IConverter<C> converter = (IConverter<C>)new DefaultConverter<String>(String.class);
+			IConverter<C> converter = (IConverter<C>)getDefaultConverter(String.class);
 			return converter;
 		}
 
@@ -220,11 +234,41 @@ public class ConverterLocator implements IConverterLocator
 		final IConverter<C> converter = get(type);
 		if (converter == null)
 		{
-			return new DefaultConverter<C>(type);
+			return getDefaultConverter(type);
 		}
 		return converter;
 	}
 
+	/**
+	 * Gets the default converter for a type without registered converter. The stateless default
+	 * converters are reused, as types like {@link String} are looked up for almost every component.
+	 * 
+	 * @param <C>
+	 * @param type
+	 * @return default converter
+	 */
+	private <C> IConverter<C> getDefaultConverter(final Class<C> type)
+	{
+		ConcurrentMap<String, DefaultConverter<?>> converters = defaultConverters;
+		if (converters == null)
+		{
+			converters = new ConcurrentHashMap<String, DefaultConverter<?>>();
+			defaultConverters = converters;
+		}
+
+		DefaultConverter<?> converter = converters.get(type.getName());
+		if (converter == null || converter.isFor(type) == false)
+		{
+			// the class may have been reloaded, so replace a converter of another class
+			converter = new DefaultConverter<C>(type);
+			converters.put(type.getName(), converter);
+		}
+
+		@SuppressWarnings("unchecked")
+		IConverter<C> result = (IConverter<C>)converter;
+		return result;
+	}
+
 	/**
 	 * Removes the type converter currently registered for class c.
 	 * 
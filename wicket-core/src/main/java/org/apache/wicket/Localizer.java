@@ -16,6 +16,7 @@
  */
 package org.apache.wicket;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -30,6 +31,7 @@ import org.apache.wicket.model.IModel;
 import org.apache.wicket.resource.loader.IStringResourceLoader;
 import org.apache.wicket.settings.IResourceSettings;
 import org.apache.wicket.util.lang.Generics;
+import org.apache.wicket.util.lang.Objects;
 import org.apache.wicket.util.string.AppendingStringBuffer;
 import org.apache.wicket.util.string.interpolator.PropertyVariableInterpolator;
 import org.slf4j.Logger;
@@ -60,7 +62,7 @@ public class Localizer
 	private static final String NULL_VALUE = "<null-value>";
 
 	/** Cache properties */
-	private Map<String, String> cache = newCache();
+	private Map<CacheKey, String> cache = newCache();
 
 	/** Database that maps class names to an integer id. */
 	private final ClassMetaDatabase metaDatabase = new ClassMetaDatabase();
@@ -309,7 +311,7 @@ public class Localizer
 			}
 		}
 
-		String cacheKey = null;
+		CacheKey cacheKey = null;
 		String value = null;
 
 		// Make sure locale, style and variation have the right values
@@ -412,7 +414,7 @@ public class Localizer
 	 * @param cacheKey
 	 * @param string
 	 */
-	protected void putIntoCache(final String cacheKey, final String string)
+	protected void putIntoCache(final CacheKey cacheKey, final String string)
 	{
 		if (cache == null)
 		{
@@ -436,7 +438,7 @@ public class Localizer
 	 * @param cacheKey
 	 * @return The value of the key
 	 */
-	protected String getFromCache(final String cacheKey)
+	protected String getFromCache(final CacheKey cacheKey)
 	{
 		if (cache == null)
 		{
@@ -464,19 +466,28 @@ public class Localizer
 	 * @param variation
 	 * @return The value of the key
 	 */
-	protected String getCacheKey(final String key, final Component component, final Locale locale,
-		final String style, final String variation)
+	protected CacheKey getCacheKey(final String key, final Component component,
+		final Locale locale, final String style, final String variation)
 	{
 		if (component != null)
 		{
-			StringBuilder buffer = new StringBuilder(200);
-			buffer.append(key);
+			int depth = 0;
+			for (Component cursor = component; cursor != null; cursor = cursor.getParent())
+			{
+				depth++;
+				if (cursor instanceof Page)
+				{
+					break;
+				}
+			}
 
-			Component cursor = component;
+			final long[] classes = new long[depth];
+			final String[] ids = new String[depth];
 
-			while (cursor != null)
+			Component cursor = component;
+			for (int i = 0; i < depth; i++)
 			{
-				buffer.append('-').append(metaDatabase.id(cursor.getClass()));
+				classes[i] = metaDatabase.id(cursor.getClass());
 
 				if (cursor instanceof Page)
 				{
@@ -497,23 +508,17 @@ public class Localizer
 
 				if (skip == false)
 				{
-					String cursorKey = cursor.isAuto() ? "wicket-auto" : cursor.getId();
-					buffer.append(':').append(cursorKey);
+					ids[i] = cursor.isAuto() ? "wicket-auto" : cursor.getId();
 				}
 
 				cursor = parent;
 			}
 
-			buffer.append('-').append(locale);
-			buffer.append('-').append(style);
-			buffer.append('-').append(variation);
-
-			return buffer.toString();
+			return new CacheKey(key, classes, ids, locale, style, variation);
 		}
 		else
 		{
-			// locale is guaranteed to be != null
-			return key + '-' + locale.toString() + '-' + style;
+			return new CacheKey(key, null, null, locale, style, null);
 		}
 	}
 
@@ -564,9 +569,94 @@ public class Localizer
 	 * 
 	 * @return cache
 	 */
-	protected Map<String, String> newCache()
+	protected Map<CacheKey, String> newCache()
+	{
+		return new ConcurrentHashMap<CacheKey, String>();
+	}
+
+	/**
+	 * Key of a cached string. It consists of the resource key, the classes and ids of the
+	 * components on the path from the component up to its page, the locale, the style and the
+	 * variation. The key is compared field by field, so no string has to be built for it.
+	 */
+	protected static final class CacheKey
 	{
-		return new ConcurrentHashMap<String, String>();
+		private final String key;
+
+		private final long[] classes;
+
+		private final String[] ids;
+
+		private final Locale locale;
+
+		private final String style;
+
+		private final String variation;
+
+		private final int hash;
+
+		/**
+		 * Construct.
+		 * 
+		 * @param key
+		 *            resource key
+		 * @param classes
+		 *            ids of the component classes from the component up to its page, may be null
+		 * @param ids
+		 *            ids of the components, <code>null</code> for skipped components, may be null
+		 * @param locale
+		 * @param style
+		 * @param variation
+		 */
+		public CacheKey(final String key, final long[] classes, final String[] ids,
+			final Locale locale, final String style, final String variation)
+		{
+			this.key = key;
+			this.classes = classes;
+			this.ids = ids;
+			this.locale = locale;
+			this.style = style;
+			this.variation = variation;
+
+			int result = (key == null) ? 0 : key.hashCode();
+			result = 31 * result + ((locale == null) ? 0 : locale.hashCode());
+			result = 31 * result + ((style == null) ? 0 : style.hashCode());
+			result = 31 * result + ((variation == null) ? 0 : variation.hashCode());
+			result = 31 * result + Arrays.hashCode(classes);
+			result = 31 * result + Arrays.hashCode(ids);
+			hash = result;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+			if (obj instanceof CacheKey == false)
+			{
+				return false;
+			}
+			CacheKey other = (CacheKey)obj;
+			return hash == other.hash && Objects.equal(key, other.key) &&
+				Arrays.equals(classes, other.classes) && Arrays.equals(ids, other.ids) &&
+				Objects.equal(locale, other.locale) && Objects.equal(style, other.style) &&
+				Objects.equal(variation, other.variation);
+		}
+
+		@Override
+		public String toString()
+		{
+			return key + '-' + Arrays.toString(classes) + Arrays.toString(ids) + '-' + locale +
+				'-' + style + '-' + variation;
+		}
 	}
 
 	/**
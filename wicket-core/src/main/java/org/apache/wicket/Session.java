@@ -656,7 +656,8 @@ public abstract class Session implements IClusterable, IEventSink
 	 */
 	public void internalDetach()
 	{
-		if (dirty)
+		// a temporary session has nothing to flush it into, leave the session store alone
+		if (dirty && isTemporary() == false)
 		{
 			Request request = RequestCycle.get().getRequest();
 			getSessionStore().flushSession(request, this);
@@ -852,6 +853,14 @@ public abstract class Session implements IClusterable, IEventSink
 		return pageAccessSynchronizer.get().adapt(pageManager);
 	}
 
+	/**
+	 * @return the synchronizer of the access to the pages of this session
+	 */
+	public final PageAccessSynchronizer getPageAccessSynchronizer()
+	{
+		return pageAccessSynchronizer.get();
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void onEvent(IEvent<?> event)
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.ajax;
+
+import org.apache.wicket.Component;
+
+/**
+ * An {@link AjaxEventBehavior} that does not make its page stateful. The callback url is rendered as
+ * a bookmarkable listener url, so a new instance of the page is created from its page parameters
+ * before {@link #onEvent(AjaxRequestTarget)} is called. Because of this you can't depend on state
+ * that was changed in previous requests, and components that are updated through the
+ * {@link AjaxRequestTarget} should have a fixed markup id (see
+ * {@link Component#setMarkupId(String)}) - generated markup ids depend on the order in which they
+ * are requested and will not match the ones of the initial render.
+ * 
+ * @see org.apache.wicket.request.handler.BookmarkableListenerInterfaceRequestHandler
+ */
+public abstract class StatelessAjaxEventBehavior extends AjaxEventBehavior
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param event
+	 *            event this behavior will be attached to
+	 */
+	public StatelessAjaxEventBehavior(final String event)
+	{
+		super(event);
+	}
+
+	/**
+	 * @see org.apache.wicket.behavior.AbstractAjaxBehavior#getStatelessHint(org.apache.wicket.Component)
+	 */
+	@Override
+	public boolean getStatelessHint(final Component component)
+	{
+		return true;
+	}
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.wicket.ajax.markup.html;
 
+import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
 import org.apache.wicket.ajax.AjaxChannel;
 import org.apache.wicket.ajax.AjaxEventBehavior;
@@ -107,9 +108,26 @@ public abstract class AjaxLink<T> extends AbstractLink implements IAjaxLink
 			{
 				return AjaxLink.this.getChannel();
 			}
+
+			@Override
+			public boolean getStatelessHint(Component component)
+			{
+				return getCallbackStatelessHint();
+			}
 		};
 	}
 
+	/**
+	 * Tells whether the click callback may be rendered as a bookmarkable listener url that does
+	 * not make the page stateful, see {@link StatelessAjaxLink}.
+	 * 
+	 * @return <code>false</code> by default
+	 */
+	protected boolean getCallbackStatelessHint()
+	{
+		return false;
+	}
+
 	/**
 	 * @return the channel that manages how Ajax calls are executed
 	 * @see AbstractDefaultAjaxBehavior#getChannel()
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.ajax.markup.html;
+
+import org.apache.wicket.model.IModel;
+
+/**
+ * An {@link AjaxLink} that does not make its page stateful. The callback url is rendered as a
+ * bookmarkable listener url that creates a new page instance before onClick is called. Because of
+ * this you can't depend on model data in the onClick method, and components added to the
+ * {@link org.apache.wicket.ajax.AjaxRequestTarget} should have a fixed markup id.
+ * 
+ * @see org.apache.wicket.ajax.StatelessAjaxEventBehavior
+ * 
+ * @param <T>
+ *            type of model object
+ */
+public abstract class StatelessAjaxLink<T> extends AjaxLink<T>
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param id
+	 */
+	public StatelessAjaxLink(final String id)
+	{
+		super(id);
+	}
+
+	/**
+	 * Construct.
+	 * 
+	 * @param id
+	 * @param model
+	 */
+	public StatelessAjaxLink(final String id, final IModel<T> model)
+	{
+		super(id, model);
+	}
+
+	/**
+	 * @see org.apache.wicket.ajax.markup.html.AjaxLink#getCallbackStatelessHint()
+	 */
+	@Override
+	protected boolean getCallbackStatelessHint()
+	{
+		return true;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.application;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.util.listener.ListenerCollection;
+
+/**
+ * The {@link IComponentRenderPhaseListener}s of an application, notified as one listener.
+ * <p>
+ * Components ask {@link #isUsed()} before they look up the listeners of their application, so
+ * rendering does not pay for the lookup as long as no listener was ever added.
+ * 
+ * @see org.apache.wicket.Application#getComponentRenderPhaseListeners()
+ */
+public class ComponentRenderPhaseListenerCollection extends
+	ListenerCollection<IComponentRenderPhaseListener> implements IComponentRenderPhaseListener
+{
+	private static final long serialVersionUID = 1L;
+
+	/** whether a listener was added to any collection, never reset */
+	private static volatile boolean used;
+
+	/**
+	 * @return {@code true} if a listener was ever added to the collection of any application
+	 */
+	public static boolean isUsed()
+	{
+		return used;
+	}
+
+	@Override
+	public boolean add(final IComponentRenderPhaseListener listener)
+	{
+		final boolean added = super.add(listener);
+		if (added)
+		{
+			used = true;
+		}
+		return added;
+	}
+
+	@Override
+	public void onPhaseStart(final Component component, final Phase phase)
+	{
+		notify(new INotifier<IComponentRenderPhaseListener>()
+		{
+			@Override
+			public void notify(IComponentRenderPhaseListener listener)
+			{
+				listener.onPhaseStart(component, phase);
+			}
+		});
+	}
+
+	@Override
+	public void onPhaseEnd(final Component component, final Phase phase)
+	{
+		notify(new INotifier<IComponentRenderPhaseListener>()
+		{
+			@Override
+			public void notify(IComponentRenderPhaseListener listener)
+			{
+				listener.onPhaseEnd(component, phase);
+			}
+		});
+	}
+}
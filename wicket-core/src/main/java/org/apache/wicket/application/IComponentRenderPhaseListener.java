@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.application;
+
+import org.apache.wicket.Component;
+
+/**
+ * Listener that is notified around the phases of a component's request processing that usually
+ * dominate render time: {@link Component#onConfigure()}, {@link Component#onBeforeRender()},
+ * reading the default model object, {@link Component#onComponentTag} and
+ * {@link Component#onComponentTagBody}.
+ * <p>
+ * Phases nest: the {@link Phase#BEFORE_RENDER} phase of a container encloses that of its children
+ * and the {@link Phase#COMPONENT_TAG_BODY} phase of a container encloses the rendering of its
+ * children. Until a listener is added to any application, the hooks only cost a check of a static
+ * flag per phase.
+ * 
+ * @see Application#getComponentRenderPhaseListeners()
+ */
+public interface IComponentRenderPhaseListener
+{
+	/**
+	 * The observed phases
+	 */
+	public enum Phase {
+		/** {@link Component#onConfigure()} */
+		CONFIGURE,
+
+		/** {@link Component#onBeforeRender()} */
+		BEFORE_RENDER,
+
+		/** {@link Component#getDefaultModelObject()} */
+		MODEL,
+
+		/** {@link Component#onComponentTag} */
+		COMPONENT_TAG,
+
+		/** {@link Component#onComponentTagBody} */
+		COMPONENT_TAG_BODY
+	}
+
+	/**
+	 * Called right before the component enters the given phase.
+	 * 
+	 * @param component
+	 *            the component
+	 * @param phase
+	 *            the phase that is about to start
+	 */
+	public void onPhaseStart(Component component, Phase phase);
+
+	/**
+	 * Called right after the component left the given phase. Not called when the phase ended with
+	 * an exception.
+	 * 
+	 * @param component
+	 *            the component
+	 * @param phase
+	 *            the phase that just ended
+	 */
+	public void onPhaseEnd(Component component, Phase phase);
+}
@@ -39,6 +39,7 @@ import org.apache.wicket.markup.html.form.validation.FormValidatorAdapter;
 import org.apache.wicket.markup.html.form.validation.IFormValidator;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
+import org.apache.wicket.protocol.http.servlet.IFileItemStreamHandler;
 import org.apache.wicket.protocol.http.servlet.ServletWebRequest;
 import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestMapper;
@@ -1308,8 +1309,18 @@ public class Form<T> extends WebMarkupContainer implements IFormSubmitListener
 			try
 			{
 				ServletWebRequest request = (ServletWebRequest)getRequest();
-				final WebRequest multipartWebRequest = request.newMultipartWebRequest(getMaxSize(),
-					getPage().getId());
+				final IFileItemStreamHandler handler = getFileItemStreamHandler();
+				final WebRequest multipartWebRequest;
+				if (handler != null)
+				{
+					multipartWebRequest = request.newMultipartWebRequest(getMaxSize(),
+						getPage().getId(), handler);
+				}
+				else
+				{
+					multipartWebRequest = request.newMultipartWebRequest(getMaxSize(),
+						getPage().getId());
+				}
 				// TODO: Can't this be detected from header?
 				getRequestCycle().setRequest(multipartWebRequest);
 			}
@@ -1329,6 +1340,21 @@ public class Form<T> extends WebMarkupContainer implements IFormSubmitListener
 		return true;
 	}
 
+	/**
+	 * Returns the handler the uploaded files of this form are streamed to while the request is
+	 * parsed. By default <code>null</code> is returned, i.e. the uploaded files are stored in
+	 * memory or temporary files until the form is processed.
+	 * <p>
+	 * Note that with a handler the files are handled <em>before</em> the form is validated, and
+	 * {@link FileUploadField}s only see the file items returned by the handler.
+	 * 
+	 * @return handler of uploaded files, or <code>null</code>
+	 */
+	protected IFileItemStreamHandler getFileItemStreamHandler()
+	{
+		return null;
+	}
+
 	/**
 	 * The default message may look like ".. may not exceed 10240 Bytes..". Which is ok, but
 	 * sometimes you may want something like "10KB". By subclassing this method you may replace
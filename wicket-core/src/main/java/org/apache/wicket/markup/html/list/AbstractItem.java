@@ -18,6 +18,7 @@ package org.apache.wicket.markup.html.list;
 
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.model.IModel;
+import org.apache.wicket.util.string.Strings;
 
 /**
  * A very simple Item. Usually it is used as based class for more advanced Items.
@@ -62,7 +63,7 @@ public class AbstractItem extends WebMarkupContainer
 	 */
 	public AbstractItem(final long id, final IModel<?> model)
 	{
-		this(Long.toString(id), model);
+		this(Strings.valueOf(id), model);
 	}
 
 	/**
@@ -73,6 +74,6 @@ public class AbstractItem extends WebMarkupContainer
 	 */
 	public AbstractItem(final long id)
 	{
-		this(Long.toString(id));
+		this(Strings.valueOf(id));
 	}
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import org.apache.wicket.markup.repeater.AbstractRepeater;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
 import org.apache.wicket.util.collections.ReadOnlyIterator;
+import org.apache.wicket.util.string.Strings;
 
 
 /**
@@ -509,7 +510,7 @@ public abstract class ListView<T> extends AbstractRepeater
 				if (hasChildren)
 				{
 					// If this component does not already exist, populate it
-					item = (ListItem<T>)get(Integer.toString(index));
+					item = (ListItem<T>)get(Strings.valueOf(index));
 				}
 				if (item == null)
 				{
@@ -605,7 +606,7 @@ public abstract class ListView<T> extends AbstractRepeater
 			@Override
 			public Component next()
 			{
-				final String id = Integer.toString(firstIndex + index);
+				final String id = Strings.valueOf(firstIndex + index);
 				index++;
 				return get(id);
 			}
@@ -24,6 +24,7 @@ import org.apache.wicket.markup.repeater.AbstractRepeater;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
 import org.apache.wicket.util.collections.ReadOnlyIterator;
+import org.apache.wicket.util.string.Strings;
 
 /**
  * A very simple loop component whose model is an Integer defining the number of iterations the loop
@@ -135,7 +136,7 @@ public abstract class Loop extends AbstractRepeater
 			@Override
 			public Component next()
 			{
-				return get(Integer.toString(index++));
+				return get(Strings.valueOf(index++));
 			}
 		};
 	}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.markup.html.navigation.paging;
+
+/**
+ * An {@link IPageable} that may not know how many pages it has. Such a pageable only knows about the
+ * pages up to the current one and, if there are more items, the page right after it.
+ * <p>
+ * Navigation components use this interface to avoid offering links that rely on an exact page
+ * count, e.g. a link to the last page.
+ * 
+ * @see org.apache.wicket.markup.repeater.data.ISequentialDataProvider
+ */
+public interface ISequentialPageable extends IPageable
+{
+	/**
+	 * @return <code>true</code> if {@link #getPageCount()} is the exact number of pages,
+	 *         <code>false</code> if it only covers the pages known so far
+	 */
+	boolean isPageCountKnown();
+}
@@ -121,16 +121,24 @@ public class PagingNavigationLink<T> extends Link<T>
 	}
 
 	/**
-	 * Returns true if this PageableListView navigation link links to the given page.
+	 * Returns true if this PageableListView navigation link links to the given page. Links relative
+	 * to the end of the list are considered to link to the current page if the pageable does not
+	 * know its page count, so they get disabled.
 	 * 
 	 * @param page
 	 *            The page
 	 * @return True if this link links to the given page
 	 * @see org.apache.wicket.markup.html.link.PageLink#linksTo(org.apache.wicket.Page)
+	 * @see ISequentialPageable
 	 */
 	@Override
 	public final boolean linksTo(final Page page)
 	{
+		if (pageNumber < 0 && pageable instanceof ISequentialPageable &&
+			!((ISequentialPageable)pageable).isPageCountKnown())
+		{
+			return true;
+		}
 		return getPageNumber() == pageable.getCurrentPage();
 	}
 }
\ No newline at end of file
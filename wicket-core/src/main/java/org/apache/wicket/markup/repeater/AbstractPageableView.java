@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 import org.apache.wicket.markup.html.navigation.paging.IPageableItems;
+import org.apache.wicket.markup.html.navigation.paging.ISequentialPageable;
 import org.apache.wicket.model.IModel;
 
 
@@ -43,7 +44,10 @@ import org.apache.wicket.model.IModel;
  * @param <T>
  *            Model object type
  */
-public abstract class AbstractPageableView<T> extends RefreshingView<T> implements IPageableItems
+public abstract class AbstractPageableView<T> extends RefreshingView<T>
+	implements
+		IPageableItems,
+		ISequentialPageable
 {
 	/** */
 	private static final long serialVersionUID = 1L;
@@ -261,6 +265,30 @@ public abstract class AbstractPageableView<T> extends RefreshingView<T> implemen
 		return page;
 	}
 
+	/**
+	 * Gets the current page as it was set, without trimming it to the page count. Subclasses that
+	 * need to load the page before they can tell the item count use this to avoid the recursion
+	 * through {@link #getCurrentPage()}.
+	 * 
+	 * @return the current page as set by {@link #setCurrentPage(long)}
+	 */
+	protected final long getRequestedPage()
+	{
+		return currentPage;
+	}
+
+	/**
+	 * By default the item count is exact. Views that page without counting return
+	 * <code>false</code> and report the items known so far from {@link #internalGetItemCount()}.
+	 * 
+	 * @see org.apache.wicket.markup.html.navigation.paging.ISequentialPageable#isPageCountKnown()
+	 */
+	@Override
+	public boolean isPageCountKnown()
+	{
+		return true;
+	}
+
 	/**
 	 * @see org.apache.wicket.markup.html.navigation.paging.IPageable#setCurrentPage(int)
 	 */
@@ -16,9 +16,14 @@
  */
 package org.apache.wicket.markup.repeater;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 import org.apache.wicket.markup.repeater.util.ModelIteratorAdapter;
+import org.apache.wicket.model.BatchLoadableDetachableModel;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.util.lang.Generics;
 
@@ -38,6 +43,11 @@ import org.apache.wicket.util.lang.Generics;
  * The provided {@link ModelIteratorAdapter} can make implementing
  * {@link RefreshingView#getItemModels() } easier if you have an iterator over item objects.
  * </p>
+ * <p>
+ * Before items are populated all detached {@link BatchLoadableDetachableModel}s among the item
+ * models - new ones as well as the ones of items that may be reused - are loaded in one batch per
+ * loader.
+ * </p>
  * 
  * @see RepeatingView
  * @see ModelIteratorAdapter
@@ -90,13 +100,59 @@ public abstract class RefreshingView<T> extends RepeatingView
 	@Override
 	protected final void onPopulate()
 	{
-		Iterator<IModel<T>> models = getItemModels();
-		Iterator<Item<T>> items = getItemReuseStrategy().getItems(newItemFactory(), models,
-			getItems());
+		List<IModel<T>> models = new ArrayList<IModel<T>>();
+		Iterator<IModel<T>> iterator = getItemModels();
+		while (iterator.hasNext())
+		{
+			models.add(iterator.next());
+		}
+		loadModels(models);
+
+		Iterator<Item<T>> items = getItemReuseStrategy().getItems(newItemFactory(),
+			models.iterator(), getItems());
 		removeAll();
 		addItems(items);
 	}
 
+	/**
+	 * Batch loads the {@link BatchLoadableDetachableModel}s among the given item models, together
+	 * with the equal models of existing items, which an item reuse strategy may keep instead.
+	 * 
+	 * @param models
+	 *            models of the items to populate
+	 */
+	private void loadModels(List<IModel<T>> models)
+	{
+		List<IModel<?>> batch = null;
+		for (IModel<T> model : models)
+		{
+			if (model instanceof BatchLoadableDetachableModel)
+			{
+				if (batch == null)
+				{
+					batch = new ArrayList<IModel<?>>(models.size());
+				}
+				batch.add(model);
+			}
+		}
+		if (batch == null)
+		{
+			return;
+		}
+
+		Set<IModel<?>> lookup = new HashSet<IModel<?>>(batch);
+		Iterator<Item<T>> items = getItems();
+		while (items.hasNext())
+		{
+			IModel<T> model = items.next().getModel();
+			if (model instanceof BatchLoadableDetachableModel && lookup.contains(model))
+			{
+				batch.add(model);
+			}
+		}
+		BatchLoadableDetachableModel.loadAll(batch);
+	}
+
 	/**
 	 * Create a new IItemFactory based upon the RefreshingView
 	 * 
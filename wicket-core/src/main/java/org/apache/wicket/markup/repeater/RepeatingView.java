@@ -20,6 +20,7 @@ import java.util.Iterator;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.model.IModel;
+import org.apache.wicket.util.string.Strings;
 
 
 /**
@@ -96,7 +97,7 @@ public class RepeatingView extends AbstractRepeater
 	public String newChildId()
 	{
 		childIdCounter++;
-		return String.valueOf(childIdCounter);
+		return Strings.valueOf(childIdCounter);
 	}
 
 	/**
@@ -16,7 +16,12 @@
  */
 package org.apache.wicket.markup.repeater.data;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.wicket.markup.html.navigation.paging.IPageable;
 import org.apache.wicket.markup.repeater.AbstractPageableView;
@@ -30,6 +35,10 @@ import org.apache.wicket.util.lang.Args;
  * 
  * Data views aim to make it very simple to populate your repeating view from a database by
  * utilizing {@link IDataProvider} to act as an interface between the database and the dataview.
+ * <p>
+ * If the data provider is an {@link ISequentialDataProvider} the view pages without counting: it
+ * loads one item more than fits on the current page to find out whether there is a next one, and
+ * it remembers the continuation tokens of the pages visited so far.
  * 
  * @see IDataProvider
  * @see DataView
@@ -46,6 +55,21 @@ public abstract class DataViewBase<T> extends AbstractPageableView<T>
 	private static final long serialVersionUID = 1L;
 	private final IDataProvider<T> dataProvider;
 
+	/**
+	 * Continuation tokens of an {@link ISequentialDataProvider}, keyed by the offset of the item they
+	 * continue at
+	 */
+	private Map<Long, Serializable> continuations;
+
+	/**
+	 * Items of the current page loaded from an {@link ISequentialDataProvider}, including the one
+	 * beyond the page if there is one
+	 */
+	private transient List<T> sequentialItems;
+
+	/** Offset the {@link #sequentialItems} were loaded at */
+	private transient long sequentialOffset;
+
 	/**
 	 * @param id
 	 *            component id
@@ -71,7 +95,79 @@ public abstract class DataViewBase<T> extends AbstractPageableView<T>
 	@Override
 	protected final Iterator<IModel<T>> getItemModels(long offset, long count)
 	{
-		return new ModelIterator<T>(internalGetDataProvider(), offset, count);
+		final Iterator<? extends T> items;
+		if (count <= 0)
+		{
+			items = null;
+		}
+		else if (isSequential())
+		{
+			items = getSequentialItems(offset).iterator();
+		}
+		else
+		{
+			items = internalGetDataProvider().iterator(offset, count);
+		}
+		return new ModelIterator<T>(internalGetDataProvider(), items, count);
+	}
+
+	/**
+	 * @return <code>true</code> if the data provider pages without counting
+	 */
+	private boolean isSequential()
+	{
+		return dataProvider instanceof ISequentialDataProvider;
+	}
+
+	/**
+	 * Loads the items of the page starting at the given offset plus one to tell whether there is a
+	 * next page. The items are kept until detach, so counting and rendering share one query.
+	 * 
+	 * @param offset
+	 *            index of the first item of the page
+	 * @return items of the page
+	 */
+	private List<T> getSequentialItems(final long offset)
+	{
+		if (sequentialItems != null && sequentialOffset == offset)
+		{
+			return sequentialItems;
+		}
+
+		ISequentialDataProvider<T> provider = (ISequentialDataProvider<T>)dataProvider;
+		long itemsPerPage = getItemsPerPage();
+		long count = itemsPerPage == Long.MAX_VALUE ? itemsPerPage : itemsPerPage + 1;
+
+		if (offset == 0)
+		{
+			// the first page is where sorting and filtering reset to, so tokens may be stale
+			continuations = null;
+		}
+		Serializable continuation = continuations != null ? continuations.get(offset) : null;
+
+		List<T> items = new ArrayList<T>();
+		Iterator<? extends T> iterator = provider.iterator(continuation, offset, count);
+		while (iterator.hasNext() && items.size() < count)
+		{
+			items.add(iterator.next());
+		}
+
+		if (items.size() > itemsPerPage)
+		{
+			Serializable next = provider.continuation(items.get((int)itemsPerPage - 1));
+			if (next != null)
+			{
+				if (continuations == null)
+				{
+					continuations = new HashMap<Long, Serializable>();
+				}
+				continuations.put(offset + itemsPerPage, next);
+			}
+		}
+
+		sequentialItems = items;
+		sequentialOffset = offset;
+		return items;
 	}
 
 	/**
@@ -94,17 +190,16 @@ public abstract class DataViewBase<T> extends AbstractPageableView<T>
 		 * 
 		 * @param dataProvider
 		 *            data provider
-		 * @param offset
-		 *            index of first item
+		 * @param items
+		 *            items retrieved from the data provider, or <code>null</code> if there are none
 		 * @param count
 		 *            max number of items to return
 		 */
-		public ModelIterator(IDataProvider<T> dataProvider, long offset, long count)
+		public ModelIterator(IDataProvider<T> dataProvider, Iterator<? extends T> items, long count)
 		{
 			this.dataProvider = dataProvider;
+			this.items = items;
 			max = count;
-
-			items = count > 0 ? dataProvider.iterator(offset, count) : null;
 		}
 
 		/**
@@ -139,15 +234,30 @@ public abstract class DataViewBase<T> extends AbstractPageableView<T>
 	@Override
 	protected final long internalGetItemCount()
 	{
+		if (isSequential())
+		{
+			long offset = getRequestedPage() * getItemsPerPage();
+			return offset + getSequentialItems(offset).size();
+		}
 		return internalGetDataProvider().size();
 	}
 
+	/**
+	 * @see org.apache.wicket.markup.repeater.AbstractPageableView#isPageCountKnown()
+	 */
+	@Override
+	public boolean isPageCountKnown()
+	{
+		return !isSequential();
+	}
+
 	/**
 	 * @see org.apache.wicket.markup.repeater.AbstractPageableView#onDetach()
 	 */
 	@Override
 	protected void onDetach()
 	{
+		sequentialItems = null;
 		dataProvider.detach();
 		super.onDetach();
 	}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.markup.repeater.data;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+import org.apache.wicket.markup.html.navigation.paging.ISequentialPageable;
+
+
+/**
+ * Data provider for data sets that are too expensive to count or to skip through by offset.
+ * <p>
+ * Data views backed by this provider never call {@link #size()}, implementations may throw an
+ * {@link UnsupportedOperationException} from it. Instead the view asks for one item more than fit
+ * on the current page to find out whether there is a next page at all.
+ * <p>
+ * Optionally the provider can support keyset (a.k.a. cursor) paging: for the last item of a page
+ * the view asks for a {@link #continuation(Object) continuation token} and hands it back when the
+ * following page is requested, so the provider can continue <em>after</em> that item (e.g.
+ * <code>where id &gt; :lastId</code>) instead of skipping <code>first</code> rows.
+ * 
+ * Example:
+ * 
+ * <pre>
+ * class UsersProvider implements ISequentialDataProvider&lt;User&gt;
+ * {
+ * 	public Iterator&lt;User&gt; iterator(Serializable continuation, long first, long count)
+ * 	{
+ * 		if (continuation != null)
+ * 		{
+ * 			return getUserDao().findAfter((Long)continuation, count);
+ * 		}
+ * 		return getUserDao().find(first, count);
+ * 	}
+ * 
+ * 	public Serializable continuation(User user)
+ * 	{
+ * 		return user.getId();
+ * 	}
+ * 
+ * 	...
+ * }
+ * </pre>
+ * 
+ * @see DataViewBase
+ * @see ISequentialPageable
+ * 
+ * @param <T>
+ */
+public interface ISequentialDataProvider<T> extends IDataProvider<T>
+{
+	/**
+	 * Gets an iterator for the subset of total data.
+	 * <p>
+	 * The continuation is <code>null</code> for the first page and for pages that were not reached
+	 * by navigating page by page, in which case <code>first</code> has to be used. Tokens are kept
+	 * by the view across requests, so providers with a changeable sort order should make the token
+	 * include it and fall back to <code>first</code> when it does not match anymore.
+	 * 
+	 * @param continuation
+	 *            token returned by {@link #continuation(Object)} for the item preceding
+	 *            <code>first</code>, or <code>null</code>
+	 * @param first
+	 *            first row of data
+	 * @param count
+	 *            maximum number of elements to retrieve
+	 * 
+	 * @return iterator capable of iterating over {first, first+count} items
+	 */
+	Iterator<? extends T> iterator(Serializable continuation, long first, long count);
+
+	/**
+	 * Creates the token to continue iterating after the given object.
+	 * 
+	 * @param object
+	 *            last object of a page
+	 * @return opaque continuation token, or <code>null</code> if keyset paging is not supported
+	 */
+	Serializable continuation(T object);
+}
@@ -51,6 +51,10 @@ public class MockSessionStore implements ISessionStore
 	@Override
 	public void bind(Request request, Session newSession)
 	{
+		for (BindListener listener : bindListeners)
+		{
+			listener.bindingSession(request, newSession);
+		}
 		session = newSession;
 	}
 
@@ -109,6 +113,8 @@ public class MockSessionStore implements ISessionStore
 
 	private final Set<UnboundListener> unboundListeners = new CopyOnWriteArraySet<UnboundListener>();
 
+	private final Set<BindListener> bindListeners = new CopyOnWriteArraySet<BindListener>();
+
 	@Override
 	public void registerUnboundListener(UnboundListener listener)
 	{
@@ -148,4 +154,32 @@ public class MockSessionStore implements ISessionStore
 		this.session = session;
 	}
 
+	/**
+	 * Registers listener invoked when session is bound.
+	 * 
+	 * @param listener
+	 */
+	public void registerBindListener(BindListener listener)
+	{
+		bindListeners.add(listener);
+	}
+
+	/**
+	 * Unregisters listener invoked when session is bound.
+	 * 
+	 * @param listener
+	 */
+	public void unregisterBindListener(BindListener listener)
+	{
+		bindListeners.remove(listener);
+	}
+
+	/**
+	 * @return The list of registered bind listeners
+	 */
+	public Set<BindListener> getBindListeners()
+	{
+		return Collections.unmodifiableSet(bindListeners);
+	}
+
 }
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Objects;
+
+/**
+ * A {@link LoadableDetachableModel} that is identified by a key and whose object can be loaded
+ * together with the objects of many other such models by an {@link IBatchLoader}.
+ * <p>
+ * On its own the model loads its object with a batch of one key. Repeaters call
+ * {@link #loadAll(Iterable)} on the models of their items before rendering, so all detached models
+ * sharing a loader get their objects with a single call instead of one call per row.
+ * 
+ * A usage example:
+ * 
+ * <pre>
+ * class UsersProvider implements IDataProvider&lt;User&gt;, IBatchLoader&lt;Long, User&gt;
+ * {
+ * 	public Map&lt;Long, User&gt; load(Collection&lt;Long&gt; ids)
+ * 	{
+ * 		return getUserDao().findByIds(ids);
+ * 	}
+ * 
+ * 	public IModel&lt;User&gt; model(User user)
+ * 	{
+ * 		return new BatchLoadableDetachableModel&lt;Long, User&gt;(user.getId(), user, this);
+ * 	}
+ * 
+ * 	...
+ * }
+ * </pre>
+ * 
+ * Two models are equal if they have equal keys.
+ * 
+ * @param <K>
+ *            type of the key
+ * @param <T>
+ *            type of the model object
+ */
+public class BatchLoadableDetachableModel<K, T> extends LoadableDetachableModel<T>
+{
+	private static final long serialVersionUID = 1L;
+
+	private final K key;
+
+	private final IBatchLoader<K, T> loader;
+
+	/**
+	 * Constructor for a detached model
+	 * 
+	 * @param key
+	 *            key of the object
+	 * @param loader
+	 *            loader of the object
+	 */
+	public BatchLoadableDetachableModel(final K key, final IBatchLoader<K, T> loader)
+	{
+		this.key = Args.notNull(key, "key");
+		this.loader = Args.notNull(loader, "loader");
+	}
+
+	/**
+	 * Constructor for a model whose object is already loaded
+	 * 
+	 * @param key
+	 *            key of the object
+	 * @param object
+	 *            the loaded object
+	 * @param loader
+	 *            loader of the object
+	 */
+	public BatchLoadableDetachableModel(final K key, final T object,
+		final IBatchLoader<K, T> loader)
+	{
+		super(object);
+		this.key = Args.notNull(key, "key");
+		this.loader = Args.notNull(loader, "loader");
+	}
+
+	/**
+	 * @return key of the object
+	 */
+	public final K getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * @return the loader
+	 */
+	public final IBatchLoader<K, T> getLoader()
+	{
+		return loader;
+	}
+
+	/**
+	 * @see org.apache.wicket.model.LoadableDetachableModel#load()
+	 */
+	@Override
+	protected T load()
+	{
+		return loader.load(Collections.singletonList(key)).get(key);
+	}
+
+	/**
+	 * Loads the objects of all detached {@link BatchLoadableDetachableModel}s among the given
+	 * models, one {@link IBatchLoader#load(java.util.Collection)} call per loader. Models with
+	 * equal keys share the loaded object, other models are ignored.
+	 * 
+	 * @param models
+	 *            models to load
+	 */
+	public static void loadAll(final Iterable<? extends IModel<?>> models)
+	{
+		Map<IBatchLoader<?, ?>, List<BatchLoadableDetachableModel<?, ?>>> batches = null;
+		for (IModel<?> model : models)
+		{
+			if (!(model instanceof BatchLoadableDetachableModel) ||
+				((LoadableDetachableModel<?>)model).isAttached())
+			{
+				continue;
+			}
+			BatchLoadableDetachableModel<?, ?> batchModel =
+				(BatchLoadableDetachableModel<?, ?>)model;
+
+			if (batches == null)
+			{
+				// loaders rarely implement equals(), group by identity
+				batches = new IdentityHashMap<IBatchLoader<?, ?>,
+					List<BatchLoadableDetachableModel<?, ?>>>();
+			}
+			List<BatchLoadableDetachableModel<?, ?>> batch = batches.get(batchModel.loader);
+			if (batch == null)
+			{
+				batch = new ArrayList<BatchLoadableDetachableModel<?, ?>>();
+				batches.put(batchModel.loader, batch);
+			}
+			batch.add(batchModel);
+		}
+
+		if (batches != null)
+		{
+			for (List<BatchLoadableDetachableModel<?, ?>> batch : batches.values())
+			{
+				load(batch);
+			}
+		}
+	}
+
+	/**
+	 * Loads a batch of models sharing the same loader.
+	 * 
+	 * @param batch
+	 *            models to load
+	 */
+	@SuppressWarnings("unchecked")
+	private static <K, T> void load(final List<BatchLoadableDetachableModel<?, ?>> batch)
+	{
+		Set<K> keys = new LinkedHashSet<K>();
+		for (BatchLoadableDetachableModel<?, ?> model : batch)
+		{
+			keys.add((K)model.key);
+		}
+
+		IBatchLoader<K, T> loader = (IBatchLoader<K, T>)batch.get(0).loader;
+		Map<K, T> objects = loader.load(keys);
+
+		for (BatchLoadableDetachableModel<?, ?> model : batch)
+		{
+			((BatchLoadableDetachableModel<K, T>)model).setObject(objects.get(model.key));
+		}
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass())
+		{
+			return false;
+		}
+		return Objects.equal(key, ((BatchLoadableDetachableModel<?, ?>)obj).key);
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode()
+	{
+		return key.hashCode();
+	}
+}
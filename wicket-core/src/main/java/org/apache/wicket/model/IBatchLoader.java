@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.model;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.wicket.IClusterable;
+
+/**
+ * Loads many objects identified by their keys with a single call to the backend, e.g. one
+ * <code>select ... where id in (...)</code> query instead of one query per object.
+ * 
+ * @see BatchLoadableDetachableModel
+ * 
+ * @param <K>
+ *            type of the keys
+ * @param <T>
+ *            type of the loaded objects
+ */
+public interface IBatchLoader<K, T> extends IClusterable
+{
+	/**
+	 * Loads the objects for the given keys.
+	 * 
+	 * @param keys
+	 *            keys of the objects to load
+	 * @return loaded objects mapped by their keys, objects that could not be found may be missing
+	 */
+	Map<K, T> load(Collection<K> keys);
+}
@@ -172,6 +172,20 @@ public class PageAccessSynchronizer implements Serializable
 		}
 	}
 
+	/**
+	 * Acquires the lock to a page only if no thread holds it, without waiting.
+	 * 
+	 * @param pageId
+	 *            page id
+	 * @return {@code true} if the lock was acquired, {@code false} if any thread, the current one
+	 *         included, holds it
+	 */
+	public boolean tryLockPage(int pageId)
+	{
+		final PageLock lock = new PageLock(pageId, Thread.currentThread());
+		return locks.get().putIfAbsent(pageId, lock) == null;
+	}
+
 	/**
 	 * Unlocks all pages locked by this thread
 	 */
@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.pageStore.memory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Session;
+import org.apache.wicket.page.IManageablePage;
+import org.apache.wicket.page.PageAccessSynchronizer;
+import org.apache.wicket.pageStore.IPageStore;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.lang.WicketObjects;
+
+/**
+ * An {@link IPageStore} that keeps the live page instances of every session in memory and only
+ * passes them to a second tier, usually the {@link org.apache.wicket.pageStore.DefaultPageStore}
+ * with its disk based data store, when they are evicted. Pages are serialized only then, not at
+ * the end of every request.
+ * <p>
+ * This suits deployments with sticky sessions and no session replication. Each session keeps at
+ * most the configured number of pages and, optionally, bytes; the least recently used pages are
+ * evicted first. The size of a page is measured with {@link WicketObjects#sizeof(Serializable)},
+ * which serializes the page unless an instrumentation based
+ * {@link org.apache.wicket.util.lang.WicketObjects.IObjectSizeOfStrategy} like the one of
+ * <em>wicket-objectssizeof-agent</em> is configured, so leave the size limit off otherwise.
+ * <p>
+ * Pages are evicted only while no request uses them, i.e. while the lock of the
+ * {@link PageAccessSynchronizer} of their session is free, so a session may keep more pages for
+ * a while. When the container serializes or passivates the session, its live pages are passed to
+ * the second tier as well, so a restored session finds them there.
+ * <p>
+ * Only the current version of a page instance is kept in memory: once a versioned page got a new
+ * id, its former ids resolve to the instance in its current state, as if versioning was
+ * disabled.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * <!--@formatter:off-->
+ * MyApp#init()
+ * {
+ * 
+ * 	setPageManagerProvider(new DefaultPageManagerProvider(this) 
+ * 	{
+ * 		protected IPageStore newPageStore(IDataStore dataStore) 
+ * 		{ 
+ * 			return new LivePageStore(super.newPageStore(dataStore), 20, null);
+ * 		}
+ * 	}
+ * }
+ * <!--@formatter:on-->
+ * </pre>
+ */
+public class LivePageStore implements IPageStore
+{
+	private final IPageStore evictedPageStore;
+
+	private final int maxPages;
+
+	private final Bytes maxBytes;
+
+	private final ConcurrentMap<String, SessionPages> sessions = new ConcurrentHashMap<String, SessionPages>();
+
+	/**
+	 * Construct.
+	 * 
+	 * @param evictedPageStore
+	 *            the store that receives the evicted pages
+	 * @param maxPages
+	 *            the maximum number of pages kept in memory per session
+	 * @param maxBytes
+	 *            the maximum size of the pages kept in memory per session, {@code null} for no
+	 *            limit
+	 */
+	public LivePageStore(final IPageStore evictedPageStore, final int maxPages,
+		final Bytes maxBytes)
+	{
+		Args.notNull(evictedPageStore, "evictedPageStore");
+		Args.withinRange(1, Integer.MAX_VALUE, maxPages, "maxPages");
+
+		this.evictedPageStore = evictedPageStore;
+		this.maxPages = maxPages;
+		this.maxBytes = maxBytes;
+	}
+
+	@Override
+	public void destroy()
+	{
+		sessions.clear();
+		evictedPageStore.destroy();
+	}
+
+	@Override
+	public IManageablePage getPage(final String sessionId, final int pageId)
+	{
+		SessionPages pages = sessions.get(sessionId);
+		if (pages != null)
+		{
+			IManageablePage page = pages.get(pageId);
+			if (page != null)
+			{
+				return page;
+			}
+		}
+		return evictedPageStore.getPage(sessionId, pageId);
+	}
+
+	@Override
+	public void removePage(final String sessionId, final int pageId)
+	{
+		SessionPages pages = sessions.get(sessionId);
+		if (pages != null)
+		{
+			pages.remove(pageId);
+		}
+		evictedPageStore.removePage(sessionId, pageId);
+	}
+
+	@Override
+	public void storePage(final String sessionId, final IManageablePage page)
+	{
+		SessionPages pages = sessions.get(sessionId);
+		if (pages == null)
+		{
+			pages = new SessionPages();
+			SessionPages existing = sessions.putIfAbsent(sessionId, pages);
+			if (existing != null)
+			{
+				pages = existing;
+			}
+		}
+
+		// pages in use by a request are not evicted, the next ones are instead
+		PageAccessSynchronizer synchronizer = getPageAccessSynchronizer(sessionId);
+		for (Entry candidate : pages.put(page))
+		{
+			if (pages.isOverLimit() == false)
+			{
+				break;
+			}
+			else if (synchronizer == null)
+			{
+				evict(sessionId, pages, candidate);
+			}
+			else if (synchronizer.tryLockPage(candidate.pageId))
+			{
+				try
+				{
+					evict(sessionId, pages, candidate);
+				}
+				finally
+				{
+					synchronizer.unlockPage(candidate.pageId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes an evicted page to the second tier, unless it was replaced or removed meanwhile.
+	 * 
+	 * @param sessionId
+	 * @param pages
+	 * @param entry
+	 */
+	private void evict(final String sessionId, final SessionPages pages, final Entry entry)
+	{
+		if (pages.remove(entry))
+		{
+			evictedPageStore.storePage(sessionId, entry.page);
+		}
+	}
+
+	/**
+	 * Passes the live pages of a session to the second tier without evicting them. Pages in use by
+	 * a request are skipped.
+	 * 
+	 * @param sessionId
+	 */
+	private void flush(final String sessionId)
+	{
+		SessionPages pages = sessions.get(sessionId);
+		if (pages == null)
+		{
+			return;
+		}
+
+		PageAccessSynchronizer synchronizer = getPageAccessSynchronizer(sessionId);
+		boolean flushed = true;
+		for (Entry entry : pages.takeUnflushed())
+		{
+			if (synchronizer == null)
+			{
+				evictedPageStore.storePage(sessionId, entry.page);
+			}
+			else if (synchronizer.tryLockPage(entry.pageId))
+			{
+				try
+				{
+					evictedPageStore.storePage(sessionId, entry.page);
+				}
+				finally
+				{
+					synchronizer.unlockPage(entry.pageId);
+				}
+			}
+			else
+			{
+				flushed = false;
+			}
+		}
+		if (flushed == false)
+		{
+			pages.setUnflushed();
+		}
+	}
+
+	/**
+	 * @param sessionId
+	 * @return the synchronizer of the session's pages, {@code null} if the current thread does not
+	 *         process a request of the session
+	 */
+	private static PageAccessSynchronizer getPageAccessSynchronizer(final String sessionId)
+	{
+		if (Session.exists())
+		{
+			Session session = Session.get();
+			if (sessionId.equals(session.getId()))
+			{
+				return session.getPageAccessSynchronizer();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void unbind(final String sessionId)
+	{
+		sessions.remove(sessionId);
+		evictedPageStore.unbind(sessionId);
+	}
+
+	@Override
+	public Serializable prepareForSerialization(final String sessionId, final Object page)
+	{
+		// the session is serialized, pass its live pages to the second tier once
+		flush(sessionId);
+		return evictedPageStore.prepareForSerialization(sessionId, page);
+	}
+
+	@Override
+	public Object restoreAfterSerialization(final Serializable serializable)
+	{
+		return evictedPageStore.restoreAfterSerialization(serializable);
+	}
+
+	@Override
+	public IManageablePage convertToPage(final Object page)
+	{
+		if (page instanceof IManageablePage)
+		{
+			return (IManageablePage)page;
+		}
+		return evictedPageStore.convertToPage(page);
+	}
+
+	/**
+	 * @param sessionId
+	 * @return the number of pages of the session kept in memory
+	 */
+	public int getPageCount(final String sessionId)
+	{
+		SessionPages pages = sessions.get(sessionId);
+		return (pages != null) ? pages.size() : 0;
+	}
+
+	/**
+	 * The pages of one session, least recently used first
+	 */
+	private class SessionPages
+	{
+		/** page id at store time -> page */
+		private final LinkedHashMap<Integer, Entry> pages = new LinkedHashMap<Integer, Entry>(16,
+			0.75f, true);
+
+		/** former id of a page instance -> id it was stored with last */
+		private final Map<Integer, Integer> formerIds = new HashMap<Integer, Integer>();
+
+		private long bytes;
+
+		/** whether pages were stored since the pages were flushed */
+		private boolean unflushed;
+
+		private synchronized IManageablePage get(final int pageId)
+		{
+			Entry entry = pages.get(pageId);
+			if (entry == null)
+			{
+				Integer currentId = formerIds.get(pageId);
+				if (currentId != null)
+				{
+					entry = pages.get(currentId);
+				}
+			}
+			return (entry != null) ? entry.page : null;
+		}
+
+		private synchronized void remove(final int pageId)
+		{
+			Entry entry = pages.remove(pageId);
+			if (entry != null)
+			{
+				removed(pageId, entry);
+			}
+		}
+
+		/**
+		 * Removes the entry if it is still kept.
+		 * 
+		 * @param entry
+		 * @return {@code true} if the entry was removed
+		 */
+		private synchronized boolean remove(final Entry entry)
+		{
+			if (pages.get(entry.pageId) != entry)
+			{
+				return false;
+			}
+			pages.remove(entry.pageId);
+			removed(entry.pageId, entry);
+			return true;
+		}
+
+		/**
+		 * @return the kept entries, if pages were stored since they were last taken
+		 */
+		private synchronized List<Entry> takeUnflushed()
+		{
+			if (unflushed == false)
+			{
+				return new ArrayList<Entry>();
+			}
+			unflushed = false;
+			return new ArrayList<Entry>(pages.values());
+		}
+
+		private synchronized void setUnflushed()
+		{
+			unflushed = true;
+		}
+
+		/**
+		 * Adds or replaces the page.
+		 * 
+		 * @param page
+		 * @return the least recently used entries that exceed the limits
+		 */
+		private synchronized List<Entry> put(final IManageablePage page)
+		{
+			int pageId = page.getPageId();
+
+			// the instance might be here with a former id
+			formerIds.remove(pageId);
+			Iterator<Map.Entry<Integer, Entry>> iterator = pages.entrySet().iterator();
+			while (iterator.hasNext())
+			{
+				Map.Entry<Integer, Entry> former = iterator.next();
+				if ((former.getValue().page == page) && (former.getKey() != pageId))
+				{
+					iterator.remove();
+					bytes -= former.getValue().bytes;
+					for (Map.Entry<Integer, Integer> formerId : formerIds.entrySet())
+					{
+						if (formerId.getValue().equals(former.getKey()))
+						{
+							formerId.setValue(pageId);
+						}
+					}
+					formerIds.put(former.getKey(), pageId);
+					break;
+				}
+			}
+
+			Entry entry = new Entry(pageId, page, (maxBytes != null) ? WicketObjects.sizeof(page)
+				: 0);
+			Entry replaced = pages.put(pageId, entry);
+			if (replaced != null)
+			{
+				bytes -= replaced.bytes;
+			}
+			bytes += entry.bytes;
+			unflushed = true;
+
+			return getEvictionCandidates(pageId);
+		}
+
+		/**
+		 * Collects the pages that may be evicted if the limits are exceeded, i.e. all but the page
+		 * that was just stored.
+		 * 
+		 * @param storedPageId
+		 * @return the entries to evict from, least recently used first
+		 */
+		private List<Entry> getEvictionCandidates(final int storedPageId)
+		{
+			List<Entry> candidates = new ArrayList<Entry>();
+			if (isOverLimit())
+			{
+				for (Entry entry : pages.values())
+				{
+					if (entry.pageId != storedPageId)
+					{
+						candidates.add(entry);
+					}
+				}
+			}
+			return candidates;
+		}
+
+		private synchronized boolean isOverLimit()
+		{
+			return (pages.size() > maxPages) || ((maxBytes != null) && (bytes > maxBytes.bytes()));
+		}
+
+		/**
+		 * Forgets the bytes and former ids of a removed entry.
+		 * 
+		 * @param pageId
+		 * @param entry
+		 */
+		private void removed(final int pageId, final Entry entry)
+		{
+			bytes -= entry.bytes;
+			Iterator<Integer> currentIds = formerIds.values().iterator();
+			while (currentIds.hasNext())
+			{
+				if (currentIds.next() == pageId)
+				{
+					currentIds.remove();
+				}
+			}
+		}
+
+		private synchronized int size()
+		{
+			return pages.size();
+		}
+	}
+
+	/**
+	 * A live page, the id it was stored with and its size
+	 */
+	private static class Entry
+	{
+		private final int pageId;
+
+		private final IManageablePage page;
+
+		private final long bytes;
+
+		private Entry(final int pageId, final IManageablePage page, final long bytes)
+		{
+			this.pageId = pageId;
+			this.page = page;
+			this.bytes = bytes;
+		}
+	}
+}
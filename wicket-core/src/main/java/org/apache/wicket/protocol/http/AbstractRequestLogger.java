@@ -16,8 +16,7 @@
  */
 package org.apache.wicket.protocol.http;
 
-import static java.lang.System.arraycopy;
-
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -25,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.MetaDataKey;
@@ -82,26 +83,9 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 
 	/**
 	 * Rounded request buffer that keeps the request data for the last N requests in the buffer.
+	 * Replaced as a whole when the configured window size changes.
 	 */
-	private RequestData[] requestWindow;
-
-	/**
-	 * Cursor pointing to the current writable location in the buffer. Points to the first empty
-	 * slot or if the buffer has been filled completely to the oldest request in the buffer.
-	 */
-	private int indexInWindow = 0;
-
-	/**
-	 * records the total request time across the sliding request window so that it can be used to
-	 * calculate the average request time across the window duration.
-	 */
-	private long totalRequestTime = 0l;
-
-	/**
-	 * records the start time of the oldest request across the sliding window so that it can be used
-	 * to calculate the average request time across the window duration.
-	 */
-	private Date startTimeOfOldestRequest;
+	private volatile RequestWindow requestWindow;
 
 	/**
 	 * Construct.
@@ -111,7 +95,7 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 		int requestsWindowSize = Application.get()
 			.getRequestLoggerSettings()
 			.getRequestsWindowSize();
-		requestWindow = new RequestData[requestsWindowSize];
+		requestWindow = new RequestWindow(requestsWindowSize);
 		liveSessions = new ConcurrentHashMap<String, SessionData>();
 	}
 
@@ -145,46 +129,7 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 	@Override
 	public List<RequestData> getRequests()
 	{
-		synchronized (requestWindow)
-		{
-			RequestData[] result = new RequestData[hasBufferRolledOver() ? requestWindow.length
-				: indexInWindow];
-			copyRequestsInOrder(result);
-			return Arrays.asList(result);
-		}
-	}
-
-	/**
-	 * Copies all request data into {@code copy} such that the oldest request is in slot 0 and the
-	 * most recent request is in slot {@code copy.length}
-	 * 
-	 * @param copy
-	 *            the target, has to have a capacity of at least {@code requestWindow.length}
-	 */
-	private void copyRequestsInOrder(RequestData[] copy)
-	{
-		if (hasBufferRolledOver())
-		{
-			// first copy the oldest requests stored behind the cursor into the copy
-			int oldestPos = indexInWindow + 1;
-			if (oldestPos < requestWindow.length)
-				arraycopy(requestWindow, oldestPos, copy, 0, requestWindow.length - oldestPos);
-
-			// then append the newer requests stored from index 0 til the cursor position.
-			arraycopy(requestWindow, 0, copy, requestWindow.length - oldestPos, indexInWindow);
-		}
-		else
-		{
-			arraycopy(requestWindow, 0, copy, 0, indexInWindow);
-		}
-	}
-
-	/**
-	 * @return whether the buffer has been filled to capacity at least once
-	 */
-	private boolean hasBufferRolledOver()
-	{
-		return requestWindow[requestWindow.length - 1] != null;
+		return requestWindow.getRequests();
 	}
 
 	@Override
@@ -278,10 +223,7 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 	public void sessionCreated(String sessionId)
 	{
 		liveSessions.put(sessionId, new SessionData(sessionId));
-		if (liveSessions.size() > peakSessions.get())
-		{
-			peakSessions.set(liveSessions.size());
-		}
+		updatePeak(peakSessions, liveSessions.size());
 		totalCreatedSessions.incrementAndGet();
 	}
 
@@ -302,14 +244,27 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 		{
 			rd = new RequestData();
 			requestCycle.setMetaData(REQUEST_DATA, rd);
-			int activeCount = activeRequests.incrementAndGet();
+			updatePeak(peakActiveRequests, activeRequests.incrementAndGet());
+		}
+		return rd;
+	}
 
-			if (activeCount > peakActiveRequests.get())
+	/**
+	 * Raises {@code peak} to {@code value} unless another thread already recorded a higher one.
+	 * 
+	 * @param peak
+	 * @param value
+	 */
+	private static void updatePeak(AtomicInteger peak, int value)
+	{
+		int current;
+		while (value > (current = peak.get()))
+		{
+			if (peak.compareAndSet(current, value))
 			{
-				peakActiveRequests.set(activeCount);
+				break;
 			}
 		}
-		return rd;
 	}
 
 	@Override
@@ -338,73 +293,19 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 	protected void addRequest(RequestData rd)
 	{
 		// ensure the buffer has the proper installed length
-		resizeBuffer();
-
-		synchronized (requestWindow)
-		{
-			// if the requestWindow is a zero-length array, nothing gets stored
-			if (requestWindow.length == 0)
-				return;
-
-			// use the oldest request data to recalculate the average request time
-			RequestData old = requestWindow[indexInWindow];
-
-			// replace the oldest request with the nweset request
-			requestWindow[indexInWindow] = rd;
-
-			// move the cursor to the next writable position containing the oldest request or if the
-			// buffer hasn't been filled completely the first empty slot
-			indexInWindow = (indexInWindow + 1) % requestWindow.length;
-			if (old != null)
-			{
-				startTimeOfOldestRequest = requestWindow[indexInWindow].getStartDate();
-				totalRequestTime -= old.getTimeTaken();
-			}
-			else
-			{
-				if (startTimeOfOldestRequest == null)
-					startTimeOfOldestRequest = rd.getStartDate();
-			}
-			totalRequestTime += rd.getTimeTaken();
-		}
-	}
-
-	private int getWindowSize()
-	{
-		synchronized (requestWindow)
-		{
-			if (requestWindow[requestWindow.length - 1] == null)
-				return indexInWindow;
-			else
-				return requestWindow.length;
-		}
+		resizeBuffer().add(rd);
 	}
 
 	@Override
 	public long getAverageRequestTime()
 	{
-		synchronized (requestWindow)
-		{
-			int windowSize = getWindowSize();
-			if (windowSize == 0)
-				return 0;
-			return totalRequestTime / windowSize;
-		}
+		return requestWindow.getAverageRequestTime();
 	}
 
 	@Override
 	public long getRequestsPerMinute()
 	{
-		synchronized (requestWindow)
-		{
-			int windowSize = getWindowSize();
-			if (windowSize == 0)
-				return 0;
-			long start = startTimeOfOldestRequest.getTime();
-			long end = System.currentTimeMillis();
-			double diff = end - start;
-			return Math.round(windowSize / (diff / 60000.0));
-		}
+		return requestWindow.getRequestsPerMinute();
 	}
 
 	@Override
@@ -433,58 +334,129 @@ public abstract class AbstractRequestLogger implements IStagedRequestLogger
 
 	/**
 	 * Resizes the request buffer to match the
-	 * {@link IRequestLoggerSettings#getRequestsWindowSize() configured window size}
+	 * {@link IRequestLoggerSettings#getRequestsWindowSize() configured window size}. The most
+	 * recent requests are carried over into the new buffer; requests ending while the buffer is
+	 * being replaced may be missing from it.
+	 * 
+	 * @return the buffer to add the request to
 	 */
-	private void resizeBuffer()
+	private RequestWindow resizeBuffer()
 	{
 		int newCapacity = Application.get().getRequestLoggerSettings().getRequestsWindowSize();
 
+		RequestWindow window = requestWindow;
+
 		// do nothing if the capacity requirement hasn't changed
-		if (newCapacity == requestWindow.length)
-			return;
+		if (newCapacity == window.capacity())
+			return window;
+
+		RequestWindow newWindow = new RequestWindow(newCapacity);
+		List<RequestData> requests = window.getRequests();
+		for (int i = Math.max(0, requests.size() - newCapacity); i < requests.size(); i++)
+		{
+			newWindow.add(requests.get(i));
+		}
+		requestWindow = newWindow;
+		return newWindow;
+	}
+
+	/**
+	 * Ring buffer that keeps the request data for the last N requests without locking: a request
+	 * claims its slot by incrementing the sequence, so concurrently ending requests never wait for
+	 * each other. Readers take a snapshot which may miss a request that is being stored at the same
+	 * time, which is good enough for the statistics derived from it.
+	 */
+	private static final class RequestWindow
+	{
+		private final AtomicReferenceArray<RequestData> slots;
 
-		RequestData[] newRequestWindow = new RequestData[newCapacity];
-		synchronized (requestWindow)
+		/**
+		 * The number of requests ever added, request {@code n} is stored in slot
+		 * {@code n % capacity}.
+		 */
+		private final AtomicLong sequence = new AtomicLong();
+
+		/**
+		 * records the total request time across the sliding request window so that it can be
+		 * used to calculate the average request time across the window duration.
+		 */
+		private final AtomicLong totalRequestTime = new AtomicLong();
+
+		private RequestWindow(int capacity)
 		{
-			int oldCapacity = requestWindow.length;
-			int oldNumberOfElements = hasBufferRolledOver() ? oldCapacity : indexInWindow;
+			slots = new AtomicReferenceArray<RequestData>(capacity);
+		}
 
-			if (newCapacity > oldCapacity)
-			{
-				// increase the capacity of the buffer when more requests need to be stored
-				// and preserve the order of the requests while copying them into the new buffer.
-				copyRequestsInOrder(newRequestWindow);
+		private int capacity()
+		{
+			return slots.length();
+		}
 
-				// the next writable position is at the first non-copied element in the buffer
-				indexInWindow = oldNumberOfElements;
-				requestWindow = newRequestWindow;
+		private void add(RequestData rd)
+		{
+			int capacity = slots.length();
+
+			// if the requestWindow is a zero-length array, nothing gets stored
+			if (capacity == 0)
+				return;
+
+			// replace the oldest request with the newest request and use the oldest request data
+			// to recalculate the average request time
+			long n = sequence.getAndIncrement();
+			RequestData old = slots.getAndSet((int)(n % capacity), rd);
+
+			long delta = rd.getTimeTaken();
+			if (old != null)
+			{
+				delta -= old.getTimeTaken();
 			}
-			else if (newCapacity < oldCapacity)
+			totalRequestTime.addAndGet(delta);
+		}
+
+		private int size()
+		{
+			return (int)Math.min(sequence.get(), slots.length());
+		}
+
+		/**
+		 * @return the requests in the buffer, the oldest request first
+		 */
+		private List<RequestData> getRequests()
+		{
+			int capacity = slots.length();
+			long end = sequence.get();
+			long start = Math.max(0, end - capacity);
+			List<RequestData> requests = new ArrayList<RequestData>((int)(end - start));
+			for (long n = start; n < end; n++)
 			{
-				// sort the requests in the current buffer such that the oldest request is in slot 0
-				RequestData[] sortedRequestWindow = new RequestData[oldCapacity];
-				copyRequestsInOrder(sortedRequestWindow);
-
-				// determine the number of elements that need to be copied into the smaller target
-				int numberOfElementsToCopy = Math.min(newCapacity, oldNumberOfElements);
-
-				// determine the position from where the copying must start
-				int numberOfElementsToSkip = Math.max(0, oldNumberOfElements -
-					numberOfElementsToCopy);
-
-				// fill the new buffer with the leftovers of the old buffer, skipping the oldest
-				// requests
-				arraycopy(sortedRequestWindow, numberOfElementsToSkip, newRequestWindow, 0,
-					numberOfElementsToCopy);
-
-				// the next writable position is 0 when the buffer is filled to capacity, or the
-				// number of copied elements when the buffer isn't filled to capacity.
-				indexInWindow = numberOfElementsToCopy >= newCapacity ? 0 : numberOfElementsToCopy;
-				requestWindow = newRequestWindow;
+				RequestData rd = slots.get((int)(n % capacity));
+				if (rd != null)
+				{
+					requests.add(rd);
+				}
 			}
+			return requests;
+		}
+
+		private long getAverageRequestTime()
+		{
+			int windowSize = size();
+			if (windowSize == 0)
+				return 0;
+			return totalRequestTime.get() / windowSize;
 		}
-	}
 
+		private long getRequestsPerMinute()
+		{
+			List<RequestData> requests = getRequests();
+			if (requests.isEmpty())
+				return 0;
+			long start = requests.get(0).getStartDate().getTime();
+			long end = System.currentTimeMillis();
+			double diff = end - start;
+			return Math.round(requests.size() / (diff / 60000.0));
+		}
+	}
 
 	/**
 	 * Thread-safely formats the passed date in format 'yyyy-MM-dd hh:mm:ss,SSS' with GMT timezone
@@ -41,8 +41,10 @@ import org.apache.wicket.markup.html.pages.PageExpiredErrorPage;
 import org.apache.wicket.markup.resolver.AutoLinkResolver;
 import org.apache.wicket.protocol.http.servlet.AbstractRequestWrapperFactory;
 import org.apache.wicket.protocol.http.servlet.FilterFactoryManager;
+import org.apache.wicket.protocol.http.servlet.IUploadProgressRegistry;
 import org.apache.wicket.protocol.http.servlet.ServletWebRequest;
 import org.apache.wicket.protocol.http.servlet.ServletWebResponse;
+import org.apache.wicket.protocol.http.servlet.UploadProgressRegistry;
 import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestMapper;
 import org.apache.wicket.request.Request;
@@ -131,6 +133,8 @@ public abstract class WebApplication extends Application
 
 	private FilterFactoryManager filterFactoryManager;
 
+	private IUploadProgressRegistry uploadProgressRegistry = new UploadProgressRegistry();
+
 	/**
 	 * Cached value of the parsed (from system properties or Servlet init/context parameter)
 	 * <code>wicket.configuration</code> setting. No need to re-read it because it wont change at
@@ -898,6 +902,30 @@ public abstract class WebApplication extends Application
 		return ajaxRequestTargetListeners;
 	}
 
+	/**
+	 * Returns the registry keeping track of the progress of running uploads.
+	 * 
+	 * @return the upload progress registry
+	 */
+	public IUploadProgressRegistry getUploadProgressRegistry()
+	{
+		return uploadProgressRegistry;
+	}
+
+	/**
+	 * Sets the registry keeping track of the progress of running uploads. By default an
+	 * {@link UploadProgressRegistry} is used, which keeps the progress off the http session.
+	 * 
+	 * @param uploadProgressRegistry
+	 *            the new registry
+	 * @see org.apache.wicket.protocol.http.servlet.HttpSessionUploadProgressRegistry
+	 */
+	public void setUploadProgressRegistry(final IUploadProgressRegistry uploadProgressRegistry)
+	{
+		this.uploadProgressRegistry = Args.notNull(uploadProgressRegistry,
+			"uploadProgressRegistry");
+	}
+
 	private static class DefaultAjaxRequestTargetProvider
 		implements
 			IContextProvider<AjaxRequestTarget, Page>
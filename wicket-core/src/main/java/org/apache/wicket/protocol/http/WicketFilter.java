@@ -32,6 +32,8 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.wicket.ThreadContext;
 import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.cycle.RequestPhase;
+import org.apache.wicket.request.cycle.RequestPhaseStatistics;
 import org.apache.wicket.request.http.WebRequest;
 import org.apache.wicket.request.http.WebResponse;
 import org.apache.wicket.util.file.WebXmlFile;
@@ -169,7 +171,15 @@ public class WicketFilter implements Filter
 				}
 				else
 				{
+					final RequestPhaseStatistics phases = application.getRequestPhaseStatistics();
+					final long start = phases != null ? System.nanoTime() : 0;
+
 					webResponse.flush();
+
+					if (phases != null)
+					{
+						phases.recordSince(RequestPhase.FLUSH, null, start);
+					}
 				}
 			}
 			else
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.protocol.http.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * An {@link IUploadProgressRegistry} that stores the {@link UploadInfo}s as attributes of the http
+ * session. Progress is visible on all nodes of a cluster, at the cost of a session replication per
+ * progress update.
+ * 
+ * @see UploadProgressRegistry
+ */
+public class HttpSessionUploadProgressRegistry implements IUploadProgressRegistry
+{
+	private static final String SESSION_KEY = MultipartServletWebRequestImpl.class.getName();
+
+	private static String getSessionKey(String upload)
+	{
+		return SESSION_KEY + ":" + upload;
+	}
+
+	@Override
+	public UploadInfo getUploadInfo(final HttpServletRequest req, final String upload)
+	{
+		Args.notNull(req, "req");
+		return (UploadInfo)req.getSession().getAttribute(getSessionKey(upload));
+	}
+
+	@Override
+	public void setUploadInfo(final HttpServletRequest req, final String upload,
+		final UploadInfo uploadInfo)
+	{
+		Args.notNull(req, "req");
+		Args.notNull(upload, "upload");
+		Args.notNull(uploadInfo, "uploadInfo");
+		req.getSession().setAttribute(getSessionKey(upload), uploadInfo);
+	}
+
+	@Override
+	public void clearUploadInfo(final HttpServletRequest req, final String upload)
+	{
+		Args.notNull(req, "req");
+		Args.notNull(upload, "upload");
+		HttpSession session = req.getSession(false);
+		if (session != null)
+		{
+			session.removeAttribute(getSessionKey(upload));
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.protocol.http.servlet;
+
+import java.io.IOException;
+
+import org.apache.wicket.util.upload.FileItem;
+import org.apache.wicket.util.upload.FileItemStream;
+
+/**
+ * Handles the uploaded files of a multipart request while the request is parsed. Each file is
+ * passed as a {@link FileItemStream} in the order it arrives, so its content can be processed
+ * (e.g. piped to a storage service or digested) without being buffered in memory or in a temporary
+ * file first.
+ * 
+ * @see MultipartServletWebRequestImpl#MultipartServletWebRequestImpl(javax.servlet.http.HttpServletRequest,
+ *      String, org.apache.wicket.util.lang.Bytes, String, IFileItemStreamHandler)
+ * @see org.apache.wicket.markup.html.form.Form#getFileItemStreamHandler()
+ */
+public interface IFileItemStreamHandler
+{
+	/**
+	 * Handles an uploaded file. The content of the item has to be read before this method returns,
+	 * it is not available afterwards.
+	 * 
+	 * @param item
+	 *            the uploaded file
+	 * @return the file item to make available through
+	 *         {@link MultipartServletWebRequest#getFile(String)}, e.g. one describing where the
+	 *         content was stored, or <code>null</code>
+	 * @throws IOException
+	 */
+	FileItem handle(FileItemStream item) throws IOException;
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.protocol.http.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Keeps track of the {@link UploadInfo}s of running uploads, so the progress of an upload can be
+ * queried by other requests, e.g. the ones polling for the state of a progress bar.
+ * <p>
+ * Implementations have to be thread-safe: the uploading request updates the info while other
+ * requests read it.
+ * 
+ * @see org.apache.wicket.protocol.http.WebApplication#setUploadProgressRegistry(IUploadProgressRegistry)
+ */
+public interface IUploadProgressRegistry
+{
+	/**
+	 * Retrieves the {@link UploadInfo} of an upload.
+	 * 
+	 * @param req
+	 *            http servlet request, not null
+	 * @param upload
+	 *            upload identifier
+	 * @return {@link UploadInfo} object, or <code>null</code> if not found
+	 */
+	UploadInfo getUploadInfo(HttpServletRequest req, String upload);
+
+	/**
+	 * Sets the {@link UploadInfo} of an upload. Called when the upload starts and then periodically
+	 * while the upload is in progress.
+	 * 
+	 * @param req
+	 *            http servlet request, not null
+	 * @param upload
+	 *            upload identifier, not null
+	 * @param uploadInfo
+	 *            {@link UploadInfo} object, not null
+	 */
+	void setUploadInfo(HttpServletRequest req, String upload, UploadInfo uploadInfo);
+
+	/**
+	 * Clears the {@link UploadInfo} of an upload if one exists.
+	 * 
+	 * @param req
+	 *            http servlet request, not null
+	 * @param upload
+	 *            upload identifier, not null
+	 */
+	void clearUploadInfo(HttpServletRequest req, String upload);
+}
@@ -28,14 +28,23 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.protocol.http.WebApplication;
 import org.apache.wicket.settings.IApplicationSettings;
+import org.apache.wicket.util.io.Streams;
 import org.apache.wicket.util.lang.Args;
 import org.apache.wicket.util.lang.Bytes;
 import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.time.Duration;
+import org.apache.wicket.util.upload.DiskFileItem;
 import org.apache.wicket.util.upload.DiskFileItemFactory;
 import org.apache.wicket.util.upload.FileItem;
 import org.apache.wicket.util.upload.FileItemFactory;
+import org.apache.wicket.util.upload.FileItemIterator;
+import org.apache.wicket.util.upload.FileItemStream;
+import org.apache.wicket.util.upload.FileUploadBase.FileUploadIOException;
 import org.apache.wicket.util.upload.FileUploadException;
+import org.apache.wicket.util.upload.ParameterParser;
+import org.apache.wicket.util.upload.RequestContext;
 import org.apache.wicket.util.upload.ServletFileUpload;
 import org.apache.wicket.util.upload.ServletRequestContext;
 import org.apache.wicket.util.value.ValueMap;
@@ -52,6 +61,8 @@ import org.apache.wicket.util.value.ValueMap;
  */
 public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 {
+	private static final Duration UPLOAD_UPDATE_INTERVAL = Duration.milliseconds(500);
+
 	/** Map of file items. */
 	private final Map<String, List<FileItem>> files;
 
@@ -68,6 +79,12 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 	/** content length cache, used for upload notifications */
 	private int totalBytes;
 
+	/** info of the running upload, used for upload notifications */
+	private UploadInfo uploadInfo;
+
+	/** time of the last update of the upload info in the registry */
+	private long lastUploadUpdate;
+
 	/**
 	 * Constructor.
 	 * 
@@ -111,6 +128,49 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 	 */
 	public MultipartServletWebRequestImpl(HttpServletRequest request, String filterPrefix,
 		Bytes maxSize, String upload, FileItemFactory factory) throws FileUploadException
+	{
+		this(request, filterPrefix, maxSize, upload, Args.notNull(factory, "factory"), null);
+	}
+
+	/**
+	 * Constructor that streams the uploaded files to a handler instead of storing them as file
+	 * items first. Form fields are read into parameters as usual.
+	 * 
+	 * @param request
+	 *            the servlet request
+	 * @param filterPrefix
+	 *            prefix to wicket filter mapping
+	 * @param maxSize
+	 *            the maximum size allowed for this request
+	 * @param upload
+	 *            upload identifier for {@link UploadInfo}
+	 * @param handler
+	 *            handler for the uploaded files, called in the order the files arrive
+	 * @throws FileUploadException
+	 *             Thrown if something goes wrong with upload
+	 */
+	public MultipartServletWebRequestImpl(HttpServletRequest request, String filterPrefix,
+		Bytes maxSize, String upload, IFileItemStreamHandler handler) throws FileUploadException
+	{
+		this(request, filterPrefix, maxSize, upload, null, Args.notNull(handler, "handler"));
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param request
+	 * @param filterPrefix
+	 * @param maxSize
+	 * @param upload
+	 * @param factory
+	 *            factory of file items, if no handler is given
+	 * @param handler
+	 *            handler for streamed files, if no factory is given
+	 * @throws FileUploadException
+	 */
+	private MultipartServletWebRequestImpl(HttpServletRequest request, String filterPrefix,
+		Bytes maxSize, String upload, FileItemFactory factory, IFileItemStreamHandler handler)
+		throws FileUploadException
 	{
 		super(request, filterPrefix);
 
@@ -152,11 +212,11 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 
 		fileUpload.setSizeMax(maxSize.bytes());
 
-		final List<FileItem> items;
-
-		if (wantUploadProgressUpdates())
+		final boolean wantUploadProgressUpdates = wantUploadProgressUpdates();
+		final RequestContext ctx;
+		if (wantUploadProgressUpdates)
 		{
-			ServletRequestContext ctx = new ServletRequestContext(request)
+			ctx = new ServletRequestContext(request)
 			{
 				@Override
 				public InputStream getInputStream() throws IOException
@@ -167,15 +227,102 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 			totalBytes = request.getContentLength();
 
 			onUploadStarted(totalBytes);
-			items = fileUpload.parseRequest(ctx);
-			onUploadCompleted();
-
 		}
 		else
 		{
-			items = fileUpload.parseRequest(request);
+			ctx = new ServletRequestContext(request);
+		}
+
+		try
+		{
+			if (handler != null)
+			{
+				streamItems(fileUpload, ctx, encoding, handler);
+			}
+			else
+			{
+				addItems(fileUpload.parseRequest(ctx), encoding);
+			}
+		}
+		finally
+		{
+			if (wantUploadProgressUpdates)
+			{
+				onUploadCompleted();
+			}
 		}
+	}
 
+	/**
+	 * Streams the items of the request, form fields are added as parameters, files are passed to
+	 * the handler.
+	 * 
+	 * @param fileUpload
+	 * @param ctx
+	 * @param encoding
+	 * @param handler
+	 * @throws FileUploadException
+	 */
+	private void streamItems(final ServletFileUpload fileUpload, final RequestContext ctx,
+		final String encoding, final IFileItemStreamHandler handler) throws FileUploadException
+	{
+		try
+		{
+			FileItemIterator iterator = fileUpload.getItemIterator(ctx);
+			while (iterator.hasNext())
+			{
+				FileItemStream item = iterator.next();
+				if (item.isFormField())
+				{
+					InputStream stream = item.openStream();
+					String value = Streams.readString(stream, (encoding != null) ? encoding
+						: getCharSet(item));
+					addParameter(item.getFieldName(), value);
+				}
+				else
+				{
+					FileItem fileItem = handler.handle(item);
+					if (fileItem != null)
+					{
+						addFile(fileItem);
+					}
+				}
+			}
+		}
+		catch (FileUploadIOException e)
+		{
+			throw (FileUploadException)e.getCause();
+		}
+		catch (IOException e)
+		{
+			throw new FileUploadException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Gets the charset of a streamed form field the same way {@link FileItem#getString()} does.
+	 * 
+	 * @param item
+	 * @return the charset from the content type of the item, or
+	 *         {@link DiskFileItem#DEFAULT_CHARSET} if it has none
+	 */
+	private static String getCharSet(final FileItemStream item)
+	{
+		ParameterParser parser = new ParameterParser();
+		parser.setLowerCaseNames(true);
+		// Parameter parser can handle null input
+		String charset = parser.parse(item.getContentType(), ';').get("charset");
+		return (charset != null) ? charset : DiskFileItem.DEFAULT_CHARSET;
+	}
+
+	/**
+	 * Adds the parsed items, form fields as parameters and files to the file list.
+	 * 
+	 * @param items
+	 * @param encoding
+	 */
+	private void addItems(final List<FileItem> items, final String encoding)
+	{
 		// Loop through items
 		for (final FileItem item : items)
 		{
@@ -205,18 +352,29 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 			}
 			else
 			{
-				List<FileItem> fileItems = files.get(item.getFieldName());
-				if (fileItems == null)
-				{
-					fileItems = new ArrayList<FileItem>();
-					files.put(item.getFieldName(), fileItems);
-				}
-				// Add to file list
-				fileItems.add(item);
+				addFile(item);
 			}
 		}
 	}
 
+	/**
+	 * Adds a file to the file list of its field
+	 * 
+	 * @param item
+	 *            file item
+	 */
+	private void addFile(final FileItem item)
+	{
+		List<FileItem> fileItems = files.get(item.getFieldName());
+		if (fileItems == null)
+		{
+			fileItems = new ArrayList<FileItem>();
+			files.put(item.getFieldName(), fileItems);
+		}
+		// Add to file list
+		fileItems.add(item);
+	}
+
 	/**
 	 * Adds a parameter to the parameters value map
 	 * 
@@ -306,13 +464,16 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 	 */
 	protected void onUploadStarted(int totalBytes)
 	{
-		UploadInfo info = new UploadInfo(totalBytes);
+		uploadInfo = new UploadInfo(totalBytes);
+		lastUploadUpdate = System.currentTimeMillis();
 
-		setUploadInfo(getContainerRequest(), upload, info);
+		setUploadInfo(getContainerRequest(), upload, uploadInfo);
 	}
 
 	/**
-	 * Upload status update callback
+	 * Upload status update callback, called for each read from the request. The bytes uploaded are
+	 * set on the {@link UploadInfo} right away, it is passed to the {@link IUploadProgressRegistry}
+	 * again only once per {@link #getUploadUpdateInterval()}.
 	 * 
 	 * @param bytesUploaded
 	 * @param total
@@ -320,15 +481,35 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 	protected void onUploadUpdate(int bytesUploaded, int total)
 	{
 		HttpServletRequest request = getContainerRequest();
-		UploadInfo info = getUploadInfo(request, upload);
-		if (info == null)
+		if (uploadInfo == null)
 		{
-			throw new IllegalStateException(
-				"could not find UploadInfo object in session which should have been set when uploaded started");
+			uploadInfo = getUploadInfo(request, upload);
+			if (uploadInfo == null)
+			{
+				throw new IllegalStateException(
+					"could not find UploadInfo object which should have been set when uploaded started");
+			}
 		}
-		info.setBytesUploaded(bytesUploaded);
+		uploadInfo.setBytesUploaded(bytesUploaded);
 
-		setUploadInfo(request, upload, info);
+		long now = System.currentTimeMillis();
+		if (now - lastUploadUpdate >= getUploadUpdateInterval().getMilliseconds() ||
+			(total > 0 && bytesUploaded >= total))
+		{
+			lastUploadUpdate = now;
+			setUploadInfo(request, upload, uploadInfo);
+		}
+	}
+
+	/**
+	 * The minimum time between two updates of the {@link UploadInfo} in the
+	 * {@link IUploadProgressRegistry}.
+	 * 
+	 * @return update interval, 500 milliseconds by default
+	 */
+	protected Duration getUploadUpdateInterval()
+	{
+		return UPLOAD_UPDATE_INTERVAL;
 	}
 
 	/**
@@ -336,6 +517,7 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 	 */
 	protected void onUploadCompleted()
 	{
+		uploadInfo = null;
 		clearUploadInfo(getContainerRequest(), upload);
 	}
 
@@ -412,49 +594,55 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 		return this;
 	}
 
-	private static final String SESSION_KEY = MultipartServletWebRequestImpl.class.getName();
+	@Override
+	public MultipartServletWebRequest newMultipartWebRequest(Bytes maxSize, String upload,
+		IFileItemStreamHandler handler) throws FileUploadException
+	{
+		return this;
+	}
 
-	private static String getSessionKey(String upload)
+	/**
+	 * @return the upload progress registry of the application
+	 */
+	private static IUploadProgressRegistry getUploadProgressRegistry()
 	{
-		return SESSION_KEY + ":" + upload;
+		return WebApplication.get().getUploadProgressRegistry();
 	}
 
 	/**
-	 * Retrieves {@link UploadInfo} from session, null if not found.
+	 * Retrieves {@link UploadInfo} from the application's {@link IUploadProgressRegistry}, null if
+	 * not found.
 	 * 
 	 * @param req
 	 *            http servlet request, not null
 	 * @param upload
 	 *            upload identifier
-	 * @return {@link UploadInfo} object from session, or null if not found
+	 * @return {@link UploadInfo} object, or null if not found
 	 */
 	public static UploadInfo getUploadInfo(final HttpServletRequest req, String upload)
 	{
-		Args.notNull(req, "req");
-		return (UploadInfo)req.getSession().getAttribute(getSessionKey(upload));
+		return getUploadProgressRegistry().getUploadInfo(req, upload);
 	}
 
 	/**
-	 * Sets the {@link UploadInfo} object into session.
+	 * Sets the {@link UploadInfo} object into the application's {@link IUploadProgressRegistry}.
 	 * 
 	 * @param req
 	 *            http servlet request, not null
 	 * @param upload
 	 *            upload identifier
 	 * @param uploadInfo
-	 *            {@link UploadInfo} object to be put into session, not null
+	 *            {@link UploadInfo} object to be registered, not null
 	 */
 	public static void setUploadInfo(final HttpServletRequest req, String upload,
 		final UploadInfo uploadInfo)
 	{
-		Args.notNull(req, "req");
-		Args.notNull(upload, "upload");
-		Args.notNull(uploadInfo, "uploadInfo");
-		req.getSession().setAttribute(getSessionKey(upload), uploadInfo);
+		getUploadProgressRegistry().setUploadInfo(req, upload, uploadInfo);
 	}
 
 	/**
-	 * Clears the {@link UploadInfo} object from session if one exists.
+	 * Clears the {@link UploadInfo} object from the application's {@link IUploadProgressRegistry}
+	 * if one exists.
 	 * 
 	 * @param req
 	 *            http servlet request, not null
@@ -463,8 +651,6 @@ public class MultipartServletWebRequestImpl extends MultipartServletWebRequest
 	 */
 	public static void clearUploadInfo(final HttpServletRequest req, String upload)
 	{
-		Args.notNull(req, "req");
-		Args.notNull(upload, "upload");
-		req.getSession().removeAttribute(getSessionKey(upload));
+		getUploadProgressRegistry().clearUploadInfo(req, upload);
 	}
-}
\ No newline at end of file
+}
@@ -430,6 +430,24 @@ public class ServletWebRequest extends WebRequest
 			upload, factory);
 	}
 
+	/**
+	 * Creates multipart web request from this request that streams the uploaded files to the
+	 * handler.
+	 * 
+	 * @param maxSize
+	 * @param upload
+	 *            upload identifier for {@link UploadInfo}
+	 * @param handler
+	 * @return multipart request
+	 * @throws FileUploadException
+	 */
+	public MultipartServletWebRequest newMultipartWebRequest(Bytes maxSize, String upload,
+		IFileItemStreamHandler handler) throws FileUploadException
+	{
+		return new MultipartServletWebRequestImpl(getContainerRequest(), filterPrefix, maxSize,
+			upload, handler);
+	}
+
 	private static final Logger logger = LoggerFactory.getLogger(ServletWebRequest.class);
 
 	@Override
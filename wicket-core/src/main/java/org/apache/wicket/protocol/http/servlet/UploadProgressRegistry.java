@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.protocol.http.servlet;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * The default {@link IUploadProgressRegistry}, keeps the {@link UploadInfo}s in a concurrent map
+ * of the application, keyed by the id of the http session and the upload identifier.
+ * <p>
+ * Progress updates never touch the http session, so they do not cause session replication. In a
+ * cluster the requests polling for progress have to reach the node receiving the upload, i.e.
+ * sticky sessions are required. Use {@link HttpSessionUploadProgressRegistry} otherwise.
+ * <p>
+ * The uploading request remembers the key its upload was registered with, so the info is removed
+ * when the upload completes even if the http session was invalidated or got a new id meanwhile.
+ * 
+ * @see HttpSessionUploadProgressRegistry
+ */
+public class UploadProgressRegistry implements IUploadProgressRegistry
+{
+	/** prefix of the request attributes holding the keys of the uploads of a request */
+	private static final String KEY_ATTRIBUTE_PREFIX = UploadProgressRegistry.class.getName() +
+		":";
+
+	private final ConcurrentMap<String, UploadInfo> infos = new ConcurrentHashMap<String, UploadInfo>();
+
+	@Override
+	public UploadInfo getUploadInfo(final HttpServletRequest req, final String upload)
+	{
+		Args.notNull(req, "req");
+		String key = getKey(req, upload, false);
+		return key != null ? infos.get(key) : null;
+	}
+
+	@Override
+	public void setUploadInfo(final HttpServletRequest req, final String upload,
+		final UploadInfo uploadInfo)
+	{
+		Args.notNull(req, "req");
+		Args.notNull(upload, "upload");
+		Args.notNull(uploadInfo, "uploadInfo");
+		infos.put(getKey(req, upload, true), uploadInfo);
+	}
+
+	@Override
+	public void clearUploadInfo(final HttpServletRequest req, final String upload)
+	{
+		Args.notNull(req, "req");
+		Args.notNull(upload, "upload");
+		String key = getKey(req, upload, false);
+		if (key != null)
+		{
+			infos.remove(key);
+		}
+		req.removeAttribute(KEY_ATTRIBUTE_PREFIX + upload);
+	}
+
+	/**
+	 * @return number of uploads currently tracked
+	 */
+	public int size()
+	{
+		return infos.size();
+	}
+
+	/**
+	 * Gets the key of an upload. A request that registers an upload keeps the key in a request
+	 * attribute and keeps using it until the upload is cleared.
+	 * 
+	 * @param req
+	 * @param upload
+	 * @param create
+	 *            whether the key is for registering the upload, the http session is created then
+	 *            if it does not exist yet
+	 * @return key of the upload, or <code>null</code> if there is no http session
+	 */
+	private static String getKey(final HttpServletRequest req, final String upload,
+		final boolean create)
+	{
+		String attribute = KEY_ATTRIBUTE_PREFIX + upload;
+		String key = (String)req.getAttribute(attribute);
+		if (key == null)
+		{
+			HttpSession session = req.getSession(create);
+			if (session != null)
+			{
+				key = session.getId() + ":" + upload;
+				if (create)
+				{
+					req.setAttribute(attribute, key);
+				}
+			}
+		}
+		return key;
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.request.cycle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts and times of a request phase, kept in lock-free counters. Besides count, total and
+ * maximum time, a histogram counts the times into the buckets given by {@link #BUCKET_LIMITS}.
+ * 
+ * @see RequestPhaseStatistics
+ */
+public final class PhaseStatistics
+{
+	/**
+	 * Upper limits of the histogram buckets in milliseconds. The last bucket counts all times
+	 * above the last limit.
+	 */
+	public static final long[] BUCKET_LIMITS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000,
+			5000 };
+
+	private static final long[] BUCKET_LIMITS_NANOS = new long[BUCKET_LIMITS.length];
+
+	static
+	{
+		for (int i = 0; i < BUCKET_LIMITS.length; i++)
+		{
+			BUCKET_LIMITS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_LIMITS[i]);
+		}
+	}
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS.length + 1);
+
+	/**
+	 * Records the time of one execution of the phase.
+	 * 
+	 * @param nanos
+	 *            the time in nanoseconds
+	 */
+	public void record(final long nanos)
+	{
+		count.incrementAndGet();
+		totalNanos.addAndGet(nanos);
+
+		long max = maxNanos.get();
+		while (nanos > max && !maxNanos.compareAndSet(max, nanos))
+		{
+			max = maxNanos.get();
+		}
+
+		int bucket = 0;
+		while (bucket < BUCKET_LIMITS_NANOS.length && nanos > BUCKET_LIMITS_NANOS[bucket])
+		{
+			bucket++;
+		}
+		buckets.incrementAndGet(bucket);
+	}
+
+	/**
+	 * @return number of recorded executions
+	 */
+	public long getCount()
+	{
+		return count.get();
+	}
+
+	/**
+	 * @return total time of all executions in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return totalNanos.get();
+	}
+
+	/**
+	 * @return average time of an execution in nanoseconds, 0 if none was recorded
+	 */
+	public long getAverageNanos()
+	{
+		long n = count.get();
+		return n == 0 ? 0 : totalNanos.get() / n;
+	}
+
+	/**
+	 * @return longest time of an execution in nanoseconds
+	 */
+	public long getMaxNanos()
+	{
+		return maxNanos.get();
+	}
+
+	/**
+	 * @return the number of executions per bucket of {@link #BUCKET_LIMITS}, with one more entry
+	 *         for the executions above the last limit
+	 */
+	public long[] getHistogram()
+	{
+		long[] histogram = new long[buckets.length()];
+		for (int i = 0; i < histogram.length; i++)
+		{
+			histogram[i] = buckets.get(i);
+		}
+		return histogram;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return "count=" + getCount() + ", avg=" + TimeUnit.NANOSECONDS.toMicros(getAverageNanos()) +
+			"us, max=" + TimeUnit.NANOSECONDS.toMicros(getMaxNanos()) + "us";
+	}
+}
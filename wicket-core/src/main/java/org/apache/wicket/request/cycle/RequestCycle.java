@@ -37,7 +37,9 @@ import org.apache.wicket.request.Url;
 import org.apache.wicket.request.UrlRenderer;
 import org.apache.wicket.request.component.IRequestablePage;
 import org.apache.wicket.request.handler.BookmarkablePageRequestHandler;
+import org.apache.wicket.request.handler.IPageClassRequestHandler;
 import org.apache.wicket.request.handler.IPageProvider;
+import org.apache.wicket.request.handler.ListenerInterfaceRequestHandler;
 import org.apache.wicket.request.handler.PageProvider;
 import org.apache.wicket.request.handler.RenderPageRequestHandler;
 import org.apache.wicket.request.handler.resource.ResourceReferenceRequestHandler;
@@ -204,7 +206,16 @@ public class RequestCycle implements IRequestCycle, IEventSink
 			set(this);
 			listeners.onBeginRequest(this);
 			onBeginRequest();
+
+			final RequestPhaseStatistics statistics = RequestPhaseStatistics.get();
+			final long start = statistics != null ? System.nanoTime() : 0;
 			IRequestHandler handler = resolveRequestHandler();
+			if (statistics != null)
+			{
+				statistics.recordSince(RequestPhase.MAP_REQUEST,
+					handler != null ? handler.getClass().getName() : null, start);
+			}
+
 			if (handler != null)
 			{
 				execute(handler);
@@ -750,6 +761,9 @@ public class RequestCycle implements IRequestCycle, IEventSink
 		@Override
 		protected void respond(IRequestHandler handler)
 		{
+			final RequestPhaseStatistics statistics = RequestPhaseStatistics.get();
+			final long start = statistics != null ? System.nanoTime() : 0;
+
 			Response originalResponse = getResponse();
 			try
 			{
@@ -759,6 +773,39 @@ public class RequestCycle implements IRequestCycle, IEventSink
 			{
 				setResponse(originalResponse);
 			}
+
+			if (statistics != null)
+			{
+				RequestPhase phase = handler instanceof ListenerInterfaceRequestHandler
+					? RequestPhase.INVOKE_LISTENER : RequestPhase.RENDER;
+				statistics.recordSince(phase, getStatisticsKey(handler), start);
+			}
+		}
+
+		/**
+		 * @param handler
+		 *            a handler that has responded
+		 * @return the page class name for page handlers, the handler class name otherwise
+		 */
+		private String getStatisticsKey(IRequestHandler handler)
+		{
+			if (handler instanceof IPageClassRequestHandler)
+			{
+				try
+				{
+					Class<?> pageClass = ((IPageClassRequestHandler)handler).getPageClass();
+					if (pageClass != null)
+					{
+						return pageClass.getName();
+					}
+				}
+				catch (RuntimeException e)
+				{
+					// the page could not be resolved, e.g. it expired
+					log.debug("No page class for request handler {}", handler);
+				}
+			}
+			return handler.getClass().getName();
 		}
 
 		@Override
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.request.cycle;
+
+/**
+ * The phases of processing a request that are timed by {@link RequestPhaseStatistics}. Phases may
+ * nest, e.g. resolving a page happens while invoking a listener or rendering.
+ * 
+ * @see RequestPhaseStatistics
+ */
+public enum RequestPhase
+{
+	/** mapping the request to a request handler */
+	MAP_REQUEST,
+
+	/** looking up a stored page from the page manager */
+	RESOLVE_PAGE,
+
+	/** invoking a listener interface of a component */
+	INVOKE_LISTENER,
+
+	/** responding with any other request handler, e.g. rendering a page */
+	RENDER,
+
+	/** committing the touched pages to the page manager, which serializes and stores them */
+	STORE_PAGES,
+
+	/** flushing the buffered response to the client */
+	FLUSH
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.request.cycle;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.wicket.Application;
+
+/**
+ * Collects the times of the {@link RequestPhase}s of all requests of an application, overall and
+ * broken down by a key such as the page class or the request handler class. All counters are
+ * lock-free, so recording does not contend between requests.
+ * <p>
+ * Statistics are only collected when an instance is set with
+ * {@link Application#setRequestPhaseStatistics(RequestPhaseStatistics)}, wicket-jmx does so and
+ * publishes them as MBeans.
+ * 
+ * @see RequestPhase
+ * @see PhaseStatistics
+ */
+public class RequestPhaseStatistics
+{
+	/** key the times of further keys are recorded under once {@link #maxKeys} is reached */
+	public static final String OTHER_KEY = "(other)";
+
+	private static final RequestPhase[] PHASES = RequestPhase.values();
+
+	private final int maxKeys;
+
+	private final AtomicReferenceArray<PhaseStatistics> phases = new AtomicReferenceArray<PhaseStatistics>(
+		PHASES.length);
+
+	private final AtomicReferenceArray<ConcurrentMap<String, PhaseStatistics>> breakdowns = new AtomicReferenceArray<ConcurrentMap<String, PhaseStatistics>>(
+		PHASES.length);
+
+	/**
+	 * Construct with a breakdown of at most 500 keys per phase.
+	 */
+	public RequestPhaseStatistics()
+	{
+		this(500);
+	}
+
+	/**
+	 * Construct.
+	 * 
+	 * @param maxKeys
+	 *            maximum number of keys each phase is broken down by, to bound the memory used
+	 */
+	public RequestPhaseStatistics(final int maxKeys)
+	{
+		this.maxKeys = maxKeys;
+		reset();
+	}
+
+	/**
+	 * @return the statistics of the current application, or <code>null</code> if there is no
+	 *         application or it does not collect statistics
+	 */
+	public static RequestPhaseStatistics get()
+	{
+		return Application.exists() ? Application.get().getRequestPhaseStatistics() : null;
+	}
+
+	/**
+	 * Records the time of a phase that started at the given time.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @param key
+	 *            the key to break the phase down by, e.g. the page class name, or
+	 *            <code>null</code>
+	 * @param startNanos
+	 *            the start of the phase as returned by {@link System#nanoTime()}
+	 */
+	public void recordSince(final RequestPhase phase, final String key, final long startNanos)
+	{
+		record(phase, key, System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Records the time of a phase.
+	 * 
+	 * @param phase
+	 *            the phase
+	 * @param key
+	 *            the key to break the phase down by, e.g. the page class name, or
+	 *            <code>null</code>
+	 * @param nanos
+	 *            the time in nanoseconds
+	 */
+	public void record(final RequestPhase phase, final String key, final long nanos)
+	{
+		phases.get(phase.ordinal()).record(nanos);
+
+		if (key != null)
+		{
+			ConcurrentMap<String, PhaseStatistics> breakdown = breakdowns.get(phase.ordinal());
+			PhaseStatistics statistics = breakdown.get(key);
+			if (statistics == null)
+			{
+				String actualKey = breakdown.size() < maxKeys ? key : OTHER_KEY;
+				statistics = new PhaseStatistics();
+				PhaseStatistics existing = breakdown.putIfAbsent(actualKey, statistics);
+				if (existing != null)
+				{
+					statistics = existing;
+				}
+			}
+			statistics.record(nanos);
+		}
+	}
+
+	/**
+	 * @param phase
+	 * @return the statistics of all executions of the phase
+	 */
+	public PhaseStatistics getStatistics(final RequestPhase phase)
+	{
+		return phases.get(phase.ordinal());
+	}
+
+	/**
+	 * @param phase
+	 * @return read-only view of the statistics of the phase by key
+	 */
+	public Map<String, PhaseStatistics> getBreakdown(final RequestPhase phase)
+	{
+		return Collections.unmodifiableMap(breakdowns.get(phase.ordinal()));
+	}
+
+	/**
+	 * Discards all recorded times.
+	 */
+	public void reset()
+	{
+		for (RequestPhase phase : PHASES)
+		{
+			phases.set(phase.ordinal(), new PhaseStatistics());
+			breakdowns.set(phase.ordinal(), new ConcurrentHashMap<String, PhaseStatistics>());
+		}
+	}
+}
@@ -23,6 +23,8 @@ import org.apache.wicket.protocol.http.PageExpiredException;
 import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestMapper;
 import org.apache.wicket.request.component.IRequestablePage;
+import org.apache.wicket.request.cycle.RequestPhase;
+import org.apache.wicket.request.cycle.RequestPhaseStatistics;
 import org.apache.wicket.request.mapper.IPageSource;
 import org.apache.wicket.request.mapper.StalePageException;
 import org.apache.wicket.request.mapper.parameter.PageParameters;
@@ -293,7 +295,16 @@ public class PageProvider implements IPageProvider
 	 */
 	private IRequestablePage getStoredPage(final int pageId)
 	{
+		final RequestPhaseStatistics statistics = RequestPhaseStatistics.get();
+		final long start = statistics != null ? System.nanoTime() : 0;
+
 		IRequestablePage storedPageInstance = getPageSource().getPageInstance(pageId);
+
+		if (statistics != null)
+		{
+			statistics.recordSince(RequestPhase.RESOLVE_PAGE, storedPageInstance != null
+				? storedPageInstance.getClass().getName() : null, start);
+		}
 		if (storedPageInstance != null &&
 			(pageClass == null || pageClass.equals(storedPageInstance.getClass())))
 		{
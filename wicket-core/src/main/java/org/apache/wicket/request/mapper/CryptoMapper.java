@@ -41,7 +41,10 @@ import org.slf4j.LoggerFactory;
  * in the encrypted URL. If the segment does not match the expected checksum, then the segment is
  * deemed a plain text sibling of the corresponding segment in the encrypted URL, and all subsequent
  * segments are considered plain text children of the current segment.
- * 
+ * <p>
+ * The same urls are usually encrypted on every render. To skip the cipher for them use a crypt
+ * factory that decorates its crypt with a {@link org.apache.wicket.util.crypt.CachingCrypt}, see
+ * {@link org.apache.wicket.util.crypt.CachingSunJceCryptFactory#CachingSunJceCryptFactory(String, int)}
  * 
  * @author igor.vaynberg
  * @author Jesse Long
@@ -33,6 +33,7 @@ import org.apache.wicket.request.mapper.parameter.PageParameters;
 import org.apache.wicket.request.mapper.parameter.PageParametersEncoder;
 import org.apache.wicket.util.ClassProvider;
 import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.string.StringValue;
 import org.apache.wicket.util.string.Strings;
 
 /**
@@ -132,9 +133,15 @@ public class MountedMapper extends AbstractBookmarkableMapper
 		}
 	}
 
-	private final List<MountPathSegment> pathSegments;
+	private final MountPathSegment[] pathSegments;
 	private final String[] mountSegments;
 
+	/** the key of the required placeholder of each mount segment, or <code>null</code> */
+	private final String[] placeholders;
+
+	/** the key of the optional placeholder of each mount segment, or <code>null</code> */
+	private final String[] optionalPlaceholders;
+
 	/** bookmarkable page class. */
 	private final ClassProvider<? extends IRequestablePage> pageClassProvider;
 
@@ -192,24 +199,36 @@ public class MountedMapper extends AbstractBookmarkableMapper
 		this.pageParametersEncoder = pageParametersEncoder;
 		this.pageClassProvider = pageClassProvider;
 		mountSegments = getMountSegments(mountPath);
-		pathSegments = getPathSegments(mountSegments);
+
+		// resolve the placeholders once, so requests and urls don't have to parse them
+		placeholders = new String[mountSegments.length];
+		optionalPlaceholders = new String[mountSegments.length];
+		for (int i = 0; i < mountSegments.length; i++)
+		{
+			placeholders[i] = getPlaceholder(mountSegments[i]);
+			if (placeholders[i] == null)
+			{
+				optionalPlaceholders[i] = getOptionalPlaceholder(mountSegments[i]);
+			}
+		}
+		pathSegments = getPathSegments();
 	}
 
-	private List<MountPathSegment> getPathSegments(String[] segments)
+	private MountPathSegment[] getPathSegments()
 	{
 		List<MountPathSegment> ret = new ArrayList<MountPathSegment>();
 		int segmentIndex = 0;
 		MountPathSegment curPathSegment = new MountPathSegment(segmentIndex);
 		ret.add(curPathSegment);
-		for (String curSegment : segments)
+		for (String curSegment : mountSegments)
 		{
-			if (isFixedSegment(curSegment))
+			if (isFixedSegment(segmentIndex))
 			{
 				curPathSegment.setFixedPart(curSegment);
 				curPathSegment = new MountPathSegment(segmentIndex + 1);
 				ret.add(curPathSegment);
 			}
-			else if (getPlaceholder(curSegment) != null)
+			else if (placeholders[segmentIndex] != null)
 			{
 				curPathSegment.addRequiredParameter();
 			}
@@ -219,12 +238,12 @@ public class MountedMapper extends AbstractBookmarkableMapper
 			}
 			segmentIndex++;
 		}
-		return ret;
+		return ret.toArray(new MountPathSegment[ret.size()]);
 	}
 
-	private boolean isFixedSegment(String segment)
+	private boolean isFixedSegment(int segmentIndex)
 	{
-		return getOptionalPlaceholder(segment) == null && getPlaceholder(segment) == null;
+		return optionalPlaceholders[segmentIndex] == null && placeholders[segmentIndex] == null;
 	}
 
 	/**
@@ -269,10 +288,11 @@ public class MountedMapper extends AbstractBookmarkableMapper
 			total += curMatchSize;
 		PageParameters pageParameters = extractPageParameters(request, total, pageParametersEncoder);
 
+		final List<String> urlSegments = url.getSegments();
 		int skippedParameters = 0;
-		for (int pathSegmentIndex = 0; pathSegmentIndex < pathSegments.size(); pathSegmentIndex++)
+		for (int pathSegmentIndex = 0; pathSegmentIndex < pathSegments.length; pathSegmentIndex++)
 		{
-			MountPathSegment curPathSegment = pathSegments.get(pathSegmentIndex);
+			MountPathSegment curPathSegment = pathSegments[pathSegmentIndex];
 			int matchSize = matchedParameters[pathSegmentIndex] - curPathSegment.getFixedPartSize();
 			int optionalParameterMatch = matchSize - curPathSegment.getMinParameters();
 			for (int matchSegment = 0; matchSegment < matchSize; matchSegment++)
@@ -283,19 +303,18 @@ public class MountedMapper extends AbstractBookmarkableMapper
 				}
 
 				int curSegmentIndex = matchSegment + curPathSegment.getSegmentIndex();
-				String curSegment = mountSegments[curSegmentIndex];
-				String placeholder = getPlaceholder(curSegment);
-				String optionalPlaceholder = getOptionalPlaceholder(curSegment);
+				String placeholder = placeholders[curSegmentIndex];
+				String optionalPlaceholder = optionalPlaceholders[curSegmentIndex];
 				// extract the parameter from URL
 				if (placeholder != null)
 				{
 					pageParameters.add(placeholder,
-						url.getSegments().get(curSegmentIndex - skippedParameters));
+						urlSegments.get(curSegmentIndex - skippedParameters));
 				}
 				else if (optionalPlaceholder != null && optionalParameterMatch > 0)
 				{
 					pageParameters.add(optionalPlaceholder,
-						url.getSegments().get(curSegmentIndex - skippedParameters));
+						urlSegments.get(curSegmentIndex - skippedParameters));
 					optionalParameterMatch--;
 				}
 			}
@@ -319,21 +338,21 @@ public class MountedMapper extends AbstractBookmarkableMapper
 
 	private int[] getMatchedSegmentSizes(Url url)
 	{
-		int[] ret = new int[pathSegments.size()];
+		final List<String> urlSegments = url.getSegments();
+		int[] ret = new int[pathSegments.length];
 		int segmentIndex = 0;
 		int pathSegmentIndex = 0;
-		for (MountPathSegment curPathSegment : pathSegments.subList(0, pathSegments.size() - 1))
+		for (; pathSegmentIndex < pathSegments.length - 1; pathSegmentIndex++)
 		{
+			MountPathSegment curPathSegment = pathSegments[pathSegmentIndex];
 			boolean foundFixedPart = false;
 			segmentIndex += curPathSegment.getMinParameters();
-			int max = Math.min(curPathSegment.getOptionalParameters() + 1,
-				url.getSegments().size() - segmentIndex);
+			int max = Math.min(curPathSegment.getOptionalParameters() + 1, urlSegments.size() -
+				segmentIndex);
 
 			for (int count = max - 1; count >= 0; count--)
 			{
-				if (url.getSegments()
-					.get(segmentIndex + count)
-					.equals(curPathSegment.getFixedPart()))
+				if (urlSegments.get(segmentIndex + count).equals(curPathSegment.getFixedPart()))
 				{
 					foundFixedPart = true;
 					segmentIndex += count + 1;
@@ -343,13 +362,12 @@ public class MountedMapper extends AbstractBookmarkableMapper
 			}
 			if (!foundFixedPart)
 				return null;
-			pathSegmentIndex++;
 		}
-		MountPathSegment lastSegment = pathSegments.get(pathSegments.size() - 1);
+		MountPathSegment lastSegment = pathSegments[pathSegments.length - 1];
 		segmentIndex += lastSegment.getMinParameters();
-		if (segmentIndex > url.getSegments().size())
+		if (segmentIndex > urlSegments.size())
 			return null;
-		ret[pathSegmentIndex] = Math.min(lastSegment.getMaxParameters(), url.getSegments().size() -
+		ret[pathSegmentIndex] = Math.min(lastSegment.getMaxParameters(), urlSegments.size() -
 			segmentIndex + lastSegment.getMinParameters());
 		return ret;
 	}
@@ -400,38 +418,35 @@ public class MountedMapper extends AbstractBookmarkableMapper
 	protected Url buildUrl(UrlInfo info)
 	{
 		Url url = new Url();
-		for (String s : mountSegments)
-		{
-			url.getSegments().add(s);
-		}
-		encodePageComponentInfo(url, info.getPageComponentInfo());
+		final List<String> segments = url.getSegments();
 
 		PageParameters copy = new PageParameters(info.getPageParameters());
 
-		int dropped = 0;
 		for (int i = 0; i < mountSegments.length; ++i)
 		{
-			String placeholder = getPlaceholder(mountSegments[i]);
-			String optionalPlaceholder = getOptionalPlaceholder(mountSegments[i]);
+			String placeholder = placeholders[i];
+			String optionalPlaceholder = optionalPlaceholders[i];
 			if (placeholder != null)
 			{
-				url.getSegments().set(i - dropped, copy.get(placeholder).toString(""));
+				segments.add(copy.get(placeholder).toString(""));
 				copy.remove(placeholder);
 			}
 			else if (optionalPlaceholder != null)
 			{
-				if (copy.getNamedKeys().contains(optionalPlaceholder))
+				// optional segments are left out if there is no parameter for them
+				StringValue value = copy.get(optionalPlaceholder);
+				if (value.isNull() == false)
 				{
-					url.getSegments().set(i - dropped, copy.get(optionalPlaceholder).toString(""));
+					segments.add(value.toString());
 					copy.remove(optionalPlaceholder);
 				}
-				else
-				{
-					url.getSegments().remove(i - dropped);
-					dropped++;
-				}
+			}
+			else
+			{
+				segments.add(mountSegments[i]);
 			}
 		}
+		encodePageComponentInfo(url, info.getPageComponentInfo());
 
 		return encodePageParameters(url, copy, pageParametersEncoder);
 	}
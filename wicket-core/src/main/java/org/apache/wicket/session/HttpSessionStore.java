@@ -55,6 +55,9 @@ public class HttpSessionStore implements ISessionStore
 	/** */
 	private final Set<UnboundListener> unboundListeners = new CopyOnWriteArraySet<UnboundListener>();
 
+	/** */
+	private final Set<BindListener> bindListeners = new CopyOnWriteArraySet<BindListener>();
+
 	/**
 	 * Construct.
 	 */
@@ -103,6 +106,10 @@ public class HttpSessionStore implements ISessionStore
 		{
 			// call template method
 			onBind(request, newSession);
+			for (BindListener listener : getBindListeners())
+			{
+				listener.bindingSession(request, newSession);
+			}
 
 			HttpSession httpSession = getHttpSession(request, false);
 
@@ -366,6 +373,34 @@ public class HttpSessionStore implements ISessionStore
 		return Collections.unmodifiableSet(unboundListeners);
 	}
 
+	/**
+	 * Registers listener invoked when session is bound.
+	 * 
+	 * @param listener
+	 */
+	public final void registerBindListener(final BindListener listener)
+	{
+		bindListeners.add(listener);
+	}
+
+	/**
+	 * Unregisters listener invoked when session is bound.
+	 * 
+	 * @param listener
+	 */
+	public final void unregisterBindListener(final BindListener listener)
+	{
+		bindListeners.remove(listener);
+	}
+
+	/**
+	 * @return The list of registered bind listeners
+	 */
+	public final Set<BindListener> getBindListeners()
+	{
+		return Collections.unmodifiableSet(bindListeners);
+	}
+
 	/**
 	 * Reacts on unbinding from the session by cleaning up the session related data.
 	 */
@@ -180,4 +180,22 @@ public interface ISessionStore
 	 * @return The list of registered unbound listeners
 	 */
 	Set<UnboundListener> getUnboundListener();
+
+	/**
+	 * Listener invoked when a session is about to be bound. Stateless requests never get here, so
+	 * a listener is a convenient place to find out what made a request stateful. Session stores
+	 * that support it, like {@link HttpSessionStore}, have methods to register such listeners.
+	 */
+	public interface BindListener
+	{
+		/**
+		 * Informs the listener that the session is about to be bound.
+		 * 
+		 * @param request
+		 *            the request that triggered the binding
+		 * @param newSession
+		 *            the session that is being bound
+		 */
+		void bindingSession(Request request, Session newSession);
+	}
 }
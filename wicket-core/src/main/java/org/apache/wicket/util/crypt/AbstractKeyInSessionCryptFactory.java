@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.crypt;
+
+import java.io.Serializable;
+
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.Session;
+
+/**
+ * Base class for crypt factories that use a http session-specific encryption key. This allows each
+ * user to have their own encryption key, hardening against CSRF attacks.
+ * <p>
+ * The key is stored in the session metadata. The {@link ICrypt} created for it is kept alongside
+ * (but not serialized), so its derived keys and ciphers are reused for all urls of the session.
+ * Optionally the crypt is decorated with a {@link CachingCrypt}, so urls that are generated again
+ * and again within the session skip the cipher.
+ * <p>
+ * Note that the use of this crypt factory will result in an immediate creation of a http session
+ */
+public abstract class AbstractKeyInSessionCryptFactory implements ICryptFactory
+{
+	/** metadata-key used to store crypto-key in session metadata */
+	private static MetaDataKey<SessionCrypt> KEY = new MetaDataKey<SessionCrypt>()
+	{
+		private static final long serialVersionUID = 1L;
+	};
+
+	/** maximum number of remembered texts per session, 0 to disable */
+	private final int maxEntries;
+
+	/**
+	 * Construct.
+	 */
+	public AbstractKeyInSessionCryptFactory()
+	{
+		this(0);
+	}
+
+	/**
+	 * Construct.
+	 * 
+	 * @param maxEntries
+	 *            maximum number of texts remembered per session and direction, <code>0</code> to
+	 *            not remember any
+	 * @see CachingCrypt
+	 */
+	public AbstractKeyInSessionCryptFactory(final int maxEntries)
+	{
+		this.maxEntries = maxEntries;
+	}
+
+	@Override
+	public ICrypt newCrypt()
+	{
+		Session session = Session.get();
+		session.bind();
+
+		// retrieve or generate encryption key from session
+		SessionCrypt sessionCrypt = session.getMetaData(KEY);
+		if (sessionCrypt == null)
+		{
+			// generate new key
+			sessionCrypt = new SessionCrypt(generateKey(session));
+			session.setMetaData(KEY, sessionCrypt);
+		}
+
+		ICrypt crypt = sessionCrypt.crypt;
+		if (crypt == null)
+		{
+			// build the crypt based on session key
+			crypt = createCrypt(sessionCrypt.key);
+			if (maxEntries > 0)
+			{
+				crypt = new CachingCrypt(crypt, maxEntries);
+			}
+			sessionCrypt.crypt = crypt;
+		}
+		return crypt;
+	}
+
+	/**
+	 * Generates the encryption key for a new session.
+	 * 
+	 * @param session
+	 *            the bound session
+	 * @return encryption key
+	 */
+	protected abstract String generateKey(Session session);
+
+	/**
+	 * Creates the crypt for a session key. The crypt is shared by all requests of the session.
+	 * 
+	 * @param key
+	 *            the encryption key of the session
+	 * @return crypt
+	 */
+	protected abstract ICrypt createCrypt(String key);
+
+	/**
+	 * The encryption key of a session and the crypt created for it.
+	 */
+	private static final class SessionCrypt implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final String key;
+
+		private transient volatile ICrypt crypt;
+
+		private SessionCrypt(final String key)
+		{
+			this.key = key;
+		}
+	}
+}
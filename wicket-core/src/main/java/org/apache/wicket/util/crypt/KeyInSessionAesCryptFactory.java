@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.crypt;
+
+import java.security.SecureRandom;
+
+import org.apache.wicket.Session;
+
+/**
+ * Crypt factory that produces {@link AesCrypt} instances based on a random http session-specific
+ * encryption key. Compared to {@link KeyInSessionSunJceCryptFactory} the texts are encrypted with
+ * a 128 bit AES key instead of DES and are authenticated, i.e. modified urls are rejected.
+ * 
+ * Note that the use of this crypt factory will result in an immediate creation of a http session
+ */
+public class KeyInSessionAesCryptFactory extends AbstractKeyInSessionCryptFactory
+{
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	/**
+	 * Construct.
+	 */
+	public KeyInSessionAesCryptFactory()
+	{
+	}
+
+	/**
+	 * Construct.
+	 * 
+	 * @param maxEntries
+	 *            maximum number of texts remembered per session and direction
+	 * @see CachingCrypt
+	 */
+	public KeyInSessionAesCryptFactory(final int maxEntries)
+	{
+		super(maxEntries);
+	}
+
+	@Override
+	protected String generateKey(final Session session)
+	{
+		byte[] key = new byte[16];
+		RANDOM.nextBytes(key);
+		return new String(Base64.encodeBase64(key));
+	}
+
+	@Override
+	protected ICrypt createCrypt(final String key)
+	{
+		ICrypt crypt = new AesCrypt();
+		crypt.setKey(key);
+		return crypt;
+	}
+}
@@ -18,7 +18,6 @@ package org.apache.wicket.util.crypt;
 
 import java.util.UUID;
 
-import org.apache.wicket.MetaDataKey;
 import org.apache.wicket.Session;
 
 /**
@@ -30,31 +29,36 @@ import org.apache.wicket.Session;
  * 
  * @author igor.vaynberg
  */
-public class KeyInSessionSunJceCryptFactory implements ICryptFactory
+public class KeyInSessionSunJceCryptFactory extends AbstractKeyInSessionCryptFactory
 {
-	/** metadata-key used to store crypto-key in session metadata */
-	private static MetaDataKey<String> KEY = new MetaDataKey<String>()
+	/**
+	 * Construct.
+	 */
+	public KeyInSessionSunJceCryptFactory()
 	{
-		private static final long serialVersionUID = 1L;
-	};
+	}
 
+	/**
+	 * Construct.
+	 * 
+	 * @param maxEntries
+	 *            maximum number of texts remembered per session and direction
+	 * @see CachingCrypt
+	 */
+	public KeyInSessionSunJceCryptFactory(final int maxEntries)
+	{
+		super(maxEntries);
+	}
 
 	@Override
-	public ICrypt newCrypt()
+	protected String generateKey(final Session session)
 	{
-		Session session = Session.get();
-		session.bind();
-
-		// retrieve or generate encryption key from session
-		String key = session.getMetaData(KEY);
-		if (key == null)
-		{
-			// generate new key
-			key = session.getId() + "." + UUID.randomUUID().toString();
-			session.setMetaData(KEY, key);
-		}
+		return session.getId() + "." + UUID.randomUUID().toString();
+	}
 
-		// build the crypt based on session key
+	@Override
+	protected ICrypt createCrypt(final String key)
+	{
 		ICrypt crypt = new SunJceCrypt();
 		crypt.setKey(key);
 		return crypt;
@@ -20,6 +20,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -73,6 +74,8 @@ public final class PropertyResolver
 
 	private final static Map<Object, IClassCache> applicationToClassesToGetAndSetters = Generics.newConcurrentHashMap(2);
 
+	private final static Map<Object, ConcurrentHashMap<Class<?>, Map<String, CompiledGetter>>> applicationToCompiledGetters = Generics.newConcurrentHashMap(2);
+
 	private static final String GET = "get";
 	private static final String IS = "is";
 	private static final String SET = "set";
@@ -94,15 +97,72 @@ public final class PropertyResolver
 			return object;
 		}
 
-		ObjectAndGetSetter getter = getObjectAndGetSetter(expression, object, RETURN_NULL);
+		final Class<?> clz = object.getClass();
+		if (expression.indexOf('.') == -1 && expression.indexOf('[') == -1)
+		{
+			// a single property, its getter is cached as is
+			return getGetAndSetter(expression, clz).getValue(object);
+		}
+
+		Map<Class<?>, Map<String, CompiledGetter>> classesToCompiledGetters = getClassesToCompiledGetters();
+		Map<String, CompiledGetter> compiledGetters = classesToCompiledGetters.get(clz);
+		if (compiledGetters != null)
+		{
+			CompiledGetter compiledGetter = compiledGetters.get(expression);
+			if (compiledGetter != null)
+			{
+				Object value = compiledGetter.getValue(object);
+				if (value != CompiledGetter.NOT_APPLICABLE)
+				{
+					return value;
+				}
+			}
+		}
+
+		List<Object> chain = new ArrayList<Object>();
+		ObjectAndGetSetter getter = getObjectAndGetSetter(expression, object, RETURN_NULL, clz,
+			chain);
 		if (getter == null)
 		{
 			return null;
 		}
 
+		compile(expression, clz, chain, classesToCompiledGetters);
 		return getter.getValue();
 	}
 
+	/**
+	 * Caches the getters resolved for an expression, so the next lookup of the expression on the
+	 * same class does not have to parse the expression again. Nothing is cached for a class the
+	 * {@link IClassCache} does not keep the getters of.
+	 * 
+	 * @param expression
+	 * @param clz
+	 * @param chain
+	 *            the getters resolved along the expression, each preceded by the class it was
+	 *            resolved for
+	 * @param classesToCompiledGetters
+	 */
+	private static void compile(final String expression, final Class<?> clz,
+		final List<Object> chain,
+		final Map<Class<?>, Map<String, CompiledGetter>> classesToCompiledGetters)
+	{
+		if (getClassesToGetAndSetters().get(clz) == null)
+		{
+			return;
+		}
+		Map<String, CompiledGetter> compiledGetters = classesToCompiledGetters.get(clz);
+		if (compiledGetters == null)
+		{
+			compiledGetters = new ConcurrentHashMap<String, CompiledGetter>(8);
+			classesToCompiledGetters.put(clz, compiledGetters);
+		}
+		if (compiledGetters.containsKey(expression) == false)
+		{
+			compiledGetters.put(expression, new CompiledGetter(chain));
+		}
+	}
+
 	/**
 	 * Set the value on the object with the given expression. If the expression can't be evaluated
 	 * then a WicketRuntimeException will be thrown. If a null object is encountered then it will
@@ -244,6 +304,21 @@ public final class PropertyResolver
 		return getObjectAndGetSetter(expression, object, tryToCreateNull, object.getClass());
 	}
 
+	/**
+	 * Just delegating the call to the original getObjectAndGetSetter without recording the getters.
+	 * 
+	 * @param expression
+	 * @param object
+	 * @param tryToCreateNull
+	 * @param clz
+	 * @return {@link ObjectAndGetSetter}
+	 */
+	private static ObjectAndGetSetter getObjectAndGetSetter(final String expression,
+		final Object object, final int tryToCreateNull, Class<?> clz)
+	{
+		return getObjectAndGetSetter(expression, object, tryToCreateNull, clz, null);
+	}
+
 	/**
 	 * Receives the class parameter also, since this method can resolve the type for some
 	 * expression, only knowing the target class
@@ -252,10 +327,12 @@ public final class PropertyResolver
 	 * @param object
 	 * @param tryToCreateNull
 	 * @param clz
+	 * @param chain
+	 *            optional list to record each class followed by the getter resolved for it
 	 * @return {@link ObjectAndGetSetter}
 	 */
 	private static ObjectAndGetSetter getObjectAndGetSetter(final String expression,
-		final Object object, final int tryToCreateNull, Class<?> clz)
+		final Object object, final int tryToCreateNull, Class<?> clz, final List<Object> chain)
 	{
 		String expressionBracketsSeperated = Strings.replaceAll(expression, "[", ".[").toString();
 		int index = getNextDotIndex(expressionBracketsSeperated, 0);
@@ -299,6 +376,11 @@ public final class PropertyResolver
 					break;
 				}
 			}
+			if (chain != null)
+			{
+				chain.add(clz);
+				chain.add(getAndSetter);
+			}
 			Object newValue = null;
 			if (value != null)
 			{
@@ -339,6 +421,11 @@ public final class PropertyResolver
 			}
 		}
 		IGetAndSet getAndSetter = getGetAndSetter(exp, clz);
+		if (chain != null)
+		{
+			chain.add(clz);
+			chain.add(getAndSetter);
+		}
 		return new ObjectAndGetSetter(getAndSetter, value);
 	}
 
@@ -1118,6 +1205,58 @@ public final class PropertyResolver
 		}
 	}
 
+	/**
+	 * The getters resolved for a whole expression. Each getter is applied only if the value it is
+	 * applied to is of the class the getter was resolved for, otherwise the expression has to be
+	 * resolved again.
+	 */
+	private static final class CompiledGetter
+	{
+		/** Returned if the getters do not apply to the classes of the values met. */
+		private static final Object NOT_APPLICABLE = new Object();
+
+		private final Class<?>[] classes;
+		private final IGetAndSet[] getters;
+
+		/**
+		 * @param chain
+		 *            each class followed by the getter resolved for it
+		 */
+		CompiledGetter(List<Object> chain)
+		{
+			int size = chain.size() / 2;
+			classes = new Class<?>[size];
+			getters = new IGetAndSet[size];
+			for (int i = 0; i < size; i++)
+			{
+				classes[i] = (Class<?>)chain.get(i * 2);
+				getters[i] = (IGetAndSet)chain.get(i * 2 + 1);
+			}
+		}
+
+		/**
+		 * @return the value, <code>null</code> if a property evaluates to null, or
+		 *         {@link #NOT_APPLICABLE}
+		 */
+		Object getValue(final Object object)
+		{
+			Object value = object;
+			for (int i = 0; i < getters.length; i++)
+			{
+				if (value == null)
+				{
+					return null;
+				}
+				if (value.getClass() != classes[i])
+				{
+					return NOT_APPLICABLE;
+				}
+				value = getters[i].getValue(value);
+			}
+			return value;
+		}
+	}
+
 	private static final class MethodGetAndSet extends AbstractGetAndSet
 	{
 		private final Method getMethod;
@@ -1458,6 +1597,26 @@ public final class PropertyResolver
 		return result;
 	}
 
+	private static Map<Class<?>, Map<String, CompiledGetter>> getClassesToCompiledGetters()
+	{
+		Object key = null;
+		if (Application.exists())
+		{
+			key = Application.get();
+		}
+		else
+		{
+			key = PropertyResolver.class;
+		}
+		ConcurrentHashMap<Class<?>, Map<String, CompiledGetter>> result = applicationToCompiledGetters.get(key);
+		if (result == null)
+		{
+			applicationToCompiledGetters.put(key,
+				result = Generics.<Class<?>, Map<String, CompiledGetter>> newConcurrentHashMap(16));
+		}
+		return result;
+	}
+
 	/**
 	 * Clean up cache for this app.
 	 * 
@@ -1466,6 +1625,7 @@ public final class PropertyResolver
 	public static void destroy(Application application)
 	{
 		applicationToClassesToGetAndSetters.remove(application);
+		applicationToCompiledGetters.remove(application);
 	}
 
 	/**
@@ -1485,10 +1645,12 @@ public final class PropertyResolver
 		if (application != null)
 		{
 			applicationToClassesToGetAndSetters.put(application, classCache);
+			applicationToCompiledGetters.remove(application);
 		}
 		else
 		{
 			applicationToClassesToGetAndSetters.put(PropertyResolver.class, classCache);
+			applicationToCompiledGetters.remove(PropertyResolver.class);
 		}
 	}
 
@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.resource.locator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.apache.wicket.util.file.Files;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Generics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the resources in a set of packages, built once by scanning the directories and jars of
+ * a class loader. A {@link ResourceStreamLocator} consults it to skip the class loader lookups for
+ * style, locale and variation combinations that do not exist, which otherwise make up most of the
+ * lookups when a markup or properties file is located for the first time.
+ * <p>
+ * The class loader should see all resources of the application, e.g. the class loader of the
+ * application class. Its classpath is taken from {@link URLClassLoader#getURLs()} (including its
+ * parents and the <code>Class-Path</code> manifest entries of the jars); if it can not be
+ * determined completely, the index is disabled and claims that all resources may exist. Paths
+ * outside of the indexed packages are never ruled out either. Do not use the index when resources
+ * or classes are reloaded at runtime.
+ * 
+ * <pre>
+ * ResourceStreamLocator locator = new ResourceStreamLocator(getResourceSettings().getResourceFinder(),
+ * 	new ClasspathResourceIndex(getClass().getClassLoader(), &quot;com.mycompany&quot;,
+ * 		&quot;org.apache.wicket&quot;));
+ * getResourceSettings().setResourceStreamLocator(new CachingResourceStreamLocator(locator));
+ * </pre>
+ */
+public class ClasspathResourceIndex
+{
+	/** Log. */
+	private static final Logger log = LoggerFactory.getLogger(ClasspathResourceIndex.class);
+
+	/** prefix of Servlet 3.0 like resources in jars, see ResourceStreamLocator */
+	private static final String META_INF_RESOURCES = "META-INF/resources/";
+
+	/** the indexed packages as path prefixes, e.g. "org/apache/wicket/" */
+	private final String[] prefixes;
+
+	/** names of all resources in the indexed packages */
+	private final Set<String> names = new HashSet<String>();
+
+	/** whether the complete classpath could be scanned */
+	private boolean complete = true;
+
+	/**
+	 * Construct and scan the classpath.
+	 * 
+	 * @param classLoader
+	 *            class loader whose classpath is scanned
+	 * @param packageNames
+	 *            names of the packages to index, including their sub packages
+	 */
+	public ClasspathResourceIndex(final ClassLoader classLoader, final String... packageNames)
+	{
+		Args.notNull(classLoader, "classLoader");
+
+		prefixes = new String[packageNames.length];
+		for (int i = 0; i < packageNames.length; i++)
+		{
+			prefixes[i] = packageNames[i].replace('.', '/') + '/';
+		}
+
+		Set<File> scanned = new HashSet<File>();
+		for (URL url : getClasspath(classLoader))
+		{
+			scan(url, scanned);
+		}
+
+		if (complete)
+		{
+			log.info("Indexed {} resources in {} packages", names.size(), prefixes.length);
+		}
+		else
+		{
+			names.clear();
+			log.warn("Unable to determine the complete classpath of {}, index is disabled",
+				classLoader);
+		}
+	}
+
+	/**
+	 * Tells whether the resource with the given path may exist on the classpath, either as is or in
+	 * the <code>META-INF/resources/</code> folder.
+	 * 
+	 * @param path
+	 *            path of the resource, e.g. "org/apache/wicket/Page_de.properties"
+	 * @return <code>false</code> if the path belongs to an indexed package and no such resource
+	 *         exists, <code>true</code> otherwise
+	 */
+	public boolean mayExist(String path)
+	{
+		if (complete == false)
+		{
+			return true;
+		}
+
+		if (path.startsWith("/"))
+		{
+			path = path.substring(1);
+		}
+
+		for (String prefix : prefixes)
+		{
+			if (path.startsWith(prefix))
+			{
+				return names.contains(path) || names.contains(META_INF_RESOURCES + path);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return number of indexed resources
+	 */
+	public int size()
+	{
+		return names.size();
+	}
+
+	/**
+	 * Collects the classpath of the class loader and its parents.
+	 * 
+	 * @param classLoader
+	 * @return urls of directories and jars
+	 */
+	private List<URL> getClasspath(final ClassLoader classLoader)
+	{
+		final List<URL> urls = Generics.newArrayList();
+		final ClassLoader system = ClassLoader.getSystemClassLoader();
+
+		for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent())
+		{
+			if (loader instanceof URLClassLoader)
+			{
+				for (URL url : ((URLClassLoader)loader).getURLs())
+				{
+					urls.add(url);
+				}
+			}
+			else if (loader == system)
+			{
+				for (String entry : System.getProperty("java.class.path", "").split(
+					File.pathSeparator))
+				{
+					if (entry.length() > 0)
+					{
+						urls.add(toUrl(new File(entry)));
+					}
+				}
+			}
+			else if (isAncestor(loader, system) == false)
+			{
+				// an unknown application class loader
+				complete = false;
+			}
+		}
+		return urls;
+	}
+
+	/**
+	 * @param loader
+	 * @param child
+	 * @return whether the loader is a parent of the child, i.e. a JDK class loader
+	 */
+	private static boolean isAncestor(final ClassLoader loader, final ClassLoader child)
+	{
+		for (ClassLoader cursor = child; cursor != null; cursor = cursor.getParent())
+		{
+			if (cursor.getParent() == loader)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Scans a directory or jar of the classpath.
+	 * 
+	 * @param url
+	 * @param scanned
+	 *            files already scanned
+	 */
+	private void scan(final URL url, final Set<File> scanned)
+	{
+		if ("file".equals(url.getProtocol()) == false)
+		{
+			complete = false;
+			return;
+		}
+
+		final File file = toFile(url);
+		if (file == null)
+		{
+			complete = false;
+		}
+		else if (scanned.add(file) == false || file.exists() == false)
+		{
+			return;
+		}
+		else if (file.isDirectory())
+		{
+			for (String prefix : prefixes)
+			{
+				scanDirectory(new File(file, prefix), prefix);
+				scanDirectory(new File(file, META_INF_RESOURCES + prefix), META_INF_RESOURCES +
+					prefix);
+			}
+		}
+		else
+		{
+			scanJar(file, scanned);
+		}
+	}
+
+	/**
+	 * @param directory
+	 * @param path
+	 *            path of the directory relative to the classpath root, ending with a slash
+	 */
+	private void scanDirectory(final File directory, final String path)
+	{
+		final File[] files = directory.listFiles();
+		if (files != null)
+		{
+			for (File file : files)
+			{
+				if (file.isDirectory())
+				{
+					scanDirectory(file, path + file.getName() + '/');
+				}
+				else
+				{
+					names.add(path + file.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param file
+	 * @param scanned
+	 */
+	private void scanJar(final File file, final Set<File> scanned)
+	{
+		JarFile jar = null;
+		try
+		{
+			jar = new JarFile(file);
+
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements())
+			{
+				JarEntry entry = entries.nextElement();
+				if (entry.isDirectory() == false && isIndexed(entry.getName()))
+				{
+					names.add(entry.getName());
+				}
+			}
+
+			// jars referenced by the manifest are part of the classpath too
+			Manifest manifest = jar.getManifest();
+			String classPath = (manifest != null) ? manifest.getMainAttributes().getValue(
+				Attributes.Name.CLASS_PATH) : null;
+			if (classPath != null)
+			{
+				URL base = toUrl(file);
+				for (String entry : classPath.trim().split("\\s+"))
+				{
+					if (entry.length() > 0)
+					{
+						scan(new URL(base, entry), scanned);
+					}
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to scan " + file, e);
+			complete = false;
+		}
+		finally
+		{
+			if (jar != null)
+			{
+				try
+				{
+					jar.close();
+				}
+				catch (IOException ignore)
+				{
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param name
+	 * @return whether the name belongs to an indexed package
+	 */
+	private boolean isIndexed(String name)
+	{
+		if (name.startsWith(META_INF_RESOURCES))
+		{
+			name = name.substring(META_INF_RESOURCES.length());
+		}
+		for (String prefix : prefixes)
+		{
+			if (name.startsWith(prefix))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static File toFile(final URL url)
+	{
+		try
+		{
+			return new File(url.toURI());
+		}
+		catch (URISyntaxException e)
+		{
+			return Files.getLocalFileFromUrl(url);
+		}
+		catch (IllegalArgumentException e)
+		{
+			return Files.getLocalFileFromUrl(url);
+		}
+	}
+
+	private static URL toUrl(final File file)
+	{
+		try
+		{
+			return file.toURI().toURL();
+		}
+		catch (MalformedURLException e)
+		{
+			throw new IllegalArgumentException(e);
+		}
+	}
+}
@@ -63,11 +63,15 @@ public class ResourceStreamLocator implements IResourceStreamLocator
 	/** If null, the application registered finder will be used */
 	private IResourceFinder finder;
 
+	/** If not null, consulted before the class loaders are searched */
+	private final ClasspathResourceIndex index;
+
 	/**
 	 * Constructor
 	 */
 	public ResourceStreamLocator()
 	{
+		this(null);
 	}
 
 	/**
@@ -77,8 +81,23 @@ public class ResourceStreamLocator implements IResourceStreamLocator
 	 *            resource finder
 	 */
 	public ResourceStreamLocator(final IResourceFinder finder)
+	{
+		this(finder, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param finder
+	 *            resource finder
+	 * @param index
+	 *            index of the classpath resources, used to skip the class loader lookups for
+	 *            resources that do not exist
+	 */
+	public ResourceStreamLocator(final IResourceFinder finder, final ClasspathResourceIndex index)
 	{
 		this.finder = finder;
+		this.index = index;
 	}
 
 	/**
@@ -154,6 +173,11 @@ public class ResourceStreamLocator implements IResourceStreamLocator
 	 */
 	protected IResourceStream locateByClassLoader(final Class<?> clazz, final String path)
 	{
+		if ((index != null) && (index.mayExist(path) == false))
+		{
+			return null;
+		}
+
 		IResourceStream resourceStream = null;
 
 		if (clazz != null)
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.application.IComponentRenderPhaseListener;
+import org.apache.wicket.markup.html.basic.Label;
+import org.junit.Test;
+
+/**
+ * Tests {@link IComponentRenderPhaseListener}
+ */
+public class ComponentRenderPhaseListenerTest extends WicketTestCase
+{
+	/**
+	 * The phases of a label are reported in order and nested in the phases of its page.
+	 */
+	@Test
+	public void phases()
+	{
+		final List<String> events = new ArrayList<String>();
+		tester.getApplication().getComponentRenderPhaseListeners().add(
+			new IComponentRenderPhaseListener()
+			{
+				@Override
+				public void onPhaseStart(Component component, Phase phase)
+				{
+					if (component instanceof Label)
+					{
+						events.add("start " + phase);
+					}
+				}
+
+				@Override
+				public void onPhaseEnd(Component component, Phase phase)
+				{
+					if (component instanceof Label)
+					{
+						events.add("end " + phase);
+					}
+				}
+			});
+
+		tester.startComponentInPage(new Label("label", "text"));
+
+		assertEquals("[start CONFIGURE, end CONFIGURE, start BEFORE_RENDER, end BEFORE_RENDER, " +
+			"start COMPONENT_TAG, end COMPONENT_TAG, start COMPONENT_TAG_BODY, start MODEL, " +
+			"end MODEL, end COMPONENT_TAG_BODY]", events.toString());
+	}
+}
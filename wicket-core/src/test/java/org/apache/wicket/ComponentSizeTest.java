@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.html.WebMarkupContainer;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.markup.repeater.RepeatingView;
+import org.apache.wicket.serialize.java.JavaSerializer;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
+import org.apache.wicket.util.visit.IVisit;
+import org.apache.wicket.util.visit.IVisitor;
+import org.junit.Test;
+
+/**
+ * Regression test for the size of component trees made of repeaters, which dominate the size of
+ * real pages: compares a page whose repeater items share their ids with one whose items each have
+ * their own id strings, as they had before.
+ * <p>
+ * To measure the heap bytes per component run this test with the wicket-objectsizeof-agent (
+ * <code>-javaagent:wicket-objectsizeof-agent.jar</code>) and compare
+ * {@link org.apache.wicket.util.lang.WicketObjects#sizeof(java.io.Serializable)} of the page.
+ */
+public class ComponentSizeTest extends WicketTestCase
+{
+	private static final int ROWS = 50;
+
+	private static final int COLUMNS = 20;
+
+	/**
+	 * Items of different repeaters share their ids, so they are written only once per page.
+	 */
+	@Test
+	public void repeaterItemIdsAreShared()
+	{
+		RepeaterPage page = new RepeaterPage(true);
+		tester.startPage(page);
+
+		RepeatingView rows = (RepeatingView)page.get("rows");
+		RepeatingView first = (RepeatingView)rows.get(0).get("columns");
+		RepeatingView second = (RepeatingView)rows.get(1).get("columns");
+		assertSame(first.get(0).getId(), second.get(0).getId());
+
+		ListView<?> list = (ListView<?>)page.get("list");
+		assertSame(list.get(1).getId(), first.get(0).getId());
+	}
+
+	/**
+	 * Shared ids take at most two thirds of the heap of one string per item. The items of the list
+	 * view have shared ids in both pages.
+	 */
+	@Test
+	public void heapBytesOfIds()
+	{
+		long shared = idBytes(new RepeaterPage(true));
+		long unshared = idBytes(new RepeaterPage(false));
+		assertTrue("ids take " + shared + " bytes, unshared " + unshared,
+			shared * 3 <= unshared * 2);
+	}
+
+	/**
+	 * Shared ids do not make the serialized page notably bigger: a back reference to a string takes
+	 * about as many bytes as a short string.
+	 */
+	@Test
+	public void serializedBytes()
+	{
+		long shared = serializedBytes(new RepeaterPage(true));
+		long unshared = serializedBytes(new RepeaterPage(false));
+		assertTrue("page takes " + shared + " bytes, unshared " + unshared,
+			shared <= unshared + unshared / 100);
+	}
+
+	private long serializedBytes(final Page page)
+	{
+		tester.startPage(page);
+		String applicationKey = tester.getApplication().getApplicationKey();
+		return new JavaSerializer(applicationKey).serialize(page).length;
+	}
+
+	/**
+	 * Estimates the heap bytes of the distinct id strings of the page's components: an object
+	 * header and the fields of the string, plus the header, length and chars of its array.
+	 * 
+	 * @param page
+	 * @return the estimated bytes
+	 */
+	private long idBytes(final Page page)
+	{
+		tester.startPage(page);
+
+		final Map<String, Boolean> ids = new IdentityHashMap<String, Boolean>();
+		page.visitChildren(new IVisitor<Component, Void>()
+		{
+			public void component(Component component, IVisit<Void> visit)
+			{
+				ids.put(component.getId(), Boolean.TRUE);
+			}
+		});
+
+		long bytes = 0;
+		for (String id : ids.keySet())
+		{
+			bytes += 24 + 16 + 2 * id.length();
+		}
+		return bytes;
+	}
+
+	/**
+	 * A page with nested repeating views and a list view
+	 */
+	public static class RepeaterPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Construct.
+		 * 
+		 * @param shareIds
+		 *            whether the items of the repeating views share their ids, if not each gets
+		 *            its own string
+		 */
+		public RepeaterPage(final boolean shareIds)
+		{
+			RepeatingView rows = new RepeatingView("rows");
+			add(rows);
+			for (int row = 0; row < ROWS; row++)
+			{
+				WebMarkupContainer item = new WebMarkupContainer(newChildId(rows, shareIds));
+				rows.add(item);
+
+				RepeatingView columns = new RepeatingView("columns");
+				item.add(columns);
+				for (int column = 0; column < COLUMNS; column++)
+				{
+					columns.add(new Label(newChildId(columns, shareIds), String.valueOf(row *
+						column)));
+				}
+			}
+
+			List<Integer> list = new ArrayList<Integer>();
+			for (int i = 0; i < ROWS * COLUMNS; i++)
+			{
+				list.add(i);
+			}
+			add(new ListView<Integer>("list", list)
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void populateItem(ListItem<Integer> item)
+				{
+					item.add(new Label("value", item.getModel()));
+				}
+			});
+		}
+
+		private static String newChildId(final RepeatingView view, final boolean shared)
+		{
+			String id = view.newChildId();
+			return shared ? id : new String(id);
+		}
+
+		public IResourceStream getMarkupResourceStream(MarkupContainer container,
+			Class<?> containerClass)
+		{
+			return new StringResourceStream("<html><body><div wicket:id='rows'>" +
+				"<span wicket:id='columns'></span></div>" +
+				"<span wicket:id='list'><span wicket:id='value'></span></span></body></html>");
+		}
+	}
+}
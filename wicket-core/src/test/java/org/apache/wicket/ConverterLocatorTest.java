@@ -44,4 +44,21 @@ public final class ConverterLocatorTest extends Assert
 		// default converter
 		assertNotNull(locator.getConverter(String.class).convertToObject("", Locale.US));
 	}
+
+	/**
+	 * Default converters are reused for types without registered converter.
+	 */
+	@Test
+	public void defaultConverterReused()
+	{
+		final IConverterLocator locator = new ConverterLocator();
+		assertSame(locator.getConverter(String.class), locator.getConverter(String.class));
+		assertSame(locator.getConverter(null), locator.getConverter(String.class));
+		assertNotSame(locator.getConverter(String.class), locator.getConverter(StringBuilder.class));
+
+		assertEquals("abc", locator.getConverter(String.class).convertToString("abc", Locale.US));
+		assertEquals("abc",
+			locator.getConverter(StringBuilder.class).convertToString(new StringBuilder("abc"),
+				Locale.US));
+	}
 }
\ No newline at end of file
@@ -271,6 +271,32 @@ public class LocalizerTest extends Assert
 		}
 	}
 
+	/**
+	 * Cache keys are compared by the component path, not by identity.
+	 */
+	@Test
+	public void cacheKey()
+	{
+		MyMockPage page = new MyMockPage();
+
+		Localizer.CacheKey key = localizer.getCacheKey("key", page.drop1, Locale.ENGLISH, null,
+			null);
+		assertEquals(key, localizer.getCacheKey("key", new MyMockPage().drop1, Locale.ENGLISH,
+			null, null));
+		assertEquals(key.hashCode(),
+			localizer.getCacheKey("key", page.drop1, Locale.ENGLISH, null, null).hashCode());
+
+		assertFalse(key.equals(localizer.getCacheKey("key", page.drop2, Locale.ENGLISH, null, null)));
+		assertFalse(key.equals(localizer.getCacheKey("key", page.drop1, Locale.GERMAN, null, null)));
+		assertFalse(key.equals(localizer.getCacheKey("key", page.drop1, Locale.ENGLISH, "style",
+			null)));
+		assertFalse(key.equals(localizer.getCacheKey("other", page.drop1, Locale.ENGLISH, null,
+			null)));
+
+		assertEquals(localizer.getCacheKey("key", null, Locale.ENGLISH, null, null),
+			localizer.getCacheKey("key", null, Locale.ENGLISH, null, null));
+	}
+
 	/**
 	 * Test label.
 	 */
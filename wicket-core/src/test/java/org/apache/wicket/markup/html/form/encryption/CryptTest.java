@@ -17,7 +17,10 @@
 package org.apache.wicket.markup.html.form.encryption;
 
 import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.util.crypt.AesCrypt;
 import org.apache.wicket.util.crypt.ICrypt;
+import org.apache.wicket.util.crypt.ICryptFactory;
+import org.apache.wicket.util.crypt.KeyInSessionAesCryptFactory;
 import org.apache.wicket.util.crypt.NoCrypt;
 import org.apache.wicket.util.crypt.SunJceCrypt;
 import org.junit.Test;
@@ -57,6 +60,68 @@ public class CryptTest extends WicketTestCase
 		}
 	}
 
+	/**
+	 * Pooled ciphers are reused and replaced when the key changes.
+	 */
+	@Test
+	public void sunJceCryptReusesCiphers()
+	{
+		final SunJceCrypt crypt = new SunJceCrypt();
+		final String text = "wicket/bookmarkable/org.apache.wicket.Page?0";
+
+		String encrypted = crypt.encryptUrlSafe(text);
+		assertEquals(encrypted, crypt.encryptUrlSafe(text));
+		assertNull(crypt.decryptUrlSafe("style.css"));
+		assertEquals(text, crypt.decryptUrlSafe(encrypted));
+		assertEquals(text, crypt.decryptUrlSafe(encrypted));
+
+		crypt.setKey("other");
+		assertFalse(encrypted.equals(crypt.encryptUrlSafe(text)));
+		assertEquals(text, crypt.decryptUrlSafe(crypt.encryptUrlSafe(text)));
+	}
+
+	/**
+	 * AES encryption is deterministic and detects modifications.
+	 */
+	@Test
+	public void aesCrypt()
+	{
+		final ICrypt crypt = new AesCrypt();
+		crypt.setKey("key");
+		final String text = "abcdefghijkABC: A test which creates a '/' and/or a '+'";
+
+		String encrypted = crypt.encryptUrlSafe(text);
+		assertEquals(encrypted, crypt.encryptUrlSafe(text));
+		assertEquals(text, crypt.decryptUrlSafe(encrypted));
+		assertEquals("", crypt.decryptUrlSafe(crypt.encryptUrlSafe("")));
+
+		char[] modified = encrypted.toCharArray();
+		modified[0] = modified[0] == 'A' ? 'B' : 'A';
+		assertNull(crypt.decryptUrlSafe(new String(modified)));
+		assertNull(crypt.decryptUrlSafe("style.css"));
+
+		final ICrypt other = new AesCrypt();
+		other.setKey("other");
+		assertNull(other.decryptUrlSafe(encrypted));
+	}
+
+	/**
+	 * The crypt of a session is created once and shared.
+	 */
+	@Test
+	public void keyInSessionAesCryptFactory()
+	{
+		final ICryptFactory factory = new KeyInSessionAesCryptFactory();
+		tester.getSession();
+
+		ICrypt crypt = factory.newCrypt();
+		assertSame(crypt, factory.newCrypt());
+		assertFalse(tester.getSession().isTemporary());
+
+		String encrypted = crypt.encryptUrlSafe("test");
+		assertEquals("test", factory.newCrypt().decryptUrlSafe(encrypted));
+	}
+
 	/**
 	 * 
 	 */
@@ -16,18 +16,35 @@
  */
 package org.apache.wicket.markup.html.form.upload;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.util.Enumeration;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.wicket.MarkupContainer;
 import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.form.Form;
+import org.apache.wicket.markup.html.form.TextField;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.protocol.http.servlet.IFileItemStreamHandler;
+import org.apache.wicket.protocol.http.servlet.UploadInfo;
+import org.apache.wicket.protocol.http.servlet.UploadProgressRegistry;
 import org.apache.wicket.util.file.File;
 import org.apache.wicket.util.file.FileCleaner;
 import org.apache.wicket.util.file.IFileCleaner;
+import org.apache.wicket.util.io.Streams;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
 import org.apache.wicket.util.tester.FormTester;
 import org.apache.wicket.util.upload.DiskFileItemFactory;
 import org.apache.wicket.util.upload.FileItem;
+import org.apache.wicket.util.upload.FileItemStream;
 import org.junit.Test;
 
 
@@ -124,6 +141,150 @@ public class FileUploadTest extends WicketTestCase
 		}
 	}
 
+	/**
+	 * Uploaded files are passed to the handler of the form while the request is parsed, form
+	 * fields are still available as parameters.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void streamToHandler() throws IOException
+	{
+		tester.startPage(StreamingPage.class);
+
+		File tmp = null;
+		try
+		{
+			tmp = FileUploadFieldTest.writeTestFile(100);
+			FormTester formtester = tester.newFormTester("form");
+			formtester.setValue("text", "some text");
+			formtester.setFile("upload", tmp, "text/plain");
+			formtester.submit();
+
+			StreamingPage page = (StreamingPage)tester.getLastRenderedPage();
+			assertTrue(page.submitted);
+			assertEquals("upload", page.fieldName);
+			assertEquals(tmp.length(), page.content.size());
+			assertEquals("some text", page.text.getObject());
+			// the handler returned no file item
+			assertNull(page.upload.getFileUpload());
+		}
+		finally
+		{
+			if (tmp != null && tmp.exists())
+			{
+				tmp.delete();
+			}
+		}
+	}
+
+	/**
+	 * Upload progress is tracked in the application's registry, not in the http session.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void uploadProgressOffSession() throws IOException
+	{
+		final UploadInfo[] registered = new UploadInfo[1];
+		final int[] updates = new int[1];
+		tester.getApplication().setUploadProgressRegistry(new UploadProgressRegistry()
+		{
+			@Override
+			public void setUploadInfo(HttpServletRequest req, String upload, UploadInfo uploadInfo)
+			{
+				super.setUploadInfo(req, upload, uploadInfo);
+				registered[0] = uploadInfo;
+				updates[0]++;
+			}
+		});
+		tester.getApplication().getApplicationSettings().setUploadProgressUpdatesEnabled(true);
+
+		tester.startPage(TestPage.class);
+
+		File tmp = null;
+		try
+		{
+			tmp = FileUploadFieldTest.writeTestFile(1000);
+			FormTester formtester = tester.newFormTester("form");
+			formtester.setFile("upload", tmp, "text/plain");
+			formtester.submit();
+
+			assertNotNull(registered[0]);
+			assertEquals(registered[0].getTotalBytes(), registered[0].getBytesUploaded());
+			// started and completed, no update for every read in between
+			assertEquals(2, updates[0]);
+			assertEquals(0,
+				((UploadProgressRegistry)tester.getApplication().getUploadProgressRegistry()).size());
+
+			Enumeration<?> names = tester.getHttpSession().getAttributeNames();
+			while (names.hasMoreElements())
+			{
+				assertFalse(names.nextElement().toString().contains("MultipartServletWebRequest"));
+			}
+		}
+		finally
+		{
+			if (tmp != null && tmp.exists())
+			{
+				tmp.delete();
+			}
+		}
+	}
+
+	/** */
+	public static class StreamingPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final Model<String> text = new Model<String>();
+		private final FileUploadField upload;
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		private String fieldName;
+		private boolean submitted;
+
+		/** */
+		public StreamingPage()
+		{
+			Form<Void> form = new Form<Void>("form")
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected IFileItemStreamHandler getFileItemStreamHandler()
+				{
+					return new IFileItemStreamHandler()
+					{
+						public FileItem handle(FileItemStream item) throws IOException
+						{
+							fieldName = item.getFieldName();
+							Streams.copy(item.openStream(), content);
+							return null;
+						}
+					};
+				}
+
+				@Override
+				protected void onSubmit()
+				{
+					submitted = true;
+				}
+			};
+			form.setMultiPart(true);
+			add(form);
+			form.add(new TextField<String>("text", text));
+			form.add(upload = new FileUploadField("upload"));
+		}
+
+		public IResourceStream getMarkupResourceStream(MarkupContainer container,
+			Class<?> containerClass)
+		{
+			return new StringResourceStream(
+				"<html><body><form wicket:id='form'><input type='text' wicket:id='text'/>"
+					+ "<input type='file' wicket:id='upload'/></form></body></html>");
+		}
+	}
+
 	/** */
 	public static class TestPage extends MockPageWithFormAndUploadField
 	{
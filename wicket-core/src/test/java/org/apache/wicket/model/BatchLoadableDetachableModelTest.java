@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.repeater.Item;
+import org.apache.wicket.markup.repeater.RefreshingView;
+import org.apache.wicket.markup.repeater.ReuseIfModelsEqualStrategy;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BatchLoadableDetachableModel}
+ */
+public class BatchLoadableDetachableModelTest extends WicketTestCase
+{
+	/**
+	 * Detached models sharing a loader are loaded with a single call, attached ones are skipped.
+	 */
+	@Test
+	public void loadAll()
+	{
+		SquareLoader loader = new SquareLoader();
+		SquareLoader otherLoader = new SquareLoader();
+
+		BatchLoadableDetachableModel<Integer, Integer> one = newModel(1, loader);
+		BatchLoadableDetachableModel<Integer, Integer> two = newModel(2, loader);
+		BatchLoadableDetachableModel<Integer, Integer> three = newModel(3, otherLoader);
+		IModel<Integer> attached = new BatchLoadableDetachableModel<Integer, Integer>(4, 16, loader);
+
+		BatchLoadableDetachableModel.loadAll(Arrays.<IModel<?>> asList(one, two, three, attached,
+			Model.of("ignored")));
+
+		assertEquals(Arrays.asList(Arrays.asList(1, 2)), loader.batches);
+		assertEquals(Arrays.asList(Arrays.asList(3)), otherLoader.batches);
+		assertEquals(Integer.valueOf(4), two.getObject());
+		assertEquals(Integer.valueOf(9), three.getObject());
+		assertEquals(1, loader.batches.size());
+
+		two.detach();
+		assertEquals(Integer.valueOf(4), two.getObject());
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(2)), loader.batches);
+	}
+
+	/**
+	 * Models are equal if their keys are.
+	 */
+	@Test
+	public void equality()
+	{
+		SquareLoader loader = new SquareLoader();
+		assertEquals(newModel(1, loader), newModel(1, loader));
+		assertEquals(newModel(1, loader).hashCode(), newModel(1, loader).hashCode());
+		assertFalse(newModel(1, loader).equals(newModel(2, loader)));
+	}
+
+	/**
+	 * A refreshing view loads the models of all its items in one batch, including the models of
+	 * reused items.
+	 */
+	@Test
+	public void refreshingView()
+	{
+		BatchPage page = new BatchPage();
+		tester.startPage(page);
+		tester.assertContains(">9<");
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), page.loader.batches);
+
+		tester.startPage(page);
+		tester.assertContains(">9<");
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(1, 2, 3)),
+			page.loader.batches);
+	}
+
+	private static BatchLoadableDetachableModel<Integer, Integer> newModel(int key,
+		IBatchLoader<Integer, Integer> loader)
+	{
+		return new BatchLoadableDetachableModel<Integer, Integer>(key, loader);
+	}
+
+	/**
+	 * Loads the square of each key and remembers the batches it was asked for
+	 */
+	private static class SquareLoader implements IBatchLoader<Integer, Integer>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final List<List<Integer>> batches = new ArrayList<List<Integer>>();
+
+		public Map<Integer, Integer> load(Collection<Integer> keys)
+		{
+			batches.add(new ArrayList<Integer>(keys));
+			Map<Integer, Integer> squares = new HashMap<Integer, Integer>();
+			for (Integer key : keys)
+			{
+				squares.put(key, key * key);
+			}
+			return squares;
+		}
+	}
+
+	/**
+	 * A page with a refreshing view over detached batch loadable models
+	 */
+	public static class BatchPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final SquareLoader loader = new SquareLoader();
+
+		/**
+		 * Construct.
+		 */
+		public BatchPage()
+		{
+			RefreshingView<Integer> view = new RefreshingView<Integer>("view")
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected Iterator<IModel<Integer>> getItemModels()
+				{
+					List<IModel<Integer>> models = new ArrayList<IModel<Integer>>();
+					for (int i = 1; i <= 3; i++)
+					{
+						models.add(newModel(i, loader));
+					}
+					return models.iterator();
+				}
+
+				@Override
+				protected void populateItem(Item<Integer> item)
+				{
+					item.add(new Label("square", item.getModelObject().toString()));
+				}
+			};
+			view.setItemReuseStrategy(ReuseIfModelsEqualStrategy.getInstance());
+			add(view);
+		}
+
+		public IResourceStream getMarkupResourceStream(MarkupContainer container,
+			Class<?> containerClass)
+		{
+			return new StringResourceStream(
+				"<html><body><span wicket:id='view'><span wicket:id='square'></span></span></body></html>");
+		}
+	}
+}
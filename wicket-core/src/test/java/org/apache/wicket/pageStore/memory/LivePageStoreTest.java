@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.pageStore.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.wicket.Session;
+import org.apache.wicket.ThreadContext;
+import org.apache.wicket.page.IManageablePage;
+import org.apache.wicket.page.IPageManager;
+import org.apache.wicket.page.PageAccessSynchronizer;
+import org.apache.wicket.page.PageStoreManager;
+import org.apache.wicket.pageStore.IPageStore;
+import org.apache.wicket.serialize.java.JavaSerializer;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.tester.WicketTester;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LivePageStore}
+ */
+public class LivePageStoreTest
+{
+	private static final String SESSION_ID = "session";
+
+	private final RecordingPageStore evictedPages = new RecordingPageStore();
+
+	/**
+	 * Stored pages are returned as they are and don't reach the second tier.
+	 */
+	@Test
+	public void storeWithoutSerialization()
+	{
+		LivePageStore store = new LivePageStore(evictedPages, 10, null);
+		TestPage page = new TestPage(1);
+		store.storePage(SESSION_ID, page);
+
+		assertSame(page, store.getPage(SESSION_ID, 1));
+		assertEquals(0, evictedPages.stored);
+		assertNull(store.getPage("other", 1));
+	}
+
+	/**
+	 * The least recently used page is evicted to the second tier.
+	 */
+	@Test
+	public void evictLeastRecentlyUsed()
+	{
+		LivePageStore store = new LivePageStore(evictedPages, 2, null);
+		TestPage page1 = new TestPage(1);
+		TestPage page2 = new TestPage(2);
+		store.storePage(SESSION_ID, page1);
+		store.storePage(SESSION_ID, page2);
+		store.getPage(SESSION_ID, 1);
+		store.storePage(SESSION_ID, new TestPage(3));
+
+		assertEquals(2, store.getPageCount(SESSION_ID));
+		assertEquals(1, evictedPages.stored);
+		assertSame(page2, evictedPages.pages.get(2));
+		assertSame(page1, store.getPage(SESSION_ID, 1));
+		assertSame(page2, store.getPage(SESSION_ID, 2));
+	}
+
+	/**
+	 * A new version of a page replaces the former one, whose id still finds the page.
+	 */
+	@Test
+	public void newVersion()
+	{
+		LivePageStore store = new LivePageStore(evictedPages, 2, null);
+		TestPage page = new TestPage(1);
+		store.storePage(SESSION_ID, page);
+		page.id = 2;
+		store.storePage(SESSION_ID, page);
+		page.id = 3;
+		store.storePage(SESSION_ID, page);
+
+		assertEquals(1, store.getPageCount(SESSION_ID));
+		assertSame(page, store.getPage(SESSION_ID, 1));
+		assertSame(page, store.getPage(SESSION_ID, 2));
+		assertSame(page, store.getPage(SESSION_ID, 3));
+
+		store.removePage(SESSION_ID, 3);
+		assertNull(store.getPage(SESSION_ID, 1));
+		assertEquals(0, evictedPages.stored);
+	}
+
+	/**
+	 * Pages are evicted when the session's pages are too big, but never the one just stored.
+	 */
+	@Test
+	public void evictBySize()
+	{
+		LivePageStore store = new LivePageStore(evictedPages, 10, Bytes.bytes(15000));
+		store.storePage(SESSION_ID, new TestPage(1));
+		store.storePage(SESSION_ID, new TestPage(2));
+
+		assertEquals(1, store.getPageCount(SESSION_ID));
+		assertEquals(1, evictedPages.stored);
+		assertTrue(evictedPages.pages.containsKey(1));
+	}
+
+	/**
+	 * Unbinding forgets the session everywhere.
+	 */
+	@Test
+	public void unbind()
+	{
+		LivePageStore store = new LivePageStore(evictedPages, 10, null);
+		store.storePage(SESSION_ID, new TestPage(1));
+		store.unbind(SESSION_ID);
+
+		assertEquals(0, store.getPageCount(SESSION_ID));
+		assertNull(store.getPage(SESSION_ID, 1));
+		assertEquals(1, evictedPages.unbound);
+	}
+
+	/**
+	 * A page used by another request is not evicted until that request is done.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void evictPagesNotInUse() throws InterruptedException
+	{
+		WicketTester tester = new WicketTester();
+		try
+		{
+			Session session = tester.getSession();
+			session.bind();
+			String sessionId = session.getId();
+			final PageAccessSynchronizer synchronizer = session.getPageAccessSynchronizer();
+
+			LivePageStore store = new LivePageStore(evictedPages, 2, null);
+			TestPage page1 = new TestPage(1);
+			store.storePage(sessionId, page1);
+			store.storePage(sessionId, new TestPage(2));
+
+			final CountDownLatch locked = new CountDownLatch(1);
+			final CountDownLatch done = new CountDownLatch(1);
+			Thread request = new Thread()
+			{
+				@Override
+				public void run()
+				{
+					synchronizer.lockPage(1);
+					locked.countDown();
+					try
+					{
+						done.await();
+					}
+					catch (InterruptedException e)
+					{
+						// unlock anyway
+					}
+					synchronizer.unlockPage(1);
+				}
+			};
+			request.start();
+			locked.await();
+
+			store.storePage(sessionId, new TestPage(3));
+			assertEquals(2, store.getPageCount(sessionId));
+			assertFalse(evictedPages.pages.containsKey(1));
+			assertTrue(evictedPages.pages.containsKey(2));
+
+			done.countDown();
+			request.join();
+
+			store.storePage(sessionId, new TestPage(4));
+			assertEquals(2, store.getPageCount(sessionId));
+			assertSame(page1, evictedPages.pages.get(1));
+		}
+		finally
+		{
+			tester.destroy();
+		}
+	}
+
+	/**
+	 * The live pages reach the second tier when the session is passivated, so the restored session
+	 * finds them.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void passivation() throws Exception
+	{
+		ThreadContext.detach();
+
+		String applicationName = "live_page_store_test";
+		IPageManager pageManager = new PageStoreManager(applicationName, new LivePageStore(
+			evictedPages, 10, null), new DummyPageManagerContext());
+		TestPage page1 = new TestPage(1);
+		pageManager.touchPage(page1);
+		pageManager.commitRequest();
+		pageManager.getContext().setRequestData(null);
+		pageManager.touchPage(new TestPage(2));
+		pageManager.commitRequest();
+		assertEquals(0, evictedPages.stored);
+
+		// the container passivates the session, the live pages are gone afterwards
+		Serializable sessionEntry = pageManager.getContext().getSessionAttribute(null);
+		byte[] data = new JavaSerializer(applicationName).serialize(sessionEntry);
+		assertSame(page1, evictedPages.pages.get(1));
+		pageManager.destroy();
+
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+		assertEquals(applicationName, in.readObject());
+		Serializable restoredEntry = (Serializable)in.readObject();
+
+		IPageManager restoredManager = new PageStoreManager(applicationName, new LivePageStore(
+			evictedPages, 10, null), new DummyPageManagerContext());
+		try
+		{
+			restoredManager.getContext().setSessionAttribute(null, restoredEntry);
+			assertSame(page1, restoredManager.getPage(1));
+			assertNotNull(restoredManager.getPage(2));
+		}
+		finally
+		{
+			restoredManager.destroy();
+		}
+	}
+
+	private static class TestPage implements IManageablePage
+	{
+		private static final long serialVersionUID = 1L;
+
+		private int id;
+
+		@SuppressWarnings("unused")
+		private final byte[] data = new byte[10000];
+
+		private TestPage(int id)
+		{
+			this.id = id;
+		}
+
+		@Override
+		public boolean isPageStateless()
+		{
+			return false;
+		}
+
+		@Override
+		public int getPageId()
+		{
+			return id;
+		}
+
+		@Override
+		public void detach()
+		{
+		}
+
+		@Override
+		public boolean setFreezePageId(boolean freeze)
+		{
+			return false;
+		}
+	}
+
+	private static class RecordingPageStore implements IPageStore
+	{
+		private final Map<Integer, IManageablePage> pages = new HashMap<Integer, IManageablePage>();
+
+		private int stored;
+
+		private int unbound;
+
+		@Override
+		public void destroy()
+		{
+		}
+
+		@Override
+		public IManageablePage getPage(String sessionId, int pageId)
+		{
+			return pages.get(pageId);
+		}
+
+		@Override
+		public void removePage(String sessionId, int pageId)
+		{
+			pages.remove(pageId);
+		}
+
+		@Override
+		public void storePage(String sessionId, IManageablePage page)
+		{
+			stored++;
+			pages.put(page.getPageId(), page);
+		}
+
+		@Override
+		public void unbind(String sessionId)
+		{
+			unbound++;
+			pages.clear();
+		}
+
+		@Override
+		public Serializable prepareForSerialization(String sessionId, Object page)
+		{
+			return (Serializable)page;
+		}
+
+		@Override
+		public Object restoreAfterSerialization(Serializable serializable)
+		{
+			return serializable;
+		}
+
+		@Override
+		public IManageablePage convertToPage(Object page)
+		{
+			return (IManageablePage)page;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.protocol.http;
+
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.ThreadContext;
+import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.protocol.http.IRequestLogger.RequestData;
+import org.apache.wicket.protocol.http.IRequestLogger.SessionData;
+import org.junit.Test;
+
+/**
+ * Tests for {@link AbstractRequestLogger}
+ */
+public class AbstractRequestLoggerTest extends WicketTestCase
+{
+	/**
+	 * The window keeps the most recent requests, the oldest first.
+	 */
+	@Test
+	public void requestWindow()
+	{
+		tester.getApplication().getRequestLoggerSettings().setRequestsWindowSize(3);
+		AbstractRequestLogger logger = new TestRequestLogger();
+		assertTrue(logger.getRequests().isEmpty());
+		assertEquals(0, logger.getAverageRequestTime());
+		assertEquals(0, logger.getRequestsPerMinute());
+
+		for (int i = 1; i <= 5; i++)
+		{
+			logger.addRequest(request(i));
+		}
+		assertTimes(logger.getRequests(), 3, 4, 5);
+		assertEquals(4, logger.getAverageRequestTime());
+
+		tester.getApplication().getRequestLoggerSettings().setRequestsWindowSize(5);
+		logger.addRequest(request(6));
+		assertTimes(logger.getRequests(), 3, 4, 5, 6);
+
+		tester.getApplication().getRequestLoggerSettings().setRequestsWindowSize(2);
+		logger.addRequest(request(7));
+		assertTimes(logger.getRequests(), 6, 7);
+		assertEquals(6, logger.getAverageRequestTime());
+
+		tester.getApplication().getRequestLoggerSettings().setRequestsWindowSize(0);
+		logger.addRequest(request(8));
+		assertTrue(logger.getRequests().isEmpty());
+	}
+
+	/**
+	 * Requests ending concurrently are all accounted for.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void concurrentRequests() throws Exception
+	{
+		final int threads = 4;
+		final int requests = 1000;
+		tester.getApplication().getRequestLoggerSettings().setRequestsWindowSize(threads * requests);
+		final AbstractRequestLogger logger = new TestRequestLogger();
+		final Application application = tester.getApplication();
+
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++)
+		{
+			workers[i] = new Thread()
+			{
+				@Override
+				public void run()
+				{
+					ThreadContext.setApplication(application);
+					try
+					{
+						for (int j = 0; j < requests; j++)
+						{
+							logger.addRequest(request(2));
+						}
+					}
+					finally
+					{
+						ThreadContext.detach();
+					}
+				}
+			};
+			workers[i].start();
+		}
+		for (Thread worker : workers)
+		{
+			worker.join();
+		}
+
+		assertEquals(threads * requests, logger.getRequests().size());
+		assertEquals(2, logger.getAverageRequestTime());
+	}
+
+	private static RequestData request(long timeTaken)
+	{
+		RequestData rd = new RequestData();
+		rd.setTimeTaken(timeTaken);
+		return rd;
+	}
+
+	private static void assertTimes(List<RequestData> requests, long... times)
+	{
+		assertEquals(times.length, requests.size());
+		for (int i = 0; i < times.length; i++)
+		{
+			assertEquals(Long.valueOf(times[i]), requests.get(i).getTimeTaken());
+		}
+	}
+
+	private static class TestRequestLogger extends AbstractRequestLogger
+	{
+		@Override
+		protected void log(RequestData rd, SessionData sd)
+		{
+		}
+	}
+}
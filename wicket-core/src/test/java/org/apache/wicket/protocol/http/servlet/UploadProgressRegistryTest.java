@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.protocol.http.servlet;
+
+import javax.servlet.http.HttpSession;
+
+import org.apache.wicket.protocol.http.mock.MockHttpServletRequest;
+import org.apache.wicket.protocol.http.mock.MockHttpSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link UploadProgressRegistry}
+ */
+public class UploadProgressRegistryTest extends Assert
+{
+	private final UploadProgressRegistry registry = new UploadProgressRegistry();
+
+	private final SessionRequest request = new SessionRequest(new MockHttpSession(null));
+
+	/**
+	 * Other requests of the session see the info of the upload until it is cleared.
+	 */
+	@Test
+	public void progress()
+	{
+		UploadInfo info = new UploadInfo(100);
+		registry.setUploadInfo(request, "upload", info);
+
+		SessionRequest poll = new SessionRequest(request.session);
+		assertSame(info, registry.getUploadInfo(poll, "upload"));
+		assertNull(registry.getUploadInfo(new SessionRequest(new MockHttpSession(null)), "upload"));
+
+		registry.clearUploadInfo(request, "upload");
+		assertNull(registry.getUploadInfo(poll, "upload"));
+		assertEquals(0, registry.size());
+	}
+
+	/**
+	 * The info is removed even if the session was invalidated during the upload.
+	 */
+	@Test
+	public void sessionInvalidated()
+	{
+		registry.setUploadInfo(request, "upload", new UploadInfo(100));
+		assertEquals(1, registry.size());
+
+		request.session = null;
+		registry.clearUploadInfo(request, "upload");
+		assertEquals(0, registry.size());
+	}
+
+	/**
+	 * The info is updated and removed under the key it was registered with even if the session
+	 * got a new id during the upload.
+	 */
+	@Test
+	public void sessionIdChanged()
+	{
+		registry.setUploadInfo(request, "upload", new UploadInfo(100));
+
+		request.session = new MockHttpSession(null);
+		registry.setUploadInfo(request, "upload", new UploadInfo(100));
+		assertEquals(1, registry.size());
+
+		registry.clearUploadInfo(request, "upload");
+		assertEquals(0, registry.size());
+	}
+
+	/**
+	 * A request whose http session can be replaced
+	 */
+	private static class SessionRequest extends MockHttpServletRequest
+	{
+		private HttpSession session;
+
+		private SessionRequest(final HttpSession session)
+		{
+			super(null, null, null);
+			this.session = session;
+		}
+
+		@Override
+		public HttpSession getSession(final boolean create)
+		{
+			return session;
+		}
+	}
+}
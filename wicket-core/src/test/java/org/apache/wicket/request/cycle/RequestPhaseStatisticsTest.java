@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.request.cycle;
+
+import java.util.Map;
+
+import org.apache.wicket.MockPageWithLink;
+import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.markup.html.link.Link;
+import org.junit.Test;
+
+/**
+ * Tests for {@link RequestPhaseStatistics}
+ */
+public class RequestPhaseStatisticsTest extends WicketTestCase
+{
+	/**
+	 * Phases of rendering a page and clicking a link on it are recorded by page class.
+	 */
+	@Test
+	public void renderAndClick()
+	{
+		RequestPhaseStatistics statistics = new RequestPhaseStatistics();
+		tester.getApplication().setRequestPhaseStatistics(statistics);
+
+		MockPageWithLink page = new MockPageWithLink();
+		page.add(new Link<Void>(MockPageWithLink.LINK_ID)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onClick()
+			{
+			}
+		});
+		tester.startPage(page);
+		tester.clickLink(MockPageWithLink.LINK_ID);
+
+		String pageClass = MockPageWithLink.class.getName();
+		assertTrue(statistics.getStatistics(RequestPhase.RENDER).getCount() >= 2);
+		assertTrue(statistics.getBreakdown(RequestPhase.RENDER).containsKey(pageClass));
+		assertEquals(1, statistics.getStatistics(RequestPhase.INVOKE_LISTENER).getCount());
+		assertTrue(statistics.getBreakdown(RequestPhase.INVOKE_LISTENER).containsKey(pageClass));
+		assertTrue(statistics.getStatistics(RequestPhase.MAP_REQUEST).getCount() >= 1);
+		assertTrue(statistics.getBreakdown(RequestPhase.RESOLVE_PAGE).containsKey(pageClass));
+		assertTrue(statistics.getStatistics(RequestPhase.STORE_PAGES).getCount() >= 2);
+
+		tester.getApplication().setRequestPhaseStatistics(null);
+		tester.clickLink(MockPageWithLink.LINK_ID);
+		assertEquals(1, statistics.getStatistics(RequestPhase.INVOKE_LISTENER).getCount());
+	}
+
+	/**
+	 * Times are counted into the histogram buckets, and keys beyond the maximum are merged.
+	 */
+	@Test
+	public void histogramAndMaxKeys()
+	{
+		RequestPhaseStatistics statistics = new RequestPhaseStatistics(2);
+		statistics.record(RequestPhase.RENDER, "a", 500000L);
+		statistics.record(RequestPhase.RENDER, "b", 3000000L);
+		statistics.record(RequestPhase.RENDER, "c", 10000000000L);
+		statistics.record(RequestPhase.RENDER, "d", 1000000L);
+
+		PhaseStatistics render = statistics.getStatistics(RequestPhase.RENDER);
+		assertEquals(4, render.getCount());
+		assertEquals(10000000000L, render.getMaxNanos());
+		long[] histogram = render.getHistogram();
+		assertEquals(PhaseStatistics.BUCKET_LIMITS.length + 1, histogram.length);
+		assertEquals(2, histogram[0]);
+		assertEquals(1, histogram[2]);
+		assertEquals(1, histogram[histogram.length - 1]);
+
+		Map<String, PhaseStatistics> breakdown = statistics.getBreakdown(RequestPhase.RENDER);
+		assertEquals(3, breakdown.size());
+		assertEquals(2, breakdown.get(RequestPhaseStatistics.OTHER_KEY).getCount());
+
+		statistics.reset();
+		assertEquals(0, statistics.getStatistics(RequestPhase.RENDER).getCount());
+		assertTrue(statistics.getBreakdown(RequestPhase.RENDER).isEmpty());
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.stateless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.Session;
+import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.link.Link;
+import org.apache.wicket.markup.html.link.StatelessLink;
+import org.apache.wicket.mock.MockSessionStore;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.session.ISessionStore;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
+import org.junit.Test;
+
+/**
+ * Tests that stateless requests never bind the session.
+ */
+public class SessionBindingTest extends WicketTestCase
+{
+	private final List<Session> bound = new ArrayList<Session>();
+
+	private final ISessionStore.BindListener listener = new ISessionStore.BindListener()
+	{
+		@Override
+		public void bindingSession(Request request, Session newSession)
+		{
+			bound.add(newSession);
+		}
+	};
+
+	/**
+	 * A stateless page with feedback messages leaves the session store alone.
+	 */
+	@Test
+	public void statelessPageDoesNotBind()
+	{
+		getSessionStore().registerBindListener(listener);
+
+		tester.startPage(BindingPage.class);
+		tester.assertInfoMessages("info");
+		assertTrue(tester.getLastRenderedPage().isPageStateless());
+		assertTrue(bound.isEmpty());
+	}
+
+	/**
+	 * A stateful page binds the session and the listener is notified.
+	 */
+	@Test
+	public void statefulPageBinds()
+	{
+		getSessionStore().registerBindListener(listener);
+
+		BindingPage page = new BindingPage();
+		page.replace(new Link<Void>("link")
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onClick()
+			{
+			}
+		});
+		tester.startPage(page);
+		assertFalse(tester.getLastRenderedPage().isPageStateless());
+		assertEquals(1, bound.size());
+		assertFalse(tester.getSession().isTemporary());
+
+		getSessionStore().unregisterBindListener(listener);
+		assertTrue(getSessionStore().getBindListeners().isEmpty());
+	}
+
+	private MockSessionStore getSessionStore()
+	{
+		return (MockSessionStore)tester.getApplication().getSessionStore();
+	}
+
+	/** */
+	public static class BindingPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Construct.
+		 */
+		public BindingPage()
+		{
+			info("info");
+			add(new StatelessLink<Void>("link")
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void onClick()
+				{
+				}
+			});
+		}
+
+		@Override
+		public IResourceStream getMarkupResourceStream(MarkupContainer container,
+			Class<?> containerClass)
+		{
+			return new StringResourceStream("<html><body><a wicket:id=\"link\">link</a></body></html>");
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.stateless;
+
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.WicketTestCase;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.ajax.markup.html.AjaxLink;
+import org.apache.wicket.ajax.markup.html.StatelessAjaxLink;
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StatelessAjaxLink}.
+ */
+public class StatelessAjaxLinkTest extends WicketTestCase
+{
+	/**
+	 * A page with a stateless ajax link stays stateless and the callback is executed on a new page
+	 * instance.
+	 */
+	@Test
+	public void statelessAjaxLink()
+	{
+		tester.startPage(StatelessAjaxPage.class);
+		assertTrue(tester.getLastRenderedPage().isPageStateless());
+		tester.assertContains("wicket/bookmarkable/org.apache.wicket.stateless.StatelessAjaxLinkTest");
+		assertTrue(tester.getSession().isTemporary());
+
+		tester.clickLink("link");
+		tester.assertComponentOnAjaxResponse("label");
+		tester.assertContains("clicked");
+		assertTrue(tester.getSession().isTemporary());
+	}
+
+	/**
+	 * A plain ajax link still makes its page stateful.
+	 */
+	@Test
+	public void ajaxLinkIsStateful()
+	{
+		StatelessAjaxPage page = new StatelessAjaxPage();
+		page.replace(new AjaxLink<Void>("link")
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onClick(AjaxRequestTarget target)
+			{
+			}
+		});
+		tester.startPage(page);
+		assertFalse(tester.getLastRenderedPage().isPageStateless());
+	}
+
+	/** */
+	public static class StatelessAjaxPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Construct.
+		 */
+		public StatelessAjaxPage()
+		{
+			final Label label = new Label("label", Model.of("initial"));
+			label.setMarkupId("label");
+			add(label);
+
+			add(new StatelessAjaxLink<Void>("link")
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void onClick(AjaxRequestTarget target)
+				{
+					label.setDefaultModelObject("clicked");
+					target.add(label);
+				}
+			});
+		}
+
+		public IResourceStream getMarkupResourceStream(MarkupContainer container,
+			Class<?> containerClass)
+		{
+			return new StringResourceStream(
+				"<html><body><span wicket:id=\"label\"></span><a wicket:id=\"link\">link</a></body></html>");
+		}
+	}
+}
@@ -112,6 +112,36 @@ public class PropertyResolverTest extends WicketTestCase
 
 	}
 
+	/**
+	 * The getters of a path expression are reused for later lookups, as long as the values met
+	 * along the path are of the same classes.
+	 */
+	@Test
+	public void compiledPathExpression()
+	{
+		person.setName("wicket");
+		assertEquals(6, PropertyResolver.getValue("name.length()", person));
+		assertEquals(6, PropertyResolver.getValue("name.length()", person));
+
+		// another class along the path
+		person.setName(new StringBuilder("wicket!"));
+		assertEquals(7, PropertyResolver.getValue("name.length()", person));
+
+		Address address = new Address();
+		address.setStreet("wicket-street");
+		person.setAddressMap(new HashMap<String, Address>());
+		person.getAddressMap().put("home", address);
+		assertEquals("wicket-street", PropertyResolver.getValue("addressMap.home.street", person));
+		assertEquals("wicket-street", PropertyResolver.getValue("addressMap[home].street", person));
+		assertEquals("wicket-street", PropertyResolver.getValue("addressMap.home.street", person));
+
+		// null along the path
+		person.getAddressMap().clear();
+		assertNull(PropertyResolver.getValue("addressMap.home.street", person));
+		person.setAddressMap(null);
+		assertNull(PropertyResolver.getValue("addressMap.home.street", person));
+	}
+
 	/**
 	 * @throws Exception
 	 */
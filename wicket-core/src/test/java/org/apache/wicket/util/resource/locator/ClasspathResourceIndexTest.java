@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.resource.locator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.wicket.util.file.Files;
+import org.apache.wicket.util.file.Path;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ClasspathResourceIndex}.
+ */
+public class ClasspathResourceIndexTest extends Assert
+{
+	/**
+	 * Resources in directories and jars are indexed, other packages are not ruled out.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void directoryAndJar() throws IOException
+	{
+		File root = File.createTempFile("wicket-index", "");
+		root.delete();
+		File directory = new File(root, "classes/pkg/sub");
+		directory.mkdirs();
+		new File(directory, "a.txt").createNewFile();
+
+		File jar = new File(root, "lib.jar");
+		JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+		out.putNextEntry(new JarEntry("pkg/b.txt"));
+		out.closeEntry();
+		out.putNextEntry(new JarEntry("META-INF/resources/pkg/c.css"));
+		out.closeEntry();
+		out.putNextEntry(new JarEntry("other/d.txt"));
+		out.closeEntry();
+		out.close();
+
+		try
+		{
+			URLClassLoader classLoader = new URLClassLoader(new URL[] {
+					new File(root, "classes").toURI().toURL(), jar.toURI().toURL() }, null);
+			ClasspathResourceIndex index = new ClasspathResourceIndex(classLoader, "pkg");
+
+			assertEquals(3, index.size());
+			assertTrue(index.mayExist("pkg/sub/a.txt"));
+			assertTrue(index.mayExist("/pkg/b.txt"));
+			assertTrue(index.mayExist("pkg/c.css"));
+			assertFalse(index.mayExist("pkg/sub/a_de.txt"));
+			assertFalse(index.mayExist("pkg/b_style.txt"));
+			assertTrue(index.mayExist("other/unknown.txt"));
+		}
+		finally
+		{
+			Files.removeFolder(root);
+		}
+	}
+
+	/**
+	 * The locator skips variants that are not in the index.
+	 */
+	@Test
+	public void locate()
+	{
+		ClasspathResourceIndex index = new ClasspathResourceIndex(getClass().getClassLoader(),
+			"org.apache.wicket.util.resource");
+		String path = "org/apache/wicket/util/resource/ResourceTest";
+		assertTrue(index.mayExist(path + "_de.txt"));
+		assertFalse(index.mayExist(path + "_it.txt"));
+
+		IResourceStreamLocator locator = new ResourceStreamLocator(new Path(), index);
+		IResourceStream stream = locator.locate(getClass(), path, "style", null, new Locale("de",
+			"CH"), "txt", false);
+		assertEquals(new Locale("de"), stream.getLocale());
+		assertEquals("style", stream.getStyle());
+		assertNull(locator.locate(getClass(), path + "_it.txt"));
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.debugbar;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.devutils.profiler.RenderProfile;
+import org.apache.wicket.devutils.profiler.RenderProfilePage;
+import org.apache.wicket.devutils.profiler.RenderProfiler;
+import org.apache.wicket.model.AbstractReadOnlyModel;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.util.lang.Bytes;
+
+/**
+ * A panel for the debug bar that shows how long the last profiled render of the current page took
+ * and links to the {@link RenderProfilePage} with its flame graph. Registered by
+ * {@link RenderProfiler#register(Application)}.
+ */
+public class RenderProfilerDebugPanel extends StandardDebugPanel
+{
+	private static final long serialVersionUID = 1L;
+
+	/** */
+	public static final IDebugBarContributor DEBUG_BAR_CONTRIB = new IDebugBarContributor()
+	{
+		private static final long serialVersionUID = 1L;
+
+		public Component createComponent(final String id, final DebugBar debugBar)
+		{
+			return new RenderProfilerDebugPanel(id);
+		}
+
+	};
+
+	/**
+	 * Construct.
+	 * 
+	 * @param id
+	 */
+	public RenderProfilerDebugPanel(final String id)
+	{
+		super(id);
+	}
+
+	@Override
+	protected Class<? extends Page> getLinkPageClass()
+	{
+		return RenderProfilePage.class;
+	}
+
+	@Override
+	protected PageParameters getLinkPageParameters()
+	{
+		PageParameters parameters = super.getLinkPageParameters();
+		RenderProfile profile = getLatestProfile();
+		if (profile != null)
+		{
+			parameters.set(RenderProfilePage.PROFILE_PARAMETER, profile.getId());
+		}
+		return parameters;
+	}
+
+	@Override
+	protected ResourceReference getImageResourceReference()
+	{
+		return null;
+	}
+
+	@Override
+	protected IModel<String> getDataModel()
+	{
+		return new AbstractReadOnlyModel<String>()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String getObject()
+			{
+				RenderProfile profile = getLatestProfile();
+				if (profile == null)
+				{
+					return "Render: n/a";
+				}
+				String data = "Render: " + RenderProfile.formatNanos(profile.getTotalNanos());
+				if (profile.isAllocationMeasured())
+				{
+					data += ", " + Bytes.bytes(profile.getAllocatedBytes());
+				}
+				return data;
+			}
+		};
+	}
+
+	/**
+	 * @return the newest profile of the current page's class or {@code null}
+	 */
+	private RenderProfile getLatestProfile()
+	{
+		RenderProfiler profiler = RenderProfiler.get(getApplication());
+		return profiler == null ? null : profiler.getLatestProfile(getPage().getClass());
+	}
+}
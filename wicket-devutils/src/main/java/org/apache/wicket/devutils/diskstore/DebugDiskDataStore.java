@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.wicket.Application;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeAnalysisPage;
 import org.apache.wicket.pageStore.DiskDataStore;
 import org.apache.wicket.pageStore.PageWindowManager;
 import org.apache.wicket.pageStore.PageWindowManager.PageWindow;
@@ -40,7 +41,8 @@ import org.apache.wicket.util.lang.Bytes;
  * 
  * </p>
  * <p>
- * The data can be browsed at: <em>/wicket/internal/debug/diskDataStore</em>
+ * The data can be browsed at: <em>/wicket/internal/debug/diskDataStore</em>, an analysis of the
+ * page sizes is available at <em>/wicket/internal/debug/pageSizes</em>.
  */
 public class DebugDiskDataStore extends DiskDataStore
 {
@@ -84,8 +86,8 @@ public class DebugDiskDataStore extends DiskDataStore
 	}
 
 	/**
-	 * Configures the page manager provider and mounts the page at
-	 * <em>wicket/internal/debug/diskDataStore</em>
+	 * Configures the page manager provider and mounts the pages at
+	 * <em>wicket/internal/debug/diskDataStore</em> and <em>wicket/internal/debug/pageSizes</em>
 	 * 
 	 * @param application
 	 */
@@ -95,6 +97,8 @@ public class DebugDiskDataStore extends DiskDataStore
 
 		((WebApplication)application).mountPage("wicket/internal/debug/diskDataStore",
 			DiskStoreBrowserPage.class);
+		((WebApplication)application).mountPage("wicket/internal/debug/pageSizes",
+			PageSizeAnalysisPage.class);
 	}
 
 }
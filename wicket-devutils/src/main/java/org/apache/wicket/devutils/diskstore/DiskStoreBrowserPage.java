@@ -17,8 +17,10 @@
 package org.apache.wicket.devutils.diskstore;
 
 import org.apache.wicket.Component;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeAnalysisPage;
 import org.apache.wicket.devutils.diskstore.browser.BrowserPanel;
 import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.link.BookmarkablePageLink;
 import org.apache.wicket.request.mapper.parameter.PageParameters;
 
 /**
@@ -41,6 +43,8 @@ public class DiskStoreBrowserPage extends WebPage
 // tree = new LabelTree("tree", new PageWindowModel(sessionId, dataStore));
 		tree = new BrowserPanel("tree");
 		add(tree);
+
+		add(new BookmarkablePageLink<Void>("analysis", PageSizeAnalysisPage.class));
 	}
 
 	@Override
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.diskstore.analysis;
+
+import java.io.File;
+import java.io.PrintWriter;
+
+import org.apache.wicket.devutils.diskstore.DebugDiskDataStore;
+import org.apache.wicket.pageStore.PageWindowManager.PageWindow;
+import org.apache.wicket.serialize.ISerializer;
+import org.apache.wicket.serialize.java.JavaSerializer;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Bytes;
+
+/**
+ * Analyzes the pages of all sessions in the files of a {@link DebugDiskDataStore} with a
+ * {@link PageSizeAnalyzer}.
+ * <p>
+ * Can also be run offline over the files a stopped application left behind, with the
+ * application's classes on the classpath:
+ * 
+ * <pre>
+ * java org.apache.wicket.devutils.diskstore.analysis.DiskStoreAnalyzer &lt;fileStoreFolder&gt; &lt;applicationName&gt; [top]
+ * </pre>
+ * 
+ * where <em>fileStoreFolder</em> is the folder configured with
+ * {@link org.apache.wicket.settings.IStoreSettings#setFileStoreFolder(File)}, by default the
+ * servlet container's temporary folder. The page index of the store is only written when the
+ * application is stopped, so the files of a running application cannot be analyzed offline.
+ */
+public class DiskStoreAnalyzer
+{
+	private final DebugDiskDataStore dataStore;
+
+	private final ISerializer serializer;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param dataStore
+	 *            the store to read the pages from
+	 * @param serializer
+	 *            the serializer that wrote the pages
+	 */
+	public DiskStoreAnalyzer(final DebugDiskDataStore dataStore, final ISerializer serializer)
+	{
+		this.dataStore = Args.notNull(dataStore, "dataStore");
+		this.serializer = Args.notNull(serializer, "serializer");
+	}
+
+	/**
+	 * Analyzes the pages of all sessions.
+	 * 
+	 * @return the report
+	 */
+	public PageSizeReport analyze()
+	{
+		PageSizeAnalyzer analyzer = new PageSizeAnalyzer();
+		File[] sessionFolders = dataStore.getStoreFolder().listFiles();
+		if (sessionFolders != null)
+		{
+			for (File sessionFolder : sessionFolders)
+			{
+				if (sessionFolder.isDirectory())
+				{
+					analyze(sessionFolder.getName(), analyzer);
+				}
+			}
+		}
+		return analyzer.getReport();
+	}
+
+	/**
+	 * Analyzes the pages of one session.
+	 * 
+	 * @param sessionId
+	 * @param analyzer
+	 */
+	protected void analyze(final String sessionId, final PageSizeAnalyzer analyzer)
+	{
+		for (PageWindow window : dataStore.getLastPageWindows(sessionId, Integer.MAX_VALUE))
+		{
+			byte[] data = dataStore.getData(sessionId, window.getPageId());
+			if (data != null)
+			{
+				analyzer.analyze(sessionId, data, serializer);
+			}
+		}
+	}
+
+	/**
+	 * Prints the biggest pages, components, models and behaviors of a stopped application.
+	 * 
+	 * @param args
+	 *            the file store folder, the application name and optionally the number of entries
+	 *            to print per category
+	 */
+	public static void main(final String[] args)
+	{
+		if (args.length < 2)
+		{
+			System.err.println("Usage: DiskStoreAnalyzer <fileStoreFolder> <applicationName> [top]");
+			System.exit(1);
+		}
+
+		File fileStoreFolder = new File(args[0]);
+		String applicationName = args[1];
+		int top = (args.length > 2) ? Integer.parseInt(args[2]) : 20;
+
+		// the store reads its index on construction and writes it back on destroy
+		DebugDiskDataStore dataStore = new DebugDiskDataStore(applicationName, fileStoreFolder,
+			Bytes.MAX);
+		try
+		{
+			PageSizeReport report = new DiskStoreAnalyzer(dataStore, new JavaSerializer(
+				applicationName)).analyze();
+			report.print(new PrintWriter(System.out), top);
+		}
+		finally
+		{
+			dataStore.destroy();
+		}
+	}
+}
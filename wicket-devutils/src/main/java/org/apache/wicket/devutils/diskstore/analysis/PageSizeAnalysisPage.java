@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.diskstore.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.devutils.DevUtilsPage;
+import org.apache.wicket.devutils.diskstore.DebugPageManagerProvider;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeReport.Category;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeReport.Entry;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.model.AbstractReadOnlyModel;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.LoadableDetachableModel;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.util.lang.Bytes;
+
+/**
+ * Shows which page classes, component paths, model classes and behavior classes account for the
+ * most bytes in the pages of all sessions stored by the
+ * {@link org.apache.wicket.devutils.diskstore.DebugDiskDataStore}.
+ * <p>
+ * The number of entries per category can be set with the {@code top} page parameter.
+ * 
+ * @see PageSizeAnalyzer
+ */
+public class PageSizeAnalysisPage extends DevUtilsPage
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param parameters
+	 */
+	public PageSizeAnalysisPage(final PageParameters parameters)
+	{
+		super(parameters);
+
+		final int top = parameters.get("top").toInt(20);
+
+		final IModel<PageSizeReport> reportModel = new LoadableDetachableModel<PageSizeReport>()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected PageSizeReport load()
+			{
+				Application application = Application.get();
+				if (application.getPageManagerProvider() instanceof DebugPageManagerProvider)
+				{
+					DebugPageManagerProvider provider = (DebugPageManagerProvider)application.getPageManagerProvider();
+					if (provider.getDataStore() != null)
+					{
+						return new DiskStoreAnalyzer(provider.getDataStore(),
+							application.getFrameworkSettings().getSerializer()).analyze();
+					}
+				}
+				return null;
+			}
+		};
+
+		add(new Label("summary", new AbstractReadOnlyModel<String>()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String getObject()
+			{
+				PageSizeReport report = reportModel.getObject();
+				if (report == null)
+				{
+					return "No DebugDiskDataStore is registered";
+				}
+				return report.getPageCount() + " pages in " + report.getSessionCount() +
+					" sessions, " + Bytes.bytes(report.getTotalBytes()) +
+					(report.getFailures() > 0 ? ", " + report.getFailures() + " failed" : "");
+			}
+		}));
+
+		add(new ListView<Category>("categories", Arrays.asList(Category.values()))
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void populateItem(final ListItem<Category> item)
+			{
+				final Category category = item.getModelObject();
+				item.add(new Label("category", category.name()));
+				item.add(new ListView<Entry>("entries", new AbstractReadOnlyModel<List<Entry>>()
+				{
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public List<Entry> getObject()
+					{
+						PageSizeReport report = reportModel.getObject();
+						return report == null ? Arrays.<Entry> asList() : report.getTop(category,
+							top);
+					}
+				})
+				{
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected void populateItem(final ListItem<Entry> item)
+					{
+						Entry entry = item.getModelObject();
+						item.add(new Label("key", entry.getKey()));
+						item.add(new Label("total", Bytes.bytes(entry.getTotalBytes()).toString()));
+						item.add(new Label("count", String.valueOf(entry.getCount())));
+						item.add(new Label("average", Bytes.bytes(entry.getAverageBytes())
+							.toString()));
+						item.add(new Label("max", Bytes.bytes(entry.getMaxBytes()).toString()));
+					}
+				});
+			}
+		});
+	}
+
+	@Override
+	public boolean isVersioned()
+	{
+		return false;
+	}
+}
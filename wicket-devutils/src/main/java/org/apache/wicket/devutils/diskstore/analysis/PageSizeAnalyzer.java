@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.diskstore.analysis;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeReport.Category;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.serialize.ISerializer;
+import org.apache.wicket.util.io.ByteCountingOutputStream;
+import org.apache.wicket.util.visit.IVisit;
+import org.apache.wicket.util.visit.IVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Attributes the serialized size of pages to their components, models and behaviors and collects
+ * the figures in a {@link PageSizeReport}.
+ * <p>
+ * A page is serialized once more, component by component, with every other component replaced by
+ * {@code null}. The stream is reset before each component, so that a component is never written
+ * as a reference to an earlier {@code null}. The bytes of a class descriptor are accounted only to
+ * the first object that writes it, as in the original stream, but objects shared by several
+ * components are accounted to each of them, so the attributed bytes may add up to more than the
+ * page size. The bytes of a component include the models and behaviors it holds; the models and
+ * behaviors a component references directly are also written on their own and account to their
+ * classes.
+ * <p>
+ * Numeric path segments, i.e. repeater items, are folded into {@code *} so that the rows of a
+ * list add up to one entry.
+ */
+public class PageSizeAnalyzer
+{
+	private static final Logger log = LoggerFactory.getLogger(PageSizeAnalyzer.class);
+
+	private final PageSizeReport report;
+
+	/** fields that may reference models or behaviors, per component class */
+	private final Map<Class<?>, List<Field>> referenceFields = new HashMap<Class<?>, List<Field>>();
+
+	/**
+	 * Construct.
+	 */
+	public PageSizeAnalyzer()
+	{
+		this(new PageSizeReport());
+	}
+
+	/**
+	 * Construct.
+	 * 
+	 * @param report
+	 *            the report to add to
+	 */
+	public PageSizeAnalyzer(final PageSizeReport report)
+	{
+		this.report = report;
+	}
+
+	/**
+	 * @return the collected figures
+	 */
+	public PageSizeReport getReport()
+	{
+		return report;
+	}
+
+	/**
+	 * Deserializes and analyzes a stored page.
+	 * 
+	 * @param sessionId
+	 *            the session the page belongs to
+	 * @param data
+	 *            the serialized page
+	 * @param serializer
+	 *            the serializer that produced the data
+	 */
+	public void analyze(final String sessionId, final byte[] data, final ISerializer serializer)
+	{
+		Object page;
+		try
+		{
+			page = serializer.deserialize(data);
+		}
+		catch (RuntimeException e)
+		{
+			log.warn("Cannot deserialize a page of session " + sessionId, e);
+			page = null;
+		}
+
+		if (page == null)
+		{
+			report.addFailure();
+		}
+		else
+		{
+			analyze(sessionId, page, data.length);
+		}
+	}
+
+	/**
+	 * Analyzes a page.
+	 * 
+	 * @param sessionId
+	 *            the session the page belongs to, may be {@code null}
+	 * @param page
+	 *            the page
+	 * @param size
+	 *            the size of the serialized page, or {@code -1} to use the size measured by the
+	 *            analysis
+	 */
+	public void analyze(final String sessionId, final Object page, final long size)
+	{
+		String pageClass = page.getClass().getName();
+		long measured = -1;
+		if (page instanceof Page)
+		{
+			try
+			{
+				measured = attribute((Page)page);
+			}
+			catch (IOException e)
+			{
+				log.warn("Cannot analyze page " + pageClass, e);
+				report.addFailure();
+			}
+			catch (RuntimeException e)
+			{
+				log.warn("Cannot analyze page " + pageClass, e);
+				report.addFailure();
+			}
+		}
+
+		long bytes = (size >= 0) ? size : measured;
+		if (bytes >= 0)
+		{
+			report.addPage(sessionId, pageClass, bytes);
+		}
+	}
+
+	/**
+	 * Writes the components of the page one by one and accounts the bytes.
+	 * 
+	 * @param page
+	 * @return the bytes written
+	 * @throws IOException
+	 */
+	private long attribute(final Page page) throws IOException
+	{
+		final List<Component> components = new ArrayList<Component>();
+		components.add(page);
+		page.visitChildren(new IVisitor<Component, Void>()
+		{
+			public void component(final Component component, final IVisit<Void> visit)
+			{
+				components.add(component);
+			}
+		});
+
+		String pageClass = page.getClass().getName();
+		long total = 0;
+		ByteCountingOutputStream counter = new ByteCountingOutputStream();
+		AttributingObjectOutputStream out = new AttributingObjectOutputStream(counter);
+		try
+		{
+			for (Component component : components)
+			{
+				long bytes = out.measure(component, component);
+				total += bytes;
+
+				String path = (component == page) ? pageClass : pageClass + ':' +
+					foldItems(component.getPageRelativePath());
+				report.add(Category.COMPONENT, path, bytes);
+
+				for (Object reference : getReferences(component))
+				{
+					long size = out.measure(reference, null);
+					report.add((reference instanceof Behavior) ? Category.BEHAVIOR : Category.MODEL,
+						reference.getClass().getName(), size);
+				}
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+		return total;
+	}
+
+	/**
+	 * Finds the models and behaviors the component references directly, i.e. in its own fields or
+	 * in the elements of array fields.
+	 * 
+	 * @param component
+	 * @return the references
+	 */
+	private List<Object> getReferences(final Component component)
+	{
+		Map<Object, Boolean> references = new IdentityHashMap<Object, Boolean>();
+		for (Field field : getReferenceFields(component.getClass()))
+		{
+			Object value;
+			try
+			{
+				value = field.get(component);
+			}
+			catch (IllegalAccessException e)
+			{
+				continue;
+			}
+
+			if (value instanceof Object[])
+			{
+				for (Object element : (Object[])value)
+				{
+					if (isReference(element))
+					{
+						references.put(element, Boolean.TRUE);
+					}
+				}
+			}
+			else if (isReference(value))
+			{
+				references.put(value, Boolean.TRUE);
+			}
+		}
+		return new ArrayList<Object>(references.keySet());
+	}
+
+	private static boolean isReference(final Object value)
+	{
+		return (value instanceof IModel) || (value instanceof Behavior);
+	}
+
+	private List<Field> getReferenceFields(final Class<?> componentClass)
+	{
+		List<Field> fields = referenceFields.get(componentClass);
+		if (fields == null)
+		{
+			fields = new ArrayList<Field>();
+			for (Class<?> type = componentClass; type != null; type = type.getSuperclass())
+			{
+				for (Field field : type.getDeclaredFields())
+				{
+					int modifiers = field.getModifiers();
+					if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) ||
+						field.getType().isPrimitive())
+					{
+						continue;
+					}
+					try
+					{
+						field.setAccessible(true);
+						fields.add(field);
+					}
+					catch (SecurityException e)
+					{
+						log.debug("Cannot access field " + field, e);
+					}
+				}
+			}
+			referenceFields.put(componentClass, fields);
+		}
+		return fields;
+	}
+
+	/**
+	 * Replaces numeric path segments with {@code *}.
+	 * 
+	 * @param path
+	 * @return the folded path
+	 */
+	static String foldItems(final String path)
+	{
+		StringBuilder folded = new StringBuilder(path.length());
+		int start = 0;
+		while (start <= path.length())
+		{
+			int end = path.indexOf(Component.PATH_SEPARATOR, start);
+			if (end == -1)
+			{
+				end = path.length();
+			}
+			if (start > 0)
+			{
+				folded.append(Component.PATH_SEPARATOR);
+			}
+			String segment = path.substring(start, end);
+			folded.append(isNumber(segment) ? "*" : segment);
+			start = end + 1;
+		}
+		return folded.toString();
+	}
+
+	private static boolean isNumber(final String segment)
+	{
+		if (segment.length() == 0)
+		{
+			return false;
+		}
+		for (int i = 0; i < segment.length(); i++)
+		{
+			if (Character.isDigit(segment.charAt(i)) == false)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes everything but the components other than the current owner.
+	 */
+	private static class AttributingObjectOutputStream extends ObjectOutputStream
+	{
+		private Component owner;
+
+		/** bytes of a reference to an earlier descriptor */
+		private static final int REFERENCE_BYTES = 5;
+
+		private final ByteCountingOutputStream counter;
+
+		/** bytes of the descriptor of each class accounted so far, without its markers */
+		private final Map<String, Long> descriptorBytes = new HashMap<String, Long>();
+
+		/** classes whose descriptors have been written since the stream was reset */
+		private final Set<String> written = new HashSet<String>();
+
+		/** bytes written since the stream was reset that the original stream has as references */
+		private long rewritten;
+
+		private AttributingObjectOutputStream(final ByteCountingOutputStream out)
+			throws IOException
+		{
+			super(out);
+			counter = out;
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException
+		{
+			flush();
+			long before = counter.size();
+			super.writeClassDescriptor(desc);
+			flush();
+
+			String name = desc.getName();
+			if (descriptorBytes.containsKey(name) == false)
+			{
+				descriptorBytes.put(name, counter.size() - before);
+			}
+			else if (written.contains(name) == false)
+			{
+				// the original stream refers to the descriptor instead of writing it again
+				rewritten += getChainBytes(desc) - REFERENCE_BYTES;
+			}
+			written.add(name);
+		}
+
+		/**
+		 * Computes the bytes of a descriptor written again, together with the descriptors of its
+		 * superclasses that follow it, and marks them as written.
+		 * 
+		 * @param desc
+		 * @return the bytes of the descriptors
+		 */
+		private long getChainBytes(final ObjectStreamClass desc)
+		{
+			long bytes = 0;
+			ObjectStreamClass current = desc;
+			while (current != null)
+			{
+				String name = current.getName();
+				if ((current != desc) && written.contains(name))
+				{
+					return bytes + REFERENCE_BYTES;
+				}
+				Long size = descriptorBytes.get(name);
+				if (size == null)
+				{
+					return bytes;
+				}
+				written.add(name);
+
+				// TC_CLASSDESC and TC_ENDBLOCKDATA markers
+				bytes += size + 2;
+
+				Class<?> superclass = (current.forClass() != null)
+					? current.forClass().getSuperclass() : null;
+				current = (superclass != null) ? ObjectStreamClass.lookup(superclass) : null;
+			}
+			// TC_NULL ending the chain
+			return bytes + 1;
+		}
+
+		@Override
+		protected Object replaceObject(final Object object) throws IOException
+		{
+			if ((object instanceof Component) && (object != owner))
+			{
+				return null;
+			}
+			return object;
+		}
+
+		/**
+		 * Writes the object into a reset stream and returns the bytes it took, without the class
+		 * descriptors accounted before.
+		 * 
+		 * @param object
+		 *            the object to write
+		 * @param owner
+		 *            the only component that is written, {@code null} for none
+		 * @return the bytes written for the object
+		 * @throws IOException
+		 */
+		private long measure(final Object object, final Component owner) throws IOException
+		{
+			// forget the components replaced so far
+			reset();
+			this.owner = owner;
+			written.clear();
+			rewritten = 0;
+
+			flush();
+			long before = counter.size();
+			writeObject(object);
+			flush();
+			return counter.size() - before - rewritten;
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.diskstore.analysis;
+
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.wicket.util.lang.Bytes;
+
+/**
+ * Serialized page sizes collected by a {@link PageSizeAnalyzer}, attributed to the page classes,
+ * component paths, model classes and behavior classes that hold the bytes.
+ */
+public class PageSizeReport implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * What the bytes are attributed to
+	 */
+	public enum Category {
+		/** the whole serialized page, keyed by page class */
+		PAGE,
+
+		/** a component including its models and behaviors, keyed by page class and path */
+		COMPONENT,
+
+		/** a model referenced by a component, keyed by model class */
+		MODEL,
+
+		/** a behavior of a component, keyed by behavior class */
+		BEHAVIOR
+	}
+
+	private final Map<Category, Map<String, Entry>> entries = new EnumMap<Category, Map<String, Entry>>(
+		Category.class);
+
+	private final Set<String> sessions = new HashSet<String>();
+
+	private int pageCount;
+
+	private long totalBytes;
+
+	private int failures;
+
+	/**
+	 * Construct.
+	 */
+	public PageSizeReport()
+	{
+		for (Category category : Category.values())
+		{
+			entries.put(category, new HashMap<String, Entry>());
+		}
+	}
+
+	/**
+	 * Accounts a serialized page.
+	 * 
+	 * @param sessionId
+	 *            the session the page belongs to, may be {@code null}
+	 * @param pageClass
+	 * @param bytes
+	 *            the size of the serialized page
+	 */
+	void addPage(final String sessionId, final String pageClass, final long bytes)
+	{
+		if (sessionId != null)
+		{
+			sessions.add(sessionId);
+		}
+		pageCount++;
+		totalBytes += bytes;
+		add(Category.PAGE, pageClass, bytes);
+	}
+
+	/**
+	 * Accounts bytes.
+	 * 
+	 * @param category
+	 * @param key
+	 * @param bytes
+	 */
+	void add(final Category category, final String key, final long bytes)
+	{
+		Map<String, Entry> map = entries.get(category);
+		Entry entry = map.get(key);
+		if (entry == null)
+		{
+			entry = new Entry(category, key);
+			map.put(key, entry);
+		}
+		entry.add(bytes);
+	}
+
+	/**
+	 * Counts a page that could not be analyzed.
+	 */
+	void addFailure()
+	{
+		failures++;
+	}
+
+	/**
+	 * Ranks the entries of a category.
+	 * 
+	 * @param category
+	 * @param max
+	 *            the maximum number of entries
+	 * @return the entries with the most bytes, biggest first
+	 */
+	public List<Entry> getTop(final Category category, final int max)
+	{
+		List<Entry> top = new ArrayList<Entry>(entries.get(category).values());
+		Collections.sort(top, new Comparator<Entry>()
+		{
+			public int compare(final Entry o1, final Entry o2)
+			{
+				return o1.totalBytes > o2.totalBytes ? -1 : (o1.totalBytes == o2.totalBytes ? 0
+					: 1);
+			}
+		});
+		return top.size() > max ? new ArrayList<Entry>(top.subList(0, max)) : top;
+	}
+
+	/**
+	 * @return the number of analyzed pages
+	 */
+	public int getPageCount()
+	{
+		return pageCount;
+	}
+
+	/**
+	 * @return the number of sessions the analyzed pages belong to
+	 */
+	public int getSessionCount()
+	{
+		return sessions.size();
+	}
+
+	/**
+	 * @return the size of all analyzed pages
+	 */
+	public long getTotalBytes()
+	{
+		return totalBytes;
+	}
+
+	/**
+	 * @return the number of pages that could not be read or analyzed
+	 */
+	public int getFailures()
+	{
+		return failures;
+	}
+
+	/**
+	 * Prints the worst offenders of each category.
+	 * 
+	 * @param writer
+	 * @param max
+	 *            the maximum number of entries per category
+	 */
+	public void print(final PrintWriter writer, final int max)
+	{
+		writer.println(pageCount + " pages in " + sessions.size() + " sessions, " +
+			Bytes.bytes(totalBytes) + (failures > 0 ? ", " + failures + " failed" : ""));
+		for (Category category : Category.values())
+		{
+			writer.println();
+			writer.println(category);
+			writer.println(String.format("%12s %8s %12s %12s  %s", "total", "count", "average",
+				"max", "key"));
+			for (Entry entry : getTop(category, max))
+			{
+				writer.println(String.format("%12d %8d %12d %12d  %s", entry.totalBytes,
+					entry.count, entry.getAverageBytes(), entry.maxBytes, entry.key));
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * The bytes attributed to one key
+	 */
+	public static class Entry implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final Category category;
+
+		private final String key;
+
+		private int count;
+
+		private long totalBytes;
+
+		private long maxBytes;
+
+		private Entry(final Category category, final String key)
+		{
+			this.category = category;
+			this.key = key;
+		}
+
+		private void add(final long bytes)
+		{
+			count++;
+			totalBytes += bytes;
+			maxBytes = Math.max(maxBytes, bytes);
+		}
+
+		/**
+		 * @return the category
+		 */
+		public Category getCategory()
+		{
+			return category;
+		}
+
+		/**
+		 * @return the page class, page class and component path or model or behavior class
+		 */
+		public String getKey()
+		{
+			return key;
+		}
+
+		/**
+		 * @return how often the key was seen
+		 */
+		public int getCount()
+		{
+			return count;
+		}
+
+		/**
+		 * @return the bytes attributed to the key in all pages
+		 */
+		public long getTotalBytes()
+		{
+			return totalBytes;
+		}
+
+		/**
+		 * @return the bytes attributed to one occurrence on average
+		 */
+		public long getAverageBytes()
+		{
+			return count == 0 ? 0 : totalBytes / count;
+		}
+
+		/**
+		 * @return the bytes of the biggest occurrence
+		 */
+		public long getMaxBytes()
+		{
+			return maxBytes;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "[Entry category=" + category + " key=" + key + " count=" + count +
+				" totalBytes=" + totalBytes + "]";
+		}
+	}
+}
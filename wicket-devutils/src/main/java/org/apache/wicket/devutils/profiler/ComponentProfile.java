@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.profiler;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.application.IComponentRenderPhaseListener.Phase;
+
+/**
+ * The time and memory one component used during a profiled request, broken down by
+ * {@link Phase}. All figures are <em>self</em> figures: time spent in nested phases, e.g. the
+ * rendering of the children within a container's {@link Phase#COMPONENT_TAG_BODY}, is attributed
+ * to the nested component. The totals include the children.
+ * 
+ * @see RenderProfiler
+ */
+public class ComponentProfile implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private final String id;
+
+	private final String path;
+
+	private final String className;
+
+	private final long[] nanos = new long[PHASES.length];
+
+	private final int[] calls = new int[PHASES.length];
+
+	private long allocatedBytes;
+
+	private long totalNanos;
+
+	private long totalAllocatedBytes;
+
+	private final List<ComponentProfile> children = new ArrayList<ComponentProfile>();
+
+	/**
+	 * Construct.
+	 * 
+	 * @param component
+	 *            the profiled component
+	 */
+	ComponentProfile(final Component component)
+	{
+		id = component.getId();
+		path = (component instanceof Page) ? "" : component.getPageRelativePath();
+		className = component.getClass().getName();
+	}
+
+	/**
+	 * Accounts one completed phase.
+	 * 
+	 * @param phase
+	 * @param selfNanos
+	 *            the time spent in the phase minus the time of nested phases
+	 * @param selfBytes
+	 *            the bytes allocated in the phase minus the bytes of nested phases
+	 */
+	void record(final Phase phase, final long selfNanos, final long selfBytes)
+	{
+		nanos[phase.ordinal()] += selfNanos;
+		calls[phase.ordinal()]++;
+		allocatedBytes += selfBytes;
+	}
+
+	void addChild(final ComponentProfile child)
+	{
+		children.add(child);
+	}
+
+	/**
+	 * Computes the totals bottom up once the request is done.
+	 */
+	void complete()
+	{
+		totalNanos = getSelfNanos();
+		totalAllocatedBytes = allocatedBytes;
+		for (ComponentProfile child : children)
+		{
+			child.complete();
+			totalNanos += child.totalNanos;
+			totalAllocatedBytes += child.totalAllocatedBytes;
+		}
+	}
+
+	/**
+	 * @return the component id
+	 */
+	public String getId()
+	{
+		return id;
+	}
+
+	/**
+	 * @return the page relative path of the component, empty for the page itself
+	 */
+	public String getPath()
+	{
+		return path;
+	}
+
+	/**
+	 * @return the name of the component's class
+	 */
+	public String getClassName()
+	{
+		return className;
+	}
+
+	/**
+	 * @param phase
+	 * @return the self time spent in the phase in nanoseconds
+	 */
+	public long getNanos(final Phase phase)
+	{
+		return nanos[phase.ordinal()];
+	}
+
+	/**
+	 * @param phase
+	 * @return how often the phase was entered
+	 */
+	public int getCalls(final Phase phase)
+	{
+		return calls[phase.ordinal()];
+	}
+
+	/**
+	 * @return the self time of all phases in nanoseconds
+	 */
+	public long getSelfNanos()
+	{
+		long self = 0;
+		for (long phaseNanos : nanos)
+		{
+			self += phaseNanos;
+		}
+		return self;
+	}
+
+	/**
+	 * @return the self time of this component and all its profiled descendants in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return totalNanos;
+	}
+
+	/**
+	 * @return the bytes the rendering thread allocated in this component's phases, or {@code 0} if
+	 *         the JVM cannot measure it
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	/**
+	 * @return the allocated bytes of this component and all its profiled descendants
+	 */
+	public long getTotalAllocatedBytes()
+	{
+		return totalAllocatedBytes;
+	}
+
+	/**
+	 * @return the profiled children in the order they were first seen
+	 */
+	public List<ComponentProfile> getChildren()
+	{
+		return Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * Writes this profile and its children as JSON object.
+	 * 
+	 * @param json
+	 */
+	void writeJson(final StringBuilder json)
+	{
+		json.append("{\"id\":");
+		RenderProfile.quote(id, json);
+		json.append(",\"path\":");
+		RenderProfile.quote(path, json);
+		json.append(",\"class\":");
+		RenderProfile.quote(className, json);
+		json.append(",\"selfNanos\":").append(getSelfNanos());
+		json.append(",\"totalNanos\":").append(totalNanos);
+		json.append(",\"allocatedBytes\":").append(allocatedBytes);
+		json.append(",\"totalAllocatedBytes\":").append(totalAllocatedBytes);
+		json.append(",\"phases\":{");
+		boolean first = true;
+		for (Phase phase : PHASES)
+		{
+			if (calls[phase.ordinal()] > 0)
+			{
+				if (first == false)
+				{
+					json.append(',');
+				}
+				first = false;
+				json.append('"').append(phase.name()).append("\":{\"nanos\":");
+				json.append(nanos[phase.ordinal()]);
+				json.append(",\"calls\":").append(calls[phase.ordinal()]).append('}');
+			}
+		}
+		json.append("},\"children\":[");
+		for (int i = 0; i < children.size(); i++)
+		{
+			if (i > 0)
+			{
+				json.append(',');
+			}
+			children.get(i).writeJson(json);
+		}
+		json.append("]}");
+	}
+
+	@Override
+	public String toString()
+	{
+		return "[ComponentProfile path=" + path + " class=" + className + " totalNanos=" +
+			totalNanos + "]";
+	}
+}
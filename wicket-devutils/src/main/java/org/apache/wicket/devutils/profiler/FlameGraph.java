@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.profiler;
+
+import java.util.Locale;
+
+import org.apache.wicket.application.IComponentRenderPhaseListener.Phase;
+import org.apache.wicket.markup.ComponentTag;
+import org.apache.wicket.markup.MarkupStream;
+import org.apache.wicket.markup.html.WebComponent;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.string.Strings;
+
+/**
+ * Renders a {@link RenderProfile} as a flame graph (root on top): every component is a bar as wide
+ * as its total time relative to its parent, its children are stacked below it. The bars get the
+ * hotter the bigger the component's self time share is, and their tooltips show the figures of
+ * each phase.
+ * <p>
+ * Subtrees narrower than {@link #setMinimumWidth(double) the minimum width} are folded into their
+ * parent so that pages with thousands of components stay readable.
+ */
+public class FlameGraph extends WebComponent
+{
+	private static final long serialVersionUID = 1L;
+
+	private double minimumWidth = 0.2;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param id
+	 * @param model
+	 *            the profile to show
+	 */
+	public FlameGraph(final String id, final IModel<RenderProfile> model)
+	{
+		super(id, model);
+	}
+
+	/**
+	 * Sets the width, in percent of the whole graph, below which subtrees are folded. Defaults to
+	 * {@code 0.2}.
+	 * 
+	 * @param minimumWidth
+	 * @return {@code this}
+	 */
+	public FlameGraph setMinimumWidth(final double minimumWidth)
+	{
+		this.minimumWidth = minimumWidth;
+		return this;
+	}
+
+	@Override
+	public void onComponentTagBody(final MarkupStream markupStream, final ComponentTag openTag)
+	{
+		StringBuilder html = new StringBuilder();
+		RenderProfile profile = (RenderProfile)getDefaultModelObject();
+		if (profile != null)
+		{
+			long total = Math.max(1, profile.getTotalNanos());
+			for (ComponentProfile root : profile.getRoots())
+			{
+				appendNode(root, total, total, html);
+			}
+		}
+		replaceComponentTagBody(markupStream, openTag, html);
+	}
+
+	private void appendNode(final ComponentProfile node, final long parentNanos,
+		final long totalNanos, final StringBuilder html)
+	{
+		long nodeNanos = Math.max(1, node.getTotalNanos());
+		double selfShare = node.getSelfNanos() / (double)nodeNanos;
+		String label = Strings.isEmpty(node.getPath()) ? node.getClassName() : node.getId();
+
+		html.append("<div class=\"flame-node\" style=\"width:");
+		html.append(String.format(Locale.ENGLISH, "%.3f", Math.floor(node.getTotalNanos() *
+			100000d / parentNanos) / 1000d));
+		html.append("%\"><div class=\"flame-bar\" style=\"background-color:");
+		html.append(String.format(Locale.ENGLISH, "hsl(%d,85%%,%d%%)",
+			Math.round(50 - 50 * selfShare), Math.round(75 - 20 * selfShare)));
+		html.append("\" title=\"");
+		html.append(Strings.escapeMarkup(getTooltip(node)));
+		html.append("\">");
+		html.append(Strings.escapeMarkup(label));
+		html.append("</div><div class=\"flame-children\">");
+		for (ComponentProfile child : node.getChildren())
+		{
+			if (child.getTotalNanos() * 100d / totalNanos >= minimumWidth)
+			{
+				appendNode(child, nodeNanos, totalNanos, html);
+			}
+		}
+		html.append("</div></div>");
+	}
+
+	private String getTooltip(final ComponentProfile node)
+	{
+		StringBuilder tooltip = new StringBuilder();
+		tooltip.append(Strings.isEmpty(node.getPath()) ? "page" : node.getPath());
+		tooltip.append(" (").append(node.getClassName()).append(")\ntotal ");
+		tooltip.append(RenderProfile.formatNanos(node.getTotalNanos()));
+		tooltip.append(", self ").append(RenderProfile.formatNanos(node.getSelfNanos()));
+		tooltip.append(", allocated ").append(Bytes.bytes(node.getAllocatedBytes()));
+		for (Phase phase : Phase.values())
+		{
+			if (node.getCalls(phase) > 0)
+			{
+				tooltip.append('\n').append(phase.name()).append(": ");
+				tooltip.append(RenderProfile.formatNanos(node.getNanos(phase)));
+				tooltip.append(" (").append(node.getCalls(phase)).append("x)");
+			}
+		}
+		return tooltip.toString();
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.profiler;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of profiling one request: the tree of {@link ComponentProfile}s of the rendered
+ * page(s) plus some data about the request.
+ * 
+ * @see RenderProfiler
+ */
+public class RenderProfile implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final long id;
+
+	private final long timestamp;
+
+	private final String url;
+
+	private final String threadName;
+
+	private final boolean allocationMeasured;
+
+	private final List<ComponentProfile> roots;
+
+	private final int componentCount;
+
+	private long totalNanos;
+
+	private long allocatedBytes;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param id
+	 *            a sequence number unique within the profiler
+	 * @param url
+	 *            the request url
+	 * @param roots
+	 *            the profiles of the root components, usually just the page
+	 * @param componentCount
+	 *            the number of profiled components
+	 * @param allocationMeasured
+	 *            whether the JVM could measure the allocated bytes
+	 */
+	RenderProfile(final long id, final String url, final List<ComponentProfile> roots,
+		final int componentCount, final boolean allocationMeasured)
+	{
+		this.id = id;
+		this.url = url;
+		this.roots = roots;
+		this.componentCount = componentCount;
+		this.allocationMeasured = allocationMeasured;
+		timestamp = System.currentTimeMillis();
+		threadName = Thread.currentThread().getName();
+		for (ComponentProfile root : roots)
+		{
+			root.complete();
+			totalNanos += root.getTotalNanos();
+			allocatedBytes += root.getTotalAllocatedBytes();
+		}
+	}
+
+	/**
+	 * @return the sequence number of this profile
+	 */
+	public long getId()
+	{
+		return id;
+	}
+
+	/**
+	 * @return when the request was done
+	 */
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+
+	/**
+	 * @return the request url
+	 */
+	public String getUrl()
+	{
+		return url;
+	}
+
+	/**
+	 * @return the name of the thread that processed the request
+	 */
+	public String getThreadName()
+	{
+		return threadName;
+	}
+
+	/**
+	 * @return the first root component, usually the page
+	 */
+	public ComponentProfile getRoot()
+	{
+		return roots.get(0);
+	}
+
+	/**
+	 * @return the profiles of all root components
+	 */
+	public List<ComponentProfile> getRoots()
+	{
+		return Collections.unmodifiableList(roots);
+	}
+
+	/**
+	 * @return the class name of the first root component, usually the page
+	 */
+	public String getPageClassName()
+	{
+		return getRoot().getClassName();
+	}
+
+	/**
+	 * @return the number of profiled components
+	 */
+	public int getComponentCount()
+	{
+		return componentCount;
+	}
+
+	/**
+	 * @return the time of all profiled phases in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return totalNanos;
+	}
+
+	/**
+	 * @return whether the JVM could measure the allocated bytes
+	 */
+	public boolean isAllocationMeasured()
+	{
+		return allocationMeasured;
+	}
+
+	/**
+	 * @return the bytes allocated by all profiled phases
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	/**
+	 * Finds the components with the highest self time.
+	 * 
+	 * @param max
+	 *            the maximum number of components to return
+	 * @return the slowest components, slowest first
+	 */
+	public List<ComponentProfile> getHotspots(final int max)
+	{
+		List<ComponentProfile> all = new ArrayList<ComponentProfile>(componentCount);
+		for (ComponentProfile root : roots)
+		{
+			collect(root, all);
+		}
+		Collections.sort(all, new Comparator<ComponentProfile>()
+		{
+			public int compare(final ComponentProfile o1, final ComponentProfile o2)
+			{
+				long self1 = o1.getSelfNanos();
+				long self2 = o2.getSelfNanos();
+				return self1 > self2 ? -1 : (self1 == self2 ? 0 : 1);
+			}
+		});
+		return all.size() > max ? new ArrayList<ComponentProfile>(all.subList(0, max)) : all;
+	}
+
+	private static void collect(final ComponentProfile profile, final List<ComponentProfile> all)
+	{
+		all.add(profile);
+		for (ComponentProfile child : profile.getChildren())
+		{
+			collect(child, all);
+		}
+	}
+
+	/**
+	 * Exports this profile as JSON trace: an object with the request data and the nested component
+	 * profiles under {@code roots}, each with its self and total figures and a {@code phases}
+	 * breakdown.
+	 * 
+	 * @return the JSON text
+	 */
+	public String toJson()
+	{
+		StringBuilder json = new StringBuilder(256 + componentCount * 256);
+		json.append("{\"id\":").append(id);
+		json.append(",\"timestamp\":").append(timestamp);
+		json.append(",\"url\":");
+		quote(url, json);
+		json.append(",\"thread\":");
+		quote(threadName, json);
+		json.append(",\"components\":").append(componentCount);
+		json.append(",\"totalNanos\":").append(totalNanos);
+		json.append(",\"allocationMeasured\":").append(allocationMeasured);
+		json.append(",\"allocatedBytes\":").append(allocatedBytes);
+		json.append(",\"roots\":[");
+		for (int i = 0; i < roots.size(); i++)
+		{
+			if (i > 0)
+			{
+				json.append(',');
+			}
+			roots.get(i).writeJson(json);
+		}
+		json.append("]}");
+		return json.toString();
+	}
+
+	/**
+	 * Appends the string as quoted and escaped JSON string.
+	 * 
+	 * @param string
+	 * @param json
+	 */
+	static void quote(final String string, final StringBuilder json)
+	{
+		json.append('"');
+		for (int i = 0; i < string.length(); i++)
+		{
+			char c = string.charAt(i);
+			switch (c)
+			{
+				case '"' :
+					json.append("\\\"");
+					break;
+				case '\\' :
+					json.append("\\\\");
+					break;
+				case '\n' :
+					json.append("\\n");
+					break;
+				case '\r' :
+					json.append("\\r");
+					break;
+				case '\t' :
+					json.append("\\t");
+					break;
+				default :
+					if (c < 0x20)
+					{
+						json.append(String.format(Locale.ENGLISH, "\\u%04x", (int)c));
+					}
+					else
+					{
+						json.append(c);
+					}
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * Formats nanoseconds as milliseconds for display.
+	 * 
+	 * @param nanos
+	 * @return e.g. {@code 1.234 ms}
+	 */
+	public static String formatNanos(final long nanos)
+	{
+		return String.format(Locale.ENGLISH, "%.3f ms", nanos / 1000000d);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "[RenderProfile id=" + id + " url=" + url + " components=" + componentCount +
+			" totalNanos=" + totalNanos + "]";
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.profiler;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.application.IComponentRenderPhaseListener.Phase;
+import org.apache.wicket.devutils.DevUtilsPage;
+import org.apache.wicket.markup.html.WebMarkupContainer;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.link.BookmarkablePageLink;
+import org.apache.wicket.markup.html.link.Link;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.model.AbstractReadOnlyModel;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.LoadableDetachableModel;
+import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.ContentDisposition;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.resource.StringResourceStream;
+
+/**
+ * Shows the profiles kept by the {@link RenderProfiler}: a flame graph and the hotspots of the
+ * selected profile, which can also be downloaded as JSON trace.
+ * <p>
+ * The profile is selected with the {@code profile} page parameter, it defaults to the newest one.
+ */
+public class RenderProfilePage extends DevUtilsPage
+{
+	private static final long serialVersionUID = 1L;
+
+	/** the page parameter that selects the profile */
+	public static final String PROFILE_PARAMETER = "profile";
+
+	private static final int HOTSPOTS = 25;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param parameters
+	 */
+	public RenderProfilePage(final PageParameters parameters)
+	{
+		super(parameters);
+
+		final long selectedId = parameters.get(PROFILE_PARAMETER).toLong(-1);
+
+		add(new ListView<RenderProfile>("profiles", new ProfilesModel())
+		{
+			private static final long serialVersionUID = 1L;
+
+			private final SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss.SSS");
+
+			@Override
+			protected void populateItem(final ListItem<RenderProfile> item)
+			{
+				RenderProfile profile = item.getModelObject();
+				PageParameters linkParameters = new PageParameters();
+				linkParameters.set(PROFILE_PARAMETER, profile.getId());
+				BookmarkablePageLink<Void> link = new BookmarkablePageLink<Void>("link",
+					RenderProfilePage.class, linkParameters);
+				link.add(new Label("time", sdf.format(new Date(profile.getTimestamp()))));
+				link.add(new Label("url", profile.getUrl()));
+				item.add(link);
+				item.add(new Label("components", String.valueOf(profile.getComponentCount())));
+				item.add(new Label("total", RenderProfile.formatNanos(profile.getTotalNanos())));
+			}
+		});
+
+		final IModel<RenderProfile> profileModel = new LoadableDetachableModel<RenderProfile>()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected RenderProfile load()
+			{
+				RenderProfiler profiler = getProfiler();
+				if (profiler == null)
+				{
+					return null;
+				}
+				if (selectedId != -1)
+				{
+					return profiler.getProfile(selectedId);
+				}
+				List<RenderProfile> profiles = profiler.getProfiles();
+				return profiles.isEmpty() ? null : profiles.get(0);
+			}
+		};
+
+		WebMarkupContainer selected = new WebMarkupContainer("selected")
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void onConfigure()
+			{
+				super.onConfigure();
+				setVisible(profileModel.getObject() != null);
+			}
+		};
+		add(selected);
+
+		selected.add(new Label("url", new ProfileModel(profileModel)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected String getObject(final RenderProfile profile)
+			{
+				return profile.getUrl();
+			}
+		}));
+		selected.add(new Label("summary", new ProfileModel(profileModel)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected String getObject(final RenderProfile profile)
+			{
+				return profile.getComponentCount() + " components, " +
+					RenderProfile.formatNanos(profile.getTotalNanos()) + ", " +
+					(profile.isAllocationMeasured() ? Bytes.bytes(profile.getAllocatedBytes())
+						.toString() : "allocation not measured") + ", thread " +
+					profile.getThreadName();
+			}
+		}));
+
+		selected.add(new Link<RenderProfile>("export", profileModel)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onClick()
+			{
+				RenderProfile profile = getModelObject();
+				ResourceStreamRequestHandler handler = new ResourceStreamRequestHandler(
+					new StringResourceStream(profile.toJson(), "application/json"),
+					"render-profile-" + profile.getId() + ".json");
+				handler.setContentDisposition(ContentDisposition.ATTACHMENT);
+				getRequestCycle().scheduleRequestHandlerAfterCurrent(handler);
+			}
+		});
+
+		selected.add(new FlameGraph("flameGraph", profileModel));
+
+		selected.add(new ListView<ComponentProfile>("hotspots",
+			new AbstractReadOnlyModel<List<ComponentProfile>>()
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public List<ComponentProfile> getObject()
+				{
+					RenderProfile profile = profileModel.getObject();
+					return profile == null ? Collections.<ComponentProfile> emptyList()
+						: profile.getHotspots(HOTSPOTS);
+				}
+			})
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void populateItem(final ListItem<ComponentProfile> item)
+			{
+				ComponentProfile component = item.getModelObject();
+				item.add(new Label("path", component.getPath()));
+				item.add(new Label("class", component.getClassName()));
+				item.add(new Label("self", RenderProfile.formatNanos(component.getSelfNanos())));
+				item.add(new Label("configure", formatPhase(component, Phase.CONFIGURE)));
+				item.add(new Label("beforeRender", formatPhase(component, Phase.BEFORE_RENDER)));
+				item.add(new Label("model", formatPhase(component, Phase.MODEL)));
+				item.add(new Label("tag", formatPhase(component, Phase.COMPONENT_TAG)));
+				item.add(new Label("body", formatPhase(component, Phase.COMPONENT_TAG_BODY)));
+				item.add(new Label("allocated", Bytes.bytes(component.getAllocatedBytes())
+					.toString()));
+			}
+		});
+
+		add(new Link<Void>("clear")
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onClick()
+			{
+				RenderProfiler profiler = getProfiler();
+				if (profiler != null)
+				{
+					profiler.clear();
+				}
+				setResponsePage(RenderProfilePage.class);
+			}
+		});
+	}
+
+	private static String formatPhase(final ComponentProfile component, final Phase phase)
+	{
+		return component.getCalls(phase) == 0 ? ""
+			: RenderProfile.formatNanos(component.getNanos(phase));
+	}
+
+	private static RenderProfiler getProfiler()
+	{
+		return RenderProfiler.get(Application.get());
+	}
+
+	@Override
+	public boolean isVersioned()
+	{
+		return false;
+	}
+
+	/**
+	 * The kept profiles
+	 */
+	private static class ProfilesModel extends AbstractReadOnlyModel<List<RenderProfile>>
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public List<RenderProfile> getObject()
+		{
+			RenderProfiler profiler = getProfiler();
+			return profiler == null ? Collections.<RenderProfile> emptyList()
+				: profiler.getProfiles();
+		}
+	}
+
+	/**
+	 * Derives a string from the selected profile
+	 */
+	private abstract static class ProfileModel extends AbstractReadOnlyModel<String>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final IModel<RenderProfile> profile;
+
+		private ProfileModel(final IModel<RenderProfile> profile)
+		{
+			this.profile = profile;
+		}
+
+		@Override
+		public String getObject()
+		{
+			return getObject(profile.getObject());
+		}
+
+		protected abstract String getObject(RenderProfile profile);
+
+		@Override
+		public void detach()
+		{
+			profile.detach();
+		}
+	}
+}
@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.profiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Component;
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.application.IComponentRenderPhaseListener;
+import org.apache.wicket.devutils.DevUtilsPage;
+import org.apache.wicket.devutils.debugbar.DebugBar;
+import org.apache.wicket.devutils.debugbar.RenderProfilerDebugPanel;
+import org.apache.wicket.request.cycle.AbstractRequestCycleListener;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.util.lang.Args;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A render profiler that records, for each component of a request, the time spent in
+ * {@link Component#onConfigure()}, {@link Component#onBeforeRender()}, reading the model object,
+ * {@link Component#onComponentTag} and {@link Component#onComponentTagBody} as well as the bytes
+ * the rendering thread allocated meanwhile. Time of nested phases is attributed to the nested
+ * component, so the slow components of a page stand out even if it has thousands of them.
+ * <p>
+ * To enable the profiler use the following in YourApplication.init():
+ * 
+ * <pre>
+ * RenderProfiler.register(this);
+ * </pre>
+ * 
+ * </p>
+ * The last profiles are kept in memory and shown by the {@link RenderProfilerDebugPanel} in the
+ * {@link DebugBar}, which links to the {@link RenderProfilePage} with a flame graph, the hotspots
+ * and a JSON export of a profile. Allocated bytes are measured with the HotSpot thread MX bean and
+ * reported as {@code 0} on JVMs that lack it.
+ * <p>
+ * Profiling costs time itself, so absolute figures are inflated; use it to compare components
+ * rather than as a benchmark.
+ * 
+ * @see IComponentRenderPhaseListener
+ */
+public class RenderProfiler implements IComponentRenderPhaseListener
+{
+	private static final Logger log = LoggerFactory.getLogger(RenderProfiler.class);
+
+	private static final MetaDataKey<RenderProfiler> KEY = new MetaDataKey<RenderProfiler>()
+	{
+		private static final long serialVersionUID = 1L;
+	};
+
+	/** measures per thread allocation, {@code null} if not supported by the JVM */
+	private static final ThreadMXBean ALLOCATION = getAllocationBean();
+
+	private final ThreadLocal<Recorder> recorder = new ThreadLocal<Recorder>();
+
+	private final LinkedList<RenderProfile> profiles = new LinkedList<RenderProfile>();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private volatile int maxProfiles = 20;
+
+	/**
+	 * Installs a new profiler in the application and adds its panel to the {@link DebugBar}.
+	 * 
+	 * @param application
+	 * @return the profiler
+	 */
+	public static RenderProfiler register(final Application application)
+	{
+		return register(application, new RenderProfiler());
+	}
+
+	/**
+	 * Installs the profiler in the application and adds its panel to the {@link DebugBar}.
+	 * 
+	 * @param application
+	 * @param profiler
+	 * @return the profiler
+	 */
+	public static RenderProfiler register(final Application application,
+		final RenderProfiler profiler)
+	{
+		Args.notNull(application, "application");
+		Args.notNull(profiler, "profiler");
+
+		application.getComponentRenderPhaseListeners().add(profiler);
+		application.getRequestCycleListeners().add(new AbstractRequestCycleListener()
+		{
+			@Override
+			public void onDetach(final RequestCycle cycle)
+			{
+				profiler.onRequestDone(cycle);
+			}
+		});
+		application.setMetaData(KEY, profiler);
+		DebugBar.registerContributor(RenderProfilerDebugPanel.DEBUG_BAR_CONTRIB, application);
+		return profiler;
+	}
+
+	/**
+	 * @param application
+	 * @return the profiler registered in the application or {@code null}
+	 */
+	public static RenderProfiler get(final Application application)
+	{
+		return application.getMetaData(KEY);
+	}
+
+	public void onPhaseStart(final Component component, final Phase phase)
+	{
+		if (accepts(component))
+		{
+			Recorder current = recorder.get();
+			if (current == null)
+			{
+				current = new Recorder();
+				recorder.set(current);
+			}
+			current.start(component, phase);
+		}
+	}
+
+	public void onPhaseEnd(final Component component, final Phase phase)
+	{
+		Recorder current = recorder.get();
+		if (current != null)
+		{
+			current.end(component, phase);
+		}
+	}
+
+	/**
+	 * Filters which components are profiled.
+	 * 
+	 * @param component
+	 * @return {@code true} if the component should be profiled
+	 */
+	protected boolean accepts(final Component component)
+	{
+		return true;
+	}
+
+	/**
+	 * Turns the data recorded during the request into a {@link RenderProfile}.
+	 * 
+	 * @param cycle
+	 */
+	private void onRequestDone(final RequestCycle cycle)
+	{
+		Recorder current = recorder.get();
+		if (current == null)
+		{
+			return;
+		}
+		recorder.remove();
+
+		if (current.roots.isEmpty() || current.profiledDevUtilsPage)
+		{
+			return;
+		}
+
+		RenderProfile profile = new RenderProfile(sequence.incrementAndGet(),
+			cycle.getRequest().getUrl().toString(), current.roots, current.nodes.size(),
+			ALLOCATION != null);
+
+		if (log.isDebugEnabled())
+		{
+			log.debug("profiled {} components of '{}' in {}", new Object[] {
+					profile.getComponentCount(), profile.getUrl(),
+					RenderProfile.formatNanos(profile.getTotalNanos()) });
+		}
+
+		synchronized (profiles)
+		{
+			profiles.addFirst(profile);
+			while (profiles.size() > maxProfiles)
+			{
+				profiles.removeLast();
+			}
+		}
+	}
+
+	/**
+	 * @return the kept profiles, newest first
+	 */
+	public List<RenderProfile> getProfiles()
+	{
+		synchronized (profiles)
+		{
+			return new ArrayList<RenderProfile>(profiles);
+		}
+	}
+
+	/**
+	 * @param id
+	 * @return the profile with the given id or {@code null} if it is not kept anymore
+	 */
+	public RenderProfile getProfile(final long id)
+	{
+		synchronized (profiles)
+		{
+			for (RenderProfile profile : profiles)
+			{
+				if (profile.getId() == id)
+				{
+					return profile;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param pageClass
+	 * @return the newest profile whose root is a page of the given class or {@code null}
+	 */
+	public RenderProfile getLatestProfile(final Class<?> pageClass)
+	{
+		synchronized (profiles)
+		{
+			for (RenderProfile profile : profiles)
+			{
+				if (profile.getPageClassName().equals(pageClass.getName()))
+				{
+					return profile;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Forgets all kept profiles.
+	 */
+	public void clear()
+	{
+		synchronized (profiles)
+		{
+			profiles.clear();
+		}
+	}
+
+	/**
+	 * @return how many profiles are kept
+	 */
+	public int getMaxProfiles()
+	{
+		return maxProfiles;
+	}
+
+	/**
+	 * Sets how many profiles are kept. Defaults to 20.
+	 * 
+	 * @param maxProfiles
+	 */
+	public void setMaxProfiles(final int maxProfiles)
+	{
+		this.maxProfiles = maxProfiles;
+	}
+
+	private static ThreadMXBean getAllocationBean()
+	{
+		try
+		{
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (threads instanceof com.sun.management.ThreadMXBean)
+			{
+				com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean)threads;
+				if (hotspot.isThreadAllocatedMemorySupported() &&
+					hotspot.isThreadAllocatedMemoryEnabled())
+				{
+					return threads;
+				}
+			}
+		}
+		catch (LinkageError e)
+		{
+			log.debug("Thread allocation cannot be measured on this JVM", e);
+		}
+		return null;
+	}
+
+	private static long allocatedBytes()
+	{
+		if (ALLOCATION == null)
+		{
+			return 0;
+		}
+		com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean)ALLOCATION;
+		return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * An entered phase
+	 */
+	private static final class Frame
+	{
+		private final Component component;
+		private final Phase phase;
+		private final ComponentProfile profile;
+		private final long startNanos;
+		private final long startBytes;
+		private long nestedNanos;
+		private long nestedBytes;
+
+		private Frame(final Component component, final Phase phase,
+			final ComponentProfile profile)
+		{
+			this.component = component;
+			this.phase = phase;
+			this.profile = profile;
+			startBytes = allocatedBytes();
+			startNanos = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Collects the phases of one request. Only used by the request's thread.
+	 */
+	private static final class Recorder
+	{
+		private final Map<Component, ComponentProfile> nodes = new IdentityHashMap<Component, ComponentProfile>();
+		private final List<ComponentProfile> roots = new ArrayList<ComponentProfile>();
+		private final List<Frame> stack = new ArrayList<Frame>();
+		private boolean profiledDevUtilsPage;
+
+		private void start(final Component component, final Phase phase)
+		{
+			stack.add(new Frame(component, phase, getProfile(component)));
+		}
+
+		private void end(final Component component, final Phase phase)
+		{
+			long endNanos = System.nanoTime();
+			long endBytes = allocatedBytes();
+
+			// phases that ended with an exception never report their end, so skip their frames
+			int index = stack.size() - 1;
+			while ((index >= 0) &&
+				((stack.get(index).component != component) || (stack.get(index).phase != phase)))
+			{
+				index--;
+			}
+			if (index < 0)
+			{
+				return;
+			}
+			Frame frame = stack.get(index);
+			while (stack.size() > index)
+			{
+				stack.remove(stack.size() - 1);
+			}
+
+			long nanos = endNanos - frame.startNanos;
+			long bytes = endBytes - frame.startBytes;
+			frame.profile.record(phase, Math.max(0, nanos - frame.nestedNanos),
+				Math.max(0, bytes - frame.nestedBytes));
+			if (index > 0)
+			{
+				Frame enclosing = stack.get(index - 1);
+				enclosing.nestedNanos += nanos;
+				enclosing.nestedBytes += bytes;
+			}
+		}
+
+		private ComponentProfile getProfile(final Component component)
+		{
+			ComponentProfile profile = nodes.get(component);
+			if (profile == null)
+			{
+				profile = new ComponentProfile(component);
+				nodes.put(component, profile);
+				MarkupContainer parent = component.getParent();
+				if (parent != null)
+				{
+					getProfile(parent).addChild(profile);
+				}
+				else
+				{
+					roots.add(profile);
+					profiledDevUtilsPage |= component instanceof DevUtilsPage;
+				}
+			}
+			return profile;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.stateless;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.wicket.Session;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.session.ISessionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports which request caused the session to be bound and what triggered it. This is a utility
+ * that is intended for use primarily during development or while analyzing crawler traffic that is
+ * expected to be stateless. Register it with the session store of your application:
+ * 
+ * <pre>
+ * ((HttpSessionStore)getSessionStore()).registerBindListener(new SessionBindReporter());
+ * </pre>
+ * 
+ * Each binding is reported with the url of the request and a stack trace that shows the code path
+ * that bound the session, e.g. a stateful page being touched or an explicit
+ * {@link Session#bind()}. A code path is logged as a warning the first time it binds a session
+ * only, later bindings through it are logged on debug level.
+ * 
+ * @see StatelessChecker
+ */
+public class SessionBindReporter implements ISessionStore.BindListener
+{
+	private static final Logger log = LoggerFactory.getLogger(SessionBindReporter.class);
+
+	/** the stack traces that have been reported already */
+	private final Set<List<StackTraceElement>> reported =
+		Collections.newSetFromMap(new ConcurrentHashMap<List<StackTraceElement>, Boolean>());
+
+	/**
+	 * @see org.apache.wicket.session.ISessionStore.BindListener#bindingSession(org.apache.wicket.request.Request,
+	 *      org.apache.wicket.Session)
+	 */
+	public void bindingSession(final Request request, final Session newSession)
+	{
+		String message = "Session bound while processing '" + request.getUrl() + "'";
+		onSessionBound(request, newSession, new IllegalStateException(message));
+	}
+
+	/**
+	 * Called when the session is bound. The default implementation logs the cause as a warning
+	 * the first time its code path binds a session, and the message only on debug level
+	 * otherwise.
+	 * 
+	 * @param request
+	 *            the request that bound the session
+	 * @param session
+	 *            the session that is bound
+	 * @param cause
+	 *            exception whose stack trace shows the code path that bound the session
+	 */
+	protected void onSessionBound(final Request request, final Session session,
+		final Exception cause)
+	{
+		if (reported.add(Arrays.asList(cause.getStackTrace())))
+		{
+			log.warn(cause.getMessage(), cause);
+		}
+		else if (log.isDebugEnabled())
+		{
+			log.debug(cause.getMessage());
+		}
+	}
+}
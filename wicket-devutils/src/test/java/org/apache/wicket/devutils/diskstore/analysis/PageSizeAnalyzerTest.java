@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.diskstore.analysis;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.wicket.AttributeModifier;
+import org.apache.wicket.devutils.diskstore.DebugDiskDataStore;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeReport.Category;
+import org.apache.wicket.devutils.diskstore.analysis.PageSizeReport.Entry;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.repeater.RepeatingView;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.serialize.java.JavaSerializer;
+import org.apache.wicket.util.file.Files;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.tester.WicketTester;
+
+/**
+ * Tests for {@link PageSizeAnalyzer} and {@link DiskStoreAnalyzer}
+ */
+public class PageSizeAnalyzerTest extends TestCase
+{
+	/**
+	 * An object graph that is expensive to serialize
+	 */
+	private static class Heavy implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] data = new byte[10000];
+	}
+
+	/**
+	 * A model holding a {@link Heavy}
+	 */
+	private static class HeavyModel extends Model<Heavy>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private HeavyModel()
+		{
+			super(new Heavy());
+		}
+	}
+
+	/**
+	 * A label that holds a {@link Heavy} itself
+	 */
+	private static class HeavyLabel extends Label
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final Heavy heavy = new Heavy();
+
+		private HeavyLabel(final String id)
+		{
+			super(id, "heavy");
+		}
+	}
+
+	/**
+	 * A page with one heavy label, one small label and a repeater
+	 */
+	private static class TestPage extends WebPage
+	{
+		private static final long serialVersionUID = 1L;
+
+		private TestPage()
+		{
+			add(new Label("heavy", new HeavyModel()));
+			add(new Label("small", "small").add(AttributeModifier.replace("class", "x")));
+			RepeatingView rows = new RepeatingView("rows");
+			for (int i = 0; i < 3; i++)
+			{
+				rows.add(new Label(rows.newChildId(), "row " + i));
+			}
+			add(rows);
+		}
+	}
+
+	/**
+	 * A page with a heavy label between two small ones
+	 */
+	private static class HeavyLabelPage extends WebPage
+	{
+		private static final long serialVersionUID = 1L;
+
+		private HeavyLabelPage()
+		{
+			add(new Label("before", "before"));
+			add(new HeavyLabel("label"));
+			add(new Label("after", "after"));
+		}
+	}
+
+	private WicketTester tester;
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override
+	public void setUp()
+	{
+		tester = new WicketTester();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override
+	public void tearDown()
+	{
+		tester.destroy();
+	}
+
+	/**
+	 * The bytes of a model are accounted to its class and to the component holding it.
+	 */
+	public void testAttribution()
+	{
+		PageSizeAnalyzer analyzer = new PageSizeAnalyzer();
+		analyzer.analyze(null, new TestPage(), -1);
+		PageSizeReport report = analyzer.getReport();
+
+		assertEquals(1, report.getPageCount());
+		assertEquals(0, report.getFailures());
+		assertTrue(report.getTotalBytes() > 10000);
+
+		Entry model = report.getTop(Category.MODEL, 1).get(0);
+		assertEquals(HeavyModel.class.getName(), model.getKey());
+		assertTrue(model.getTotalBytes() > 10000);
+
+		List<Entry> components = report.getTop(Category.COMPONENT, 10);
+		assertEquals(TestPage.class.getName() + ":heavy", components.get(0).getKey());
+		assertTrue(components.get(0).getTotalBytes() >= model.getTotalBytes());
+
+		Entry rows = null;
+		for (Entry entry : components)
+		{
+			if (entry.getKey().endsWith(":rows:*"))
+			{
+				rows = entry;
+			}
+		}
+		assertNotNull(rows);
+		assertEquals(3, rows.getCount());
+
+		Entry behavior = report.getTop(Category.BEHAVIOR, 1).get(0);
+		assertEquals(AttributeModifier.class.getName(), behavior.getKey());
+	}
+
+	/**
+	 * The bytes of a component's own fields are accounted to the component, also when other
+	 * components were written before it.
+	 */
+	public void testComponentFields()
+	{
+		HeavyLabelPage page = new HeavyLabelPage();
+		PageSizeAnalyzer analyzer = new PageSizeAnalyzer();
+		analyzer.analyze(null, page, -1);
+		PageSizeReport report = analyzer.getReport();
+
+		Entry component = report.getTop(Category.COMPONENT, 1).get(0);
+		assertEquals(HeavyLabelPage.class.getName() + ":label", component.getKey());
+		assertTrue(component.getTotalBytes() > 10000);
+
+		// the attributed bytes are close to the size of the serialized page
+		int size = new JavaSerializer("test").serialize(page).length;
+		assertTrue(report.getTotalBytes() > size * 9 / 10);
+	}
+
+	/**
+	 * Pages stored in a disk data store are analyzed per session.
+	 */
+	public void testDiskStore()
+	{
+		File folder = new File(System.getProperty("java.io.tmpdir"), "PageSizeAnalyzerTest");
+		DebugDiskDataStore dataStore = new DebugDiskDataStore("test", folder, Bytes.MAX);
+		try
+		{
+			JavaSerializer serializer = new JavaSerializer("test");
+			TestPage page = new TestPage();
+			byte[] data = serializer.serialize(page);
+			dataStore.storeData("session1", page.getPageId(), data);
+			dataStore.storeData("session2", page.getPageId(), data);
+
+			PageSizeReport report = new DiskStoreAnalyzer(dataStore, serializer).analyze();
+
+			assertEquals(2, report.getPageCount());
+			assertEquals(2, report.getSessionCount());
+			assertEquals(2L * data.length, report.getTotalBytes());
+			Entry pages = report.getTop(Category.PAGE, 1).get(0);
+			assertEquals(TestPage.class.getName(), pages.getKey());
+			assertEquals(data.length, pages.getMaxBytes());
+		}
+		finally
+		{
+			dataStore.removeData("session1");
+			dataStore.removeData("session2");
+			Files.removeFolder(folder);
+		}
+	}
+
+	/**
+	 * Repeater item indexes are folded.
+	 */
+	public void testFoldItems()
+	{
+		assertEquals("", PageSizeAnalyzer.foldItems(""));
+		assertEquals("form:rows:*:cells:*:cell",
+			PageSizeAnalyzer.foldItems("form:rows:1:cells:12:cell"));
+		assertEquals("a1:b", PageSizeAnalyzer.foldItems("a1:b"));
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.devutils.profiler;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.wicket.application.IComponentRenderPhaseListener.Phase;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.model.AbstractReadOnlyModel;
+import org.apache.wicket.util.tester.WicketTester;
+
+/**
+ * Tests for {@link RenderProfiler}
+ */
+public class RenderProfilerTest extends TestCase
+{
+	private WicketTester tester;
+
+	private RenderProfiler profiler;
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override
+	public void setUp()
+	{
+		tester = new WicketTester();
+		tester.getApplication().getDebugSettings().setDevelopmentUtilitiesEnabled(true);
+		profiler = RenderProfiler.register(tester.getApplication());
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override
+	public void tearDown()
+	{
+		tester.destroy();
+	}
+
+	/**
+	 * The time spent in a model is attributed to the component's model phase.
+	 */
+	public void testSlowModel()
+	{
+		tester.startComponentInPage(new Label("label", new AbstractReadOnlyModel<String>()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String getObject()
+			{
+				try
+				{
+					Thread.sleep(20);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				return "slow";
+			}
+		}));
+
+		List<RenderProfile> profiles = profiler.getProfiles();
+		assertEquals(1, profiles.size());
+		RenderProfile profile = profiles.get(0);
+		assertEquals(profile, profiler.getProfile(profile.getId()));
+
+		ComponentProfile label = profile.getHotspots(1).get(0);
+		assertEquals("label", label.getPath());
+		assertEquals(Label.class.getName(), label.getClassName());
+		assertTrue(label.getNanos(Phase.MODEL) >= 15000000L);
+		assertTrue(label.getCalls(Phase.CONFIGURE) > 0);
+		assertTrue(label.getCalls(Phase.COMPONENT_TAG) > 0);
+
+		// the label's time does not count as self time of the page
+		ComponentProfile page = profile.getRoot();
+		assertEquals("", page.getPath());
+		assertTrue(page.getSelfNanos() < label.getSelfNanos());
+		assertTrue(page.getTotalNanos() >= label.getTotalNanos());
+		assertTrue(page.getChildren().contains(label));
+
+		String json = profile.toJson();
+		assertTrue(json.startsWith("{\"id\":" + profile.getId() + ","));
+		assertTrue(json.contains("\"path\":\"label\""));
+		assertTrue(json.contains("\"MODEL\":{\"nanos\":"));
+	}
+
+	/**
+	 * The profile page shows the profiles but is not profiled itself.
+	 */
+	public void testProfilePage()
+	{
+		tester.startComponentInPage(new Label("label", "fast"));
+		RenderProfile profile = profiler.getProfiles().get(0);
+
+		tester.startPage(RenderProfilePage.class);
+		tester.assertRenderedPage(RenderProfilePage.class);
+		tester.assertContains("flame-node");
+		tester.assertContains("Hotspots");
+		assertEquals(1, profiler.getProfiles().size());
+
+		tester.clickLink("selected:export");
+		assertTrue(tester.getLastResponseAsString().contains("\"id\":" + profile.getId()));
+	}
+}
@@ -26,6 +26,7 @@ import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.navigation.paging.IPageableItems;
+import org.apache.wicket.markup.html.navigation.paging.ISequentialPageable;
 import org.apache.wicket.markup.html.panel.Panel;
 import org.apache.wicket.markup.repeater.IItemReuseStrategy;
 import org.apache.wicket.markup.repeater.Item;
@@ -75,7 +76,7 @@ import org.apache.wicket.util.visit.IVisitor;
  *            The model object type
  * 
  */
-public class DataTable<T> extends Panel implements IPageableItems
+public class DataTable<T> extends Panel implements IPageableItems, ISequentialPageable
 {
 	static abstract class CssAttributeBehavior extends Behavior
 	{
@@ -275,6 +276,14 @@ public class DataTable<T> extends Panel implements IPageableItems
 		return datagrid.getPageCount();
 	}
 
+	/**
+	 * @see org.apache.wicket.markup.html.navigation.paging.ISequentialPageable#isPageCountKnown()
+	 */
+	public final boolean isPageCountKnown()
+	{
+		return datagrid.isPageCountKnown();
+	}
+
 	/**
 	 * @return total number of rows in this table
 	 */
@@ -20,6 +20,7 @@ package org.apache.wicket.extensions.markup.html.repeater.data.table;
 import org.apache.wicket.IClusterable;
 import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.navigation.paging.IPageableItems;
+import org.apache.wicket.markup.html.navigation.paging.ISequentialPageable;
 import org.apache.wicket.model.Model;
 import org.apache.wicket.model.StringResourceModel;
 
@@ -29,6 +30,10 @@ import org.apache.wicket.model.StringResourceModel;
  * overridden using the <code>NavigatorLabel</code> property key, the default message is used is of
  * the format <code>Showing ${from} to ${to} of ${of}</code>. The message can also be configured
  * pragmatically by setting it as the model object of the label.
+ * <p>
+ * If the pageable does not know its total item count (see {@link ISequentialPageable}) the
+ * <code>NavigatorLabel.sequential</code> key is used instead, which defaults to
+ * <code>Showing ${from} to ${to}</code>.
  * 
  * @author Igor Vaynberg (ivaynberg)
  * 
@@ -46,7 +51,13 @@ public class NavigatorLabel extends Label
 	public NavigatorLabel(final String id, final IPageableItems pageable)
 	{
 		super(id);
-		setDefaultModel(new StringResourceModel("NavigatorLabel", this,
+		String resourceKey = "NavigatorLabel";
+		if (pageable instanceof ISequentialPageable &&
+			!((ISequentialPageable)pageable).isPageCountKnown())
+		{
+			resourceKey = "NavigatorLabel.sequential";
+		}
+		setDefaultModel(new StringResourceModel(resourceKey, this,
 			new Model<LabelModelObject>(new LabelModelObject(pageable))));
 	}
 
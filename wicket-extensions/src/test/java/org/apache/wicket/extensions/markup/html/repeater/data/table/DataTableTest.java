@@ -16,6 +16,7 @@
  */
 package org.apache.wicket.extensions.markup.html.repeater.data.table;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +27,7 @@ import org.apache.wicket.MarkupContainer;
 import org.apache.wicket.markup.IMarkupResourceStreamProvider;
 import org.apache.wicket.markup.html.WebPage;
 import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.markup.repeater.data.ISequentialDataProvider;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
 import org.apache.wicket.request.mapper.parameter.PageParameters;
@@ -147,6 +149,125 @@ public class DataTableTest extends Assert
 
 	}
 
+	/**
+	 * Tests paging over an {@link ISequentialDataProvider}: size() is never called and the
+	 * continuation of the previous page is handed back to the provider.
+	 */
+	@Test
+	public void sequentialPaging()
+	{
+		SequentialPage page = new SequentialPage();
+		tester.startPage(page);
+		String navigator = page.toolbar.getPageRelativePath() + ":span:navigator:";
+
+		String document = tester.getLastResponseAsString();
+		assertTrue(document.contains("Showing 1 to 10<"));
+		assertTrue(document.contains(">9<"));
+		assertFalse(document.contains(">10<"));
+		assertNull(page.lastContinuation);
+		assertEquals(11, page.lastCount);
+
+		tester.clickLink(navigator + "next");
+		document = tester.getLastResponseAsString();
+		assertTrue(document.contains("Showing 11 to 20<"));
+		assertTrue(document.contains(">19<"));
+		assertEquals(9, page.lastContinuation);
+
+		tester.clickLink(navigator + "next");
+		document = tester.getLastResponseAsString();
+		assertTrue(document.contains("Showing 21 to 25<"));
+		assertTrue(document.contains(">24<"));
+		assertEquals(19, page.lastContinuation);
+		assertEquals(3, page.table.getPageCount());
+		assertFalse(page.table.isPageCountKnown());
+
+		tester.clickLink(navigator + "first");
+		document = tester.getLastResponseAsString();
+		assertTrue(document.contains("Showing 1 to 10<"));
+		assertNull(page.lastContinuation);
+	}
+
+	/**
+	 * A page with a DataTable backed by a sequential data provider
+	 */
+	public static class SequentialPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		private Serializable lastContinuation;
+
+		private long lastCount;
+
+		private final DataTable<Integer> table;
+
+		private final NavigationToolbar toolbar;
+
+		/**
+		 * Construct.
+		 */
+		public SequentialPage()
+		{
+			ISequentialDataProvider<Integer> provider = new ISequentialDataProvider<Integer>()
+			{
+				private static final long serialVersionUID = 1L;
+
+				public void detach()
+				{
+				}
+
+				public Iterator<? extends Integer> iterator(long first, long count)
+				{
+					return iterator(null, first, count);
+				}
+
+				public Iterator<? extends Integer> iterator(Serializable continuation, long first,
+					long count)
+				{
+					lastContinuation = continuation;
+					lastCount = count;
+
+					int start = continuation != null ? (Integer)continuation + 1 : (int)first;
+					List<Integer> items = new ArrayList<Integer>();
+					for (int i = start; i < 25 && items.size() < count; i++)
+					{
+						items.add(i);
+					}
+					return items.iterator();
+				}
+
+				public Serializable continuation(Integer object)
+				{
+					return object;
+				}
+
+				public long size()
+				{
+					throw new UnsupportedOperationException();
+				}
+
+				public IModel<Integer> model(Integer object)
+				{
+					return Model.of(object);
+				}
+			};
+
+			List<IColumn<Integer>> columns = new ArrayList<IColumn<Integer>>();
+			columns.add(new PropertyColumn<Integer>(Model.of("value"), "intValue"));
+
+			table = new DataTable<Integer>("table", columns, provider, 10);
+			toolbar = new NavigationToolbar(table);
+			table.addTopToolbar(toolbar);
+			add(table);
+		}
+
+		public IResourceStream getMarkupResourceStream(MarkupContainer container,
+			Class<?> containerClass)
+		{
+			return new StringResourceStream(
+				"<html><body><table wicket:id='table'></table></body></html>");
+		}
+	}
+
 	private String removeFillers(String doc)
 	{
 		doc = doc.replaceAll("(?s)<span .*?>.*?</span>", "<x/>");
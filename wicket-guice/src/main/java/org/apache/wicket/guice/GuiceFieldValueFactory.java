@@ -19,11 +19,13 @@ package org.apache.wicket.guice;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.injection.IFieldValueFactory;
 import org.apache.wicket.proxy.IProxyTargetLocator;
 import org.apache.wicket.proxy.LazyInitProxyFactory;
+import org.apache.wicket.util.lang.Generics;
 
 import com.google.inject.BindingAnnotation;
 import com.google.inject.Inject;
@@ -35,6 +37,9 @@ public class GuiceFieldValueFactory implements IFieldValueFactory
 {
 	private final boolean wrapInProxies;
 
+	/** locators of the injectable fields, to not read their annotations for every injection */
+	private final ConcurrentMap<Field, IProxyTargetLocator> locators = Generics.newConcurrentHashMap();
+
 	/**
 	 * Construct.
 	 * 
@@ -59,9 +64,14 @@ public class GuiceFieldValueFactory implements IFieldValueFactory
 			{
 				try
 				{
-					Annotation bindingAnnotation = findBindingAnnotation(field.getAnnotations());
-					final IProxyTargetLocator locator = new GuiceProxyTargetLocator(field,
-						bindingAnnotation, injectAnnotation.optional());
+					IProxyTargetLocator locator = locators.get(field);
+					if (locator == null)
+					{
+						Annotation bindingAnnotation = findBindingAnnotation(field.getAnnotations());
+						locator = new GuiceProxyTargetLocator(field, bindingAnnotation,
+							injectAnnotation.optional());
+						locators.put(field, locator);
+					}
 
 					if (wrapInProxies)
 					{
@@ -28,6 +28,9 @@ import org.apache.wicket.util.collections.ClassMetaCache;
  * Injector scans fields of an object instance and checks if the specified
  * {@link IFieldValueFactory} can provide a value for a field; if it can, the field is set to that
  * value. Injector will ignore all non-null fields.
+ * <p>
+ * The injectable fields of a class are looked up once and are made accessible at that time, so
+ * injecting further instances of the class only reads and writes those fields.
  * 
  * @author Igor Vaynberg (ivaynberg)
  * 
@@ -98,16 +101,10 @@ public abstract class Injector
 
 		for (final Field field : fields)
 		{
-			if (!field.isAccessible())
-			{
-				field.setAccessible(true);
-			}
 			try
 			{
-
 				if (field.get(object) == null)
 				{
-
 					Object value = factory.getFieldValue(field, object);
 
 					if (value != null)
@@ -130,7 +127,8 @@ public abstract class Injector
 	}
 
 	/**
-	 * Returns an array of fields that can be injected using the given field value factory
+	 * Returns an array of fields that can be injected using the given field value factory. The
+	 * returned fields are accessible.
 	 * 
 	 * @param clazz
 	 * @param factory
@@ -147,6 +145,10 @@ public abstract class Injector
 			{
 				if (factory.supportsField(field))
 				{
+					if (!field.isAccessible())
+					{
+						field.setAccessible(true);
+					}
 					matched.add(field);
 				}
 			}
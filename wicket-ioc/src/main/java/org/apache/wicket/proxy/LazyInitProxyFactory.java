@@ -21,12 +21,16 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.List;
 
 import net.sf.cglib.core.DefaultNamingPolicy;
 import net.sf.cglib.core.Predicate;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
@@ -45,7 +49,8 @@ import org.apache.wicket.util.lang.WicketObjects;
  * forwarded.
  * <p>
  * This factory creates two kinds of proxies: A standard dynamic proxy when the specified type is an
- * interface, and a CGLib proxy when the specified type is a concrete class.
+ * interface, and a CGLib proxy when the specified type is a concrete class. CGLib proxies call the
+ * public methods of the target directly, without reflection.
  * <p>
  * The general use case for such a proxy is to represent a dependency that should not be serialized
  * with a wicket page or {@link IModel}. The solution is to serialize the proxy and the
@@ -162,7 +167,8 @@ public class LazyInitProxyFactory
 			e.setInterfaces(new Class[] { Serializable.class, ILazyInitProxy.class,
 					IWriteReplace.class });
 			e.setSuperclass(type);
-			e.setCallback(handler);
+			e.setCallbackFilter(CGLibCallbackFilter.INSTANCE);
+			e.setCallbacks(new Callback[] { handler, new CGLibDispatcher(handler) });
 			e.setNamingPolicy(new DefaultNamingPolicy()
 			{
 				@Override
@@ -240,6 +246,67 @@ public class LazyInitProxyFactory
 		}
 	}
 
+	/**
+	 * Decides which methods of a cglib proxy are handled by the {@link CGLibInterceptor} and which
+	 * are dispatched to the target by the {@link CGLibDispatcher}. A single instance is used so
+	 * cglib can reuse the generated proxy classes.
+	 */
+	private static final class CGLibCallbackFilter implements CallbackFilter
+	{
+		private static final CGLibCallbackFilter INSTANCE = new CGLibCallbackFilter();
+
+		private static final int INTERCEPT = 0;
+
+		private static final int DISPATCH = 1;
+
+		/**
+		 * @see net.sf.cglib.proxy.CallbackFilter#accept(java.lang.reflect.Method)
+		 */
+		public int accept(final Method method)
+		{
+			final Class<?> declaringClass = method.getDeclaringClass();
+			if (!Modifier.isPublic(method.getModifiers()) ||
+				!Modifier.isPublic(declaringClass.getModifiers()) ||
+				(declaringClass == Object.class) || (declaringClass == ILazyInitProxy.class) ||
+				isFinalizeMethod(method) || isEqualsMethod(method) || isHashCodeMethod(method) ||
+				isToStringMethod(method) || isWriteReplaceMethod(method))
+			{
+				return INTERCEPT;
+			}
+			return DISPATCH;
+		}
+	}
+
+	/**
+	 * Dispatcher for the public methods of cglib proxies. The generated proxy calls the method
+	 * directly on the object returned by {@link #loadObject()}.
+	 */
+	private static class CGLibDispatcher implements Dispatcher, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final CGLibInterceptor interceptor;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param interceptor
+		 *            interceptor that holds the target
+		 */
+		public CGLibDispatcher(final CGLibInterceptor interceptor)
+		{
+			this.interceptor = interceptor;
+		}
+
+		/**
+		 * @see net.sf.cglib.proxy.Dispatcher#loadObject()
+		 */
+		public Object loadObject()
+		{
+			return interceptor.getTarget();
+		}
+	}
+
 	/**
 	 * Method interceptor for proxies representing concrete object not backed by an interface. These
 	 * proxies are representing by cglib proxies.
@@ -311,11 +378,19 @@ public class LazyInitProxyFactory
 				return getObjectLocator();
 			}
 
+			return proxy.invoke(getTarget(), args);
+		}
+
+		/**
+		 * @return the target, located on first access
+		 */
+		private Object getTarget()
+		{
 			if (target == null)
 			{
 				target = locator.locateProxyTarget();
 			}
-			return proxy.invoke(target, args);
+			return target;
 		}
 
 		/**
@@ -447,9 +522,9 @@ public class LazyInitProxyFactory
 	 */
 	protected static boolean isEqualsMethod(final Method method)
 	{
-		return (method.getReturnType() == boolean.class) &&
+		return method.getName().equals("equals") && (method.getReturnType() == boolean.class) &&
 			(method.getParameterTypes().length == 1) &&
-			(method.getParameterTypes()[0] == Object.class) && method.getName().equals("equals");
+			(method.getParameterTypes()[0] == Object.class);
 	}
 
 	/**
@@ -461,8 +536,8 @@ public class LazyInitProxyFactory
 	 */
 	protected static boolean isHashCodeMethod(final Method method)
 	{
-		return (method.getReturnType() == int.class) && (method.getParameterTypes().length == 0) &&
-			method.getName().equals("hashCode");
+		return method.getName().equals("hashCode") && (method.getReturnType() == int.class) &&
+			(method.getParameterTypes().length == 0);
 	}
 
 	/**
@@ -474,8 +549,8 @@ public class LazyInitProxyFactory
 	 */
 	protected static boolean isToStringMethod(final Method method)
 	{
-		return (method.getReturnType() == String.class) &&
-			(method.getParameterTypes().length == 0) && method.getName().equals("toString");
+		return method.getName().equals("toString") && (method.getReturnType() == String.class) &&
+			(method.getParameterTypes().length == 0);
 	}
 
 	/**
@@ -487,8 +562,8 @@ public class LazyInitProxyFactory
 	 */
 	protected static boolean isFinalizeMethod(final Method method)
 	{
-		return (method.getReturnType() == void.class) && (method.getParameterTypes().length == 0) &&
-			method.getName().equals("finalize");
+		return method.getName().equals("finalize") && (method.getReturnType() == void.class) &&
+			(method.getParameterTypes().length == 0);
 	}
 
 	/**
@@ -500,7 +575,7 @@ public class LazyInitProxyFactory
 	 */
 	protected static boolean isWriteReplaceMethod(final Method method)
 	{
-		return (method.getReturnType() == Object.class) &&
-			(method.getParameterTypes().length == 0) && method.getName().equals("writeReplace");
+		return method.getName().equals("writeReplace") && (method.getReturnType() == Object.class) &&
+			(method.getParameterTypes().length == 0);
 	}
 }
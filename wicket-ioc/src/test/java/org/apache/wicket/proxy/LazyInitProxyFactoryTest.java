@@ -188,4 +188,36 @@ public class LazyInitProxyFactoryTest extends Assert
 		String proxy = (String)LazyInitProxyFactory.createProxy(String.class, stringObjectLocator);
 		assertEquals("StringLiteral", proxy);
 	}
+
+	/**
+	 * Tests that a concrete proxy locates its target once and shares its class with other proxies
+	 * of the same type
+	 */
+	@Test
+	public void testConcreteProxyLocatesOnce()
+	{
+		final int[] located = { 0 };
+		IProxyTargetLocator countingLocator = new IProxyTargetLocator()
+		{
+			private static final long serialVersionUID = 1L;
+
+			public Object locateProxyTarget()
+			{
+				located[0]++;
+				return concreteObject;
+			}
+		};
+
+		ConcreteObject proxy = (ConcreteObject)LazyInitProxyFactory.createProxy(
+			ConcreteObject.class, countingLocator);
+		assertEquals(0, located[0]);
+		assertEquals("concrete", proxy.getMessage());
+		assertEquals("concrete", proxy.getMessage());
+		assertEquals(1, located[0]);
+
+		ConcreteObject other = (ConcreteObject)LazyInitProxyFactory.createProxy(
+			ConcreteObject.class, concreteObjectLocator);
+		assertSame(proxy.getClass(), other.getClass());
+		assertEquals("concrete", other.getMessage());
+	}
 }
@@ -31,6 +31,7 @@ import javax.management.ObjectName;
 
 import org.apache.wicket.IInitializer;
 import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.cycle.RequestPhase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -194,6 +195,17 @@ public class Initializer implements IInitializer
 			RequestLogger sessionsBean = new RequestLogger(application);
 			ObjectName sessionsBeanName = new ObjectName(domain + ":type=RequestLogger");
 			register(sessionsBean, sessionsBeanName);
+
+			// time the request phases, unless the application already does
+			if (application.getRequestPhaseStatistics() == null)
+			{
+				application.setRequestPhaseStatistics(new org.apache.wicket.request.cycle.RequestPhaseStatistics());
+			}
+			for (RequestPhase phase : RequestPhase.values())
+			{
+				register(new RequestPhaseStatistics(application, phase), new ObjectName(domain +
+					":type=RequestPhases,name=" + phase.name()));
+			}
 		}
 		catch (MalformedObjectNameException e)
 		{
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.jmx;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.request.cycle.PhaseStatistics;
+import org.apache.wicket.request.cycle.RequestPhase;
+
+
+/**
+ * Exposes the times of a {@link RequestPhase} recorded by
+ * {@link org.apache.wicket.request.cycle.RequestPhaseStatistics} for JMX.
+ */
+public class RequestPhaseStatistics implements RequestPhaseStatisticsMBean
+{
+	/** number of keys listed by {@link #getTopByTotalTime()} */
+	private static final int TOP = 10;
+
+	private final org.apache.wicket.Application application;
+
+	private final RequestPhase phase;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param application
+	 *            The application
+	 * @param phase
+	 *            The phase to expose
+	 */
+	public RequestPhaseStatistics(final org.apache.wicket.Application application,
+		final RequestPhase phase)
+	{
+		this.application = application;
+		this.phase = phase;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#getCount()
+	 */
+	public Long getCount() throws IOException
+	{
+		PhaseStatistics statistics = getPhaseStatistics();
+		return statistics != null ? statistics.getCount() : null;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#getTotalTimeMillis()
+	 */
+	public Long getTotalTimeMillis() throws IOException
+	{
+		PhaseStatistics statistics = getPhaseStatistics();
+		return statistics != null ? TimeUnit.NANOSECONDS.toMillis(statistics.getTotalNanos())
+			: null;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#getAverageTimeMillis()
+	 */
+	public Double getAverageTimeMillis() throws IOException
+	{
+		PhaseStatistics statistics = getPhaseStatistics();
+		return statistics != null ? toMillis(statistics.getAverageNanos()) : null;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#getMaxTimeMillis()
+	 */
+	public Double getMaxTimeMillis() throws IOException
+	{
+		PhaseStatistics statistics = getPhaseStatistics();
+		return statistics != null ? toMillis(statistics.getMaxNanos()) : null;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#getHistogram()
+	 */
+	public String[] getHistogram() throws IOException
+	{
+		PhaseStatistics statistics = getPhaseStatistics();
+		if (statistics == null)
+		{
+			return null;
+		}
+
+		long[] histogram = statistics.getHistogram();
+		long[] limits = PhaseStatistics.BUCKET_LIMITS;
+		String[] lines = new String[histogram.length];
+		for (int i = 0; i < limits.length; i++)
+		{
+			lines[i] = "<= " + limits[i] + "ms: " + histogram[i];
+		}
+		lines[limits.length] = "> " + limits[limits.length - 1] + "ms: " +
+			histogram[limits.length];
+		return lines;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#getTopByTotalTime()
+	 */
+	public String[] getTopByTotalTime() throws IOException
+	{
+		org.apache.wicket.request.cycle.RequestPhaseStatistics statistics = application.getRequestPhaseStatistics();
+		if (statistics == null)
+		{
+			return null;
+		}
+
+		List<Map.Entry<String, PhaseStatistics>> entries = new ArrayList<Map.Entry<String, PhaseStatistics>>(
+			statistics.getBreakdown(phase).entrySet());
+		Collections.sort(entries, new Comparator<Map.Entry<String, PhaseStatistics>>()
+		{
+			public int compare(Map.Entry<String, PhaseStatistics> o1,
+				Map.Entry<String, PhaseStatistics> o2)
+			{
+				long t1 = o1.getValue().getTotalNanos();
+				long t2 = o2.getValue().getTotalNanos();
+				return t1 > t2 ? -1 : (t1 == t2 ? 0 : 1);
+			}
+		});
+
+		int size = Math.min(TOP, entries.size());
+		String[] lines = new String[size];
+		for (int i = 0; i < size; i++)
+		{
+			Map.Entry<String, PhaseStatistics> entry = entries.get(i);
+			lines[i] = entry.getKey() + ": " + entry.getValue();
+		}
+		return lines;
+	}
+
+	/**
+	 * @see org.apache.wicket.jmx.RequestPhaseStatisticsMBean#reset()
+	 */
+	public void reset() throws IOException
+	{
+		org.apache.wicket.request.cycle.RequestPhaseStatistics statistics = application.getRequestPhaseStatistics();
+		if (statistics != null)
+		{
+			statistics.reset();
+		}
+	}
+
+	/**
+	 * @return the statistics of the phase, or null if the application does not time the phases
+	 */
+	private PhaseStatistics getPhaseStatistics()
+	{
+		org.apache.wicket.request.cycle.RequestPhaseStatistics statistics = application.getRequestPhaseStatistics();
+		return statistics != null ? statistics.getStatistics(phase) : null;
+	}
+
+	private static Double toMillis(final long nanos)
+	{
+		return nanos / 1000000d;
+	}
+}
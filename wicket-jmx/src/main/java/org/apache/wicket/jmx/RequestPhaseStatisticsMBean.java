@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.jmx;
+
+import java.io.IOException;
+
+/**
+ * Interface for exposing the times of a request phase.
+ * 
+ * @see org.apache.wicket.request.cycle.RequestPhase
+ */
+public interface RequestPhaseStatisticsMBean
+{
+	/**
+	 * @return number of times the phase was executed
+	 * @throws IOException
+	 */
+	Long getCount() throws IOException;
+
+	/**
+	 * @return total time spent in the phase in milliseconds
+	 * @throws IOException
+	 */
+	Long getTotalTimeMillis() throws IOException;
+
+	/**
+	 * @return average time of the phase in milliseconds
+	 * @throws IOException
+	 */
+	Double getAverageTimeMillis() throws IOException;
+
+	/**
+	 * @return longest time of the phase in milliseconds
+	 * @throws IOException
+	 */
+	Double getMaxTimeMillis() throws IOException;
+
+	/**
+	 * @return number of executions per time range, like "&lt;= 10ms: 42"
+	 * @throws IOException
+	 */
+	String[] getHistogram() throws IOException;
+
+	/**
+	 * @return the page or handler classes that took most of the time of the phase, with their
+	 *         counts and times
+	 * @throws IOException
+	 */
+	String[] getTopByTotalTime() throws IOException;
+
+	/**
+	 * Discards the recorded times of all phases.
+	 * 
+	 * @throws IOException
+	 */
+	void reset() throws IOException;
+}
@@ -90,31 +90,32 @@ public final class Url implements Serializable
 	}
 
 	/**
+	 * Parses the query parameter between <code>start</code> and <code>end</code> of the query
+	 * string.
 	 * 
-	 * @param qp
+	 * @param query
+	 * @param start
+	 * @param end
 	 * @param charset
 	 * @return query parameters
 	 */
-	private static QueryParameter parseQueryParameter(final String qp, final Charset charset)
+	private static QueryParameter parseQueryParameter(final String query, final int start,
+		final int end, final Charset charset)
 	{
-		if (qp.indexOf('=') == -1)
+		final int equalsAt = query.indexOf('=', start);
+		if (equalsAt == -1 || equalsAt >= end)
 		{
-			return new QueryParameter(decodeParameter(qp, charset), "");
+			return new QueryParameter(decodeParameter(query.substring(start, end), charset), "");
 		}
-		String parts[] = Strings.split(qp, '=');
-		if (parts.length == 0)
-		{
-			return new QueryParameter("", "");
-		}
-		else if (parts.length == 1)
-		{
-			return new QueryParameter("", decodeParameter(parts[0], charset));
-		}
-		else
+
+		// anything after a second '=' is ignored
+		int valueEnd = query.indexOf('=', equalsAt + 1);
+		if (valueEnd == -1 || valueEnd > end)
 		{
-			return new QueryParameter(decodeParameter(parts[0], charset), decodeParameter(parts[1],
-				charset));
+			valueEnd = end;
 		}
+		return new QueryParameter(decodeParameter(query.substring(start, equalsAt), charset),
+			decodeParameter(query.substring(equalsAt + 1, valueEnd), charset));
 	}
 
 	/**
@@ -214,38 +215,34 @@ public final class Url implements Serializable
 
 		if (relativeUrl.length() > 0)
 		{
-			boolean removeLast = false;
-			if (relativeUrl.endsWith("/"))
-			{
-				// we need to append something and remove it after splitting
-				// because otherwise the
-				// trailing slashes will be lost
-				relativeUrl += "/x";
-				removeLast = true;
-			}
-
-			String segmentArray[] = Strings.split(relativeUrl, '/');
-
-			if (removeLast)
+			// split at each '/', keeping empty segments (including a trailing one)
+			int start = 0;
+			while (true)
 			{
-				segmentArray[segmentArray.length - 1] = null;
-			}
-
-			for (String s : segmentArray)
-			{
-				if (s != null)
+				final int slashAt = relativeUrl.indexOf('/', start);
+				final int end = slashAt == -1 ? relativeUrl.length() : slashAt;
+				result.segments.add(decodeSegment(relativeUrl.substring(start, end), charset));
+				if (slashAt == -1)
 				{
-					result.segments.add(decodeSegment(s, charset));
+					break;
 				}
+				start = slashAt + 1;
 			}
 		}
 
 		if (queryString.length() > 0)
 		{
-			String queryArray[] = Strings.split(queryString, '&');
-			for (String s : queryArray)
+			int start = 0;
+			while (true)
 			{
-				result.parameters.add(parseQueryParameter(s, charset));
+				final int ampAt = queryString.indexOf('&', start);
+				final int end = ampAt == -1 ? queryString.length() : ampAt;
+				result.parameters.add(parseQueryParameter(queryString, start, end, charset));
+				if (ampAt == -1)
+				{
+					break;
+				}
+				start = ampAt + 1;
 			}
 		}
 
@@ -718,7 +715,7 @@ public final class Url implements Serializable
 
 
 		result.append(path);
-		result.append(getQueryString(charset));
+		appendQueryString(result, charset);
 		return result.toString();
 	}
 
@@ -940,13 +937,24 @@ public final class Url implements Serializable
 		public String toString(final Charset charset)
 		{
 			StringBuilder result = new StringBuilder();
+			appendTo(result, charset);
+			return result.toString();
+		}
+
+		/**
+		 * Appends the encoded parameter to the builder.
+		 * 
+		 * @param result
+		 * @param charset
+		 */
+		private void appendTo(final StringBuilder result, final Charset charset)
+		{
 			result.append(encodeParameter(getName(), charset));
 			if (!Strings.isEmpty(getValue()))
 			{
 				result.append('=');
 				result.append(encodeParameter(getValue(), charset));
 			}
-			return result.toString();
 		}
 	}
 
@@ -1080,10 +1088,16 @@ public final class Url implements Serializable
 	{
 		Args.notNull(charset, "charset");
 
+		final List<String> segments = getSegments();
+		if (segments.size() == 1)
+		{
+			return encodeSegment(segments.get(0), charset);
+		}
+
 		StringBuilder path = new StringBuilder();
 		boolean slash = false;
 
-		for (String segment : getSegments())
+		for (String segment : segments)
 		{
 			if (slash)
 			{
@@ -1117,14 +1131,31 @@ public final class Url implements Serializable
 	{
 		Args.notNull(charset, "charset");
 
+		if (parameters.isEmpty())
+		{
+			return "";
+		}
+
 		StringBuilder query = new StringBuilder();
+		appendQueryString(query, charset);
+		return query.toString();
+	}
 
+	/**
+	 * Appends the query string part of url in given encoding to the builder.
+	 * 
+	 * @param result
+	 * @param charset
+	 */
+	private void appendQueryString(final StringBuilder result, final Charset charset)
+	{
+		boolean first = true;
 		for (QueryParameter parameter : getQueryParameters())
 		{
-			query.append(query.length() == 0 ? '?' : '&');
-			query.append(parameter.toString(charset));
+			result.append(first ? '?' : '&');
+			parameter.appendTo(result, charset);
+			first = false;
 		}
-		return query.toString();
 	}
 
 	/**
@@ -89,17 +89,23 @@ public class UrlDecoder
 			return null;
 		}
 
-		boolean needToChange = false;
-		int numChars = s.length();
-		StringBuilder sb = new StringBuilder(numChars > 500 ? numChars / 2 : numChars);
-		int i = 0;
-
 		if (enc.length() == 0)
 		{
 			throw new RuntimeException(new UnsupportedEncodingException(
 				"URLDecoder: empty string enc parameter"));
 		}
 
+		if (isDecoded(s))
+		{
+			// nothing to decode
+			return s;
+		}
+
+		boolean needToChange = false;
+		int numChars = s.length();
+		StringBuilder sb = new StringBuilder(numChars > 500 ? numChars / 2 : numChars);
+		int i = 0;
+
 		char c;
 		byte[] bytes = null;
 		while (i < numChars)
@@ -175,4 +181,24 @@ public class UrlDecoder
 
 		return (needToChange ? sb.toString() : s);
 	}
+
+	/**
+	 * Checks whether the string contains nothing to decode, i.e. no escape sequence and no '+'
+	 * (if pluses are decoded).
+	 * 
+	 * @param s
+	 * @return <code>true</code> if decoding would not change the string
+	 */
+	private boolean isDecoded(final String s)
+	{
+		for (int i = 0; i < s.length(); i++)
+		{
+			char c = s.charAt(i);
+			if (c == '%' || (c == '+' && decodePlus))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
 }
\ No newline at end of file
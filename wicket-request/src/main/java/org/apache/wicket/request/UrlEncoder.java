@@ -234,19 +234,6 @@ public class UrlEncoder
 		}
 	}
 
-	/**
-	 * @param s
-	 *            string to encode
-	 * @param charset
-	 *            charset to use for encoding
-	 * @return encoded string
-	 * @see java.net.URLEncoder#encode(String, String)
-	 */
-	public String encode(final String s, final Charset charset)
-	{
-		return encode(s, charset.name());
-	}
-
 	/**
 	 * @param s
 	 *            string to encode
@@ -257,13 +244,9 @@ public class UrlEncoder
 	 */
 	public String encode(final String s, final String charsetName)
 	{
-		boolean needToChange = false;
-		StringBuilder out = new StringBuilder(s.length());
-		Charset charset;
-		CharArrayWriter charArrayWriter = new CharArrayWriter();
-
 		Args.notNull(charsetName, "charsetName");
 
+		final Charset charset;
 		try
 		{
 			charset = Charset.forName(charsetName);
@@ -277,6 +260,31 @@ public class UrlEncoder
 			throw new RuntimeException(new UnsupportedEncodingException(charsetName));
 		}
 
+		return encode(s, charset);
+	}
+
+	/**
+	 * @param s
+	 *            string to encode
+	 * @param charset
+	 *            charset to use for encoding
+	 * @return encoded string
+	 * @see java.net.URLEncoder#encode(String, String)
+	 */
+	public String encode(final String s, final Charset charset)
+	{
+		Args.notNull(charset, "charset");
+
+		if (isEncoded(s))
+		{
+			// nothing to encode
+			return s;
+		}
+
+		boolean needToChange = false;
+		StringBuilder out = new StringBuilder(s.length() + 16);
+		CharArrayWriter charArrayWriter = new CharArrayWriter();
+
 		boolean stopEncoding = false;
 		for (int i = 0; i < s.length();)
 		{
@@ -339,15 +347,7 @@ public class UrlEncoder
 
 				charArrayWriter.flush();
 				String str = new String(charArrayWriter.toCharArray());
-				byte[] ba;
-				try
-				{
-					ba = str.getBytes(charset.name());
-				}
-				catch (UnsupportedEncodingException e)
-				{
-					throw new RuntimeException(e);
-				}
+				byte[] ba = str.getBytes(charset);
 				for (byte b : ba)
 				{
 					out.append('%');
@@ -373,4 +373,29 @@ public class UrlEncoder
 
 		return (needToChange ? out.toString() : s);
 	}
+
+	/**
+	 * Checks whether the string contains nothing to encode, so it can be used as is.
+	 * 
+	 * @param s
+	 * @return <code>true</code> if encoding would not change the string
+	 */
+	private boolean isEncoded(final String s)
+	{
+		boolean stopEncoding = false;
+		for (int i = 0; i < s.length(); i++)
+		{
+			char c = s.charAt(i);
+			if ((stopEncoding == false) && (c == stopChar))
+			{
+				stopEncoding = true;
+			}
+			// a space is always changed, either to '+' or to "%20"
+			if ((c == ' ') || ((stopEncoding == false) && !dontNeedEncoding.get(c)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
 }
\ No newline at end of file
@@ -37,4 +37,32 @@ public class UrlEncoderTest
 		Assert.assertEquals("someone%27s%20bad%20url",
 			UrlEncoder.FULL_PATH_INSTANCE.encode("someone's bad url", CharEncoding.UTF_8));
 	}
+
+	/**
+	 * Strings that need no encoding are returned as they are.
+	 */
+	@Test
+	public void encodeUnchanged()
+	{
+		String segment = "foo-bar_1.html";
+		Assert.assertSame(segment, UrlEncoder.PATH_INSTANCE.encode(segment, CharEncoding.UTF_8));
+		Assert.assertSame(segment, UrlEncoder.QUERY_INSTANCE.encode(segment, CharEncoding.UTF_8));
+
+		Assert.assertEquals("a%20b", UrlEncoder.PATH_INSTANCE.encode("a b", CharEncoding.UTF_8));
+		Assert.assertEquals("a+b", UrlEncoder.QUERY_INSTANCE.encode("a b", CharEncoding.UTF_8));
+		Assert.assertEquals("%C3%A4", UrlEncoder.PATH_INSTANCE.encode("\u00e4", CharEncoding.UTF_8));
+	}
+
+	/**
+	 * Strings that need no decoding are returned as they are.
+	 */
+	@Test
+	public void decodeUnchanged()
+	{
+		String segment = "foo-bar_1.html";
+		Assert.assertSame(segment, UrlDecoder.PATH_INSTANCE.decode(segment, CharEncoding.UTF_8));
+		Assert.assertSame(segment, UrlDecoder.QUERY_INSTANCE.decode(segment, CharEncoding.UTF_8));
+		Assert.assertEquals("a+b", UrlDecoder.PATH_INSTANCE.decode("a+b", CharEncoding.UTF_8));
+		Assert.assertEquals("a b", UrlDecoder.QUERY_INSTANCE.decode("a+b", CharEncoding.UTF_8));
+	}
 }
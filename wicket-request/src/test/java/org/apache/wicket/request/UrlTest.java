@@ -163,6 +163,18 @@ public class UrlTest extends Assert
 		checkQueryParams(url, "a", "b");
 	}
 
+	/**
+	 * 
+	 */
+	@Test
+	public void testParse10()
+	{
+		String s = "foo/b+r?a=b=c&d=&=&e+f=g%20h";
+		Url url = Url.parse(s);
+		checkSegments(url, "foo", "b+r");
+		checkQueryParams(url, "a", "b", "d", "", "", "", "e f", "g h");
+	}
+
 	/**
 	 * 
 	 */
@@ -59,7 +59,8 @@ import org.springframework.context.support.AbstractApplicationContext;
  * <p>
  * This class will also cache any produced proxies so that the same proxy is always returned for the
  * same spring dependency. This helps cut down on session size beacause proxies for the same
- * dependency will not be serialized twice.
+ * dependency will not be serialized twice. Once the proxy of a field is known, it is returned for
+ * that field without reading its annotation or looking up the bean again.
  * 
  * @see LazyInitProxyFactory
  * @see SpringBean
@@ -76,6 +77,9 @@ public class AnnotProxyFieldValueFactory implements IFieldValueFactory
 
 	private final ConcurrentMap<Class<?>, String> beanNameCache = Generics.newConcurrentHashMap();
 
+	/** values of singleton beans, by the field they are injected into */
+	private final ConcurrentMap<Field, Object> fieldValueCache = Generics.newConcurrentHashMap();
+
 	private final boolean wrapInProxies;
 
 	/**
@@ -107,6 +111,12 @@ public class AnnotProxyFieldValueFactory implements IFieldValueFactory
 
 	public Object getFieldValue(final Field field, final Object fieldOwner)
 	{
+		Object fieldValue = fieldValueCache.get(field);
+		if (fieldValue != null)
+		{
+			return fieldValue;
+		}
+
 		if (supportsField(field))
 		{
 			String beanName = getBeanName(field);
@@ -123,6 +133,7 @@ public class AnnotProxyFieldValueFactory implements IFieldValueFactory
 			Object cachedValue = cache.get(locator);
 			if (cachedValue != null)
 			{
+				fieldValueCache.put(field, cachedValue);
 				return cachedValue;
 			}
 
@@ -140,6 +151,7 @@ public class AnnotProxyFieldValueFactory implements IFieldValueFactory
 			if (locator.isSingletonBean())
 			{
 				cache.put(locator, target);
+				fieldValueCache.put(field, target);
 			}
 			return target;
 		}
@@ -102,6 +102,10 @@ public class AnnotProxyFieldValueFactoryTest extends Assert
 		proxy1 = factory.getFieldValue(field, obj);
 		proxy2 = factory.getFieldValue(field, obj);
 		assertTrue(proxy1 == proxy2);
+
+		// another instance of the same field
+		proxy2 = factory.getFieldValue(obj.getClass().getDeclaredField("beanByName"), obj);
+		assertTrue(proxy1 == proxy2);
 	}
 
 	/**
@@ -63,6 +63,12 @@ public abstract class AbstractDecimalConverter<N extends Number> extends Abstrac
 		return NumberFormat.getInstance(locale);
 	}
 
+	@Override
+	FormatPool<NumberFormat> newNumberFormatPool()
+	{
+		return new FormatPool<NumberFormat>(this, AbstractDecimalConverter.class, "getNumberFormat");
+	}
+
 	/**
 	 * @param locale
 	 *            The Locale that was used for this NumberFormat
@@ -77,5 +83,6 @@ public abstract class AbstractDecimalConverter<N extends Number> extends Abstrac
 		}
 
 		numberFormats.put(locale, numberFormat);
+		getNumberFormatPool().clear(locale);
 	}
 }
@@ -34,6 +34,9 @@ public abstract class AbstractIntegerConverter<I extends Number> extends Abstrac
 	/** The date format to use */
 	private final Map<Locale, NumberFormat> numberFormats = new ConcurrentHashMap<Locale, NumberFormat>();
 
+	/** Whether the number format of a locale renders integers like {@link Long#toString(long)} */
+	private final Map<Locale, Boolean> plainFormats = new ConcurrentHashMap<Locale, Boolean>();
+
 	/**
 	 * @param locale
 	 *            The locale
@@ -52,4 +55,57 @@ public abstract class AbstractIntegerConverter<I extends Number> extends Abstrac
 		}
 		return (NumberFormat)numberFormat.clone();
 	}
+
+	@Override
+	FormatPool<NumberFormat> newNumberFormatPool()
+	{
+		return new FormatPool<NumberFormat>(this, AbstractIntegerConverter.class, "getNumberFormat");
+	}
+
+	/**
+	 * Renders integral values without a number format if the format of the locale would render them
+	 * just like {@link Long#toString(long)}.
+	 * 
+	 * @see org.apache.wicket.util.convert.converter.AbstractNumberConverter#convertToString(java.lang.Number,
+	 *      java.util.Locale)
+	 */
+	@Override
+	public String convertToString(final I value, final Locale locale)
+	{
+		if (locale != null && isIntegral(value) && isPlainFormat(locale))
+		{
+			return Long.toString(value.longValue());
+		}
+		return super.convertToString(value, locale);
+	}
+
+	/**
+	 * @param value
+	 * @return whether the value is one of the integral types whose <code>longValue()</code> is exact
+	 */
+	private static boolean isIntegral(final Number value)
+	{
+		return value instanceof Integer || value instanceof Long || value instanceof Short ||
+			value instanceof Byte;
+	}
+
+	/**
+	 * @param locale
+	 * @return <code>true</code> if the default format of the locale renders plain digits
+	 */
+	private boolean isPlainFormat(final Locale locale)
+	{
+		if (getNumberFormatPool().isEnabled() == false)
+		{
+			return false;
+		}
+		Boolean plain = plainFormats.get(locale);
+		if (plain == null)
+		{
+			final long probe = -1234567890L;
+			plain = Long.toString(probe).equals(getNumberFormat(locale).format(probe));
+			plainFormats.put(locale, plain);
+		}
+		return plain;
+	}
 }
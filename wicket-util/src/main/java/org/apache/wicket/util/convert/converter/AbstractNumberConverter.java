@@ -32,12 +32,71 @@ public abstract class AbstractNumberConverter<N extends Number> extends Abstract
 {
 	private static final long serialVersionUID = 1L;
 
+	/** Formats handed out by {@link #getNumberFormat(Locale)}, kept for reuse */
+	private transient volatile FormatPool<NumberFormat> numberFormatPool;
+
 	/**
 	 * @param locale
 	 * @return Returns the numberFormat.
 	 */
 	public abstract NumberFormat getNumberFormat(Locale locale);
 
+	/**
+	 * Creates the pool for number formats. Subclasses whose {@link #getNumberFormat(Locale)} returns
+	 * copies of a cached format enable it.
+	 * 
+	 * @return pool
+	 */
+	FormatPool<NumberFormat> newNumberFormatPool()
+	{
+		return new FormatPool<NumberFormat>(this, AbstractNumberConverter.class, "getNumberFormat");
+	}
+
+	/**
+	 * @return the pool of number formats
+	 */
+	final FormatPool<NumberFormat> getNumberFormatPool()
+	{
+		FormatPool<NumberFormat> pool = numberFormatPool;
+		if (pool == null)
+		{
+			pool = newNumberFormatPool();
+			numberFormatPool = pool;
+		}
+		return pool;
+	}
+
+	/**
+	 * Takes a number format from the pool, or gets a new one if none is available.
+	 * 
+	 * @param locale
+	 * @return number format, to be given back with
+	 *         {@link #releaseNumberFormat(Locale, NumberFormat, int)}
+	 */
+	private NumberFormat borrowNumberFormat(final Locale locale)
+	{
+		NumberFormat numberFormat = getNumberFormatPool().poll(locale);
+		if (numberFormat == null)
+		{
+			numberFormat = getNumberFormat(locale);
+		}
+		return numberFormat;
+	}
+
+	/**
+	 * Gives a number format back to the pool.
+	 * 
+	 * @param locale
+	 * @param numberFormat
+	 * @param version
+	 *            the version of the pool read before the format was borrowed
+	 */
+	private void releaseNumberFormat(final Locale locale, final NumberFormat numberFormat,
+		final int version)
+	{
+		getNumberFormatPool().offer(locale, numberFormat, version);
+	}
+
 	/**
 	 * Parses a value as a String and returns a Number.
 	 * 
@@ -71,11 +130,13 @@ public abstract class AbstractNumberConverter<N extends Number> extends Abstract
 			value = ((String)value).replace(' ', '\u00A0');
 		}
 
-		final NumberFormat numberFormat = getNumberFormat(locale);
+		final int version = getNumberFormatPool().getVersion();
+		final NumberFormat numberFormat = borrowNumberFormat(locale);
 		final N number = parse(numberFormat, value, locale);
 
 		if (number == null)
 		{
+			releaseNumberFormat(locale, numberFormat, version);
 			return null;
 		}
 
@@ -91,16 +152,20 @@ public abstract class AbstractNumberConverter<N extends Number> extends Abstract
 				numberFormat);
 		}
 
+		releaseNumberFormat(locale, numberFormat, version);
 		return number;
 	}
 
 	@Override
 	public String convertToString(final N value, final Locale locale)
 	{
-		NumberFormat fmt = getNumberFormat(locale);
+		int version = getNumberFormatPool().getVersion();
+		NumberFormat fmt = borrowNumberFormat(locale);
 		if (fmt != null)
 		{
-			return fmt.format(value);
+			String string = fmt.format(value);
+			releaseNumberFormat(locale, fmt, version);
+			return string;
 		}
 		return value.toString();
 	}
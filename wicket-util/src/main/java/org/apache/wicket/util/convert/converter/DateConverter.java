@@ -31,6 +31,9 @@ public class DateConverter extends AbstractConverter<Date>
 {
 	private static final long serialVersionUID = 1L;
 
+	/** Formats handed out by {@link #getDateFormat(Locale)}, kept for reuse */
+	private transient volatile FormatPool<DateFormat> dateFormatPool;
+
 	/**
 	 * @see org.apache.wicket.util.convert.IConverter#convertToObject(java.lang.String,Locale)
 	 */
@@ -42,7 +45,11 @@ public class DateConverter extends AbstractConverter<Date>
 		}
 		else
 		{
-			return parse(getDateFormat(locale), value, locale);
+			final int version = getDateFormatPool().getVersion();
+			final DateFormat dateFormat = borrowDateFormat(locale);
+			final Date date = parse(dateFormat, value, locale);
+			releaseDateFormat(locale, dateFormat, version);
+			return date;
 		}
 	}
 
@@ -52,14 +59,67 @@ public class DateConverter extends AbstractConverter<Date>
 	@Override
 	public String convertToString(final Date value, final Locale locale)
 	{
-		final DateFormat dateFormat = getDateFormat(locale);
+		final int version = getDateFormatPool().getVersion();
+		final DateFormat dateFormat = borrowDateFormat(locale);
 		if (dateFormat != null)
 		{
-			return dateFormat.format(value);
+			final String string = dateFormat.format(value);
+			releaseDateFormat(locale, dateFormat, version);
+			return string;
 		}
 		return value.toString();
 	}
 
+	/**
+	 * @return the pool of date formats, enabled only if {@link #getDateFormat(Locale)} is not
+	 *         overridden
+	 */
+	private FormatPool<DateFormat> getDateFormatPool()
+	{
+		FormatPool<DateFormat> pool = dateFormatPool;
+		if (pool == null)
+		{
+			pool = new FormatPool<DateFormat>(this, DateConverter.class, "getDateFormat");
+			dateFormatPool = pool;
+		}
+		return pool;
+	}
+
+	/**
+	 * Takes a date format from the pool, or gets a new one if none is available.
+	 * 
+	 * @param locale
+	 * @return date format
+	 */
+	private DateFormat borrowDateFormat(Locale locale)
+	{
+		if (locale == null)
+		{
+			locale = Locale.getDefault();
+		}
+		DateFormat dateFormat = getDateFormatPool().poll(locale);
+		if (dateFormat == null)
+		{
+			dateFormat = getDateFormat(locale);
+		}
+		return dateFormat;
+	}
+
+	/**
+	 * Gives a date format back to the pool.
+	 * 
+	 * @param locale
+	 * @param dateFormat
+	 * @param version
+	 *            the version of the pool read before the format was borrowed
+	 */
+	private void releaseDateFormat(final Locale locale, final DateFormat dateFormat,
+		final int version)
+	{
+		getDateFormatPool().offer(locale != null ? locale : Locale.getDefault(), dateFormat,
+			version);
+	}
+
 
 	/**
 	 * @param locale
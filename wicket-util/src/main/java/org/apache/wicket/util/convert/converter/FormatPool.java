@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.convert.converter;
+
+import java.text.Format;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps formats per locale for reuse. Formats are not thread-safe, so a format is taken out of the
+ * pool while it is used and put back afterwards.
+ * <p>
+ * A pool is only enabled if the converter creates its formats with the default implementation of
+ * the format factory method, i.e. it is known that all formats of a locale are equal. A disabled
+ * pool never returns a format.
+ * <p>
+ * A borrower reads the {@link #getVersion() version} before it obtains a format and gives it back
+ * with the format, so formats obtained before the pool was last cleared are not put back.
+ * 
+ * @param <F>
+ *            type of format
+ */
+final class FormatPool<F extends Format>
+{
+	private final ConcurrentMap<Locale, Queue<F>> formats = new ConcurrentHashMap<Locale, Queue<F>>();
+
+	private final AtomicInteger version = new AtomicInteger();
+
+	private final boolean enabled;
+
+	/**
+	 * Construct.
+	 * 
+	 * @param converter
+	 *            the converter using the formats
+	 * @param declaringClass
+	 *            the class declaring the default format factory method
+	 * @param methodName
+	 *            the name of the factory method, taking a {@link Locale}
+	 */
+	FormatPool(final Object converter, final Class<?> declaringClass, final String methodName)
+	{
+		enabled = isDeclaredBy(converter.getClass(), declaringClass, methodName);
+	}
+
+	/**
+	 * @return whether formats are pooled
+	 */
+	boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * @return the version of the pool, changed by every {@link #clear(Locale)}
+	 */
+	int getVersion()
+	{
+		return version.get();
+	}
+
+	/**
+	 * Takes a format out of the pool.
+	 * 
+	 * @param locale
+	 * @return a format of the locale, or <code>null</code> if there is none
+	 */
+	F poll(final Locale locale)
+	{
+		if (enabled == false || locale == null)
+		{
+			return null;
+		}
+		Queue<F> queue = formats.get(locale);
+		return queue != null ? queue.poll() : null;
+	}
+
+	/**
+	 * Puts a format back into the pool, unless the pool was cleared after the format was obtained.
+	 * 
+	 * @param locale
+	 * @param format
+	 * @param formatVersion
+	 *            the {@link #getVersion() version} read before the format was obtained
+	 */
+	void offer(final Locale locale, final F format, final int formatVersion)
+	{
+		if (enabled == false || locale == null || format == null ||
+			formatVersion != version.get())
+		{
+			return;
+		}
+		Queue<F> queue = formats.get(locale);
+		if (queue == null)
+		{
+			queue = new ConcurrentLinkedQueue<F>();
+			Queue<F> existing = formats.putIfAbsent(locale, queue);
+			if (existing != null)
+			{
+				queue = existing;
+			}
+		}
+		queue.offer(format);
+		if (formatVersion != version.get())
+		{
+			// cleared concurrently, the queue might be the new one
+			queue.remove(format);
+		}
+	}
+
+	/**
+	 * Drops the formats of a locale, e.g. after its format was reconfigured. Formats borrowed
+	 * before are not taken back.
+	 * 
+	 * @param locale
+	 */
+	void clear(final Locale locale)
+	{
+		version.incrementAndGet();
+		formats.remove(locale);
+	}
+
+	/**
+	 * @param clz
+	 * @param declaringClass
+	 * @param methodName
+	 * @return <code>true</code> if the method of the class is the one declared by declaringClass
+	 */
+	private static boolean isDeclaredBy(final Class<?> clz, final Class<?> declaringClass,
+		final String methodName)
+	{
+		try
+		{
+			return clz.getMethod(methodName, Locale.class).getDeclaringClass() == declaringClass;
+		}
+		catch (NoSuchMethodException e)
+		{
+			return false;
+		}
+	}
+}
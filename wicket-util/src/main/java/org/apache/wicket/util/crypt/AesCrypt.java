@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.crypt;
+
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+
+/**
+ * Authenticated encryption based on AES. The plain text is authenticated with HmacSHA256 and the
+ * first 16 bytes of the MAC are used as the initialization vector for AES in counter mode (the
+ * "synthetic IV" construction). The result is prepended with this IV:
+ * 
+ * <pre>
+ * IV = HmacSHA256(macKey, plain)[0..16]
+ * encrypted = IV + AES/CTR(encryptionKey, IV, plain)
+ * </pre>
+ * 
+ * Encryption is deterministic, i.e. the same text always results in the same encrypted text, which
+ * keeps encrypted urls cacheable, while any modification of the encrypted text is detected on
+ * decryption. Both keys are derived from {@link #getKey()} with SHA-256, so the key should have a
+ * high entropy, e.g. a random per session key as created by a key-in-session crypt factory.
+ * <p>
+ * Ciphers and MACs are pooled and reused, instances can be shared by many threads.
+ */
+public class AesCrypt extends AbstractCrypt
+{
+	/** Name of encryption method */
+	private static final String CRYPT_METHOD = "AES/CTR/NoPadding";
+
+	/** Name of the MAC algorithm */
+	private static final String MAC_METHOD = "HmacSHA256";
+
+	/** Length of the synthetic IV in bytes, i.e. the AES block size */
+	private static final int IV_LENGTH = 16;
+
+	/** Ciphers for the current encryption key, replaced when the key changes */
+	private volatile CipherPool ciphers;
+
+	/**
+	 * Constructor
+	 */
+	public AesCrypt()
+	{
+	}
+
+	/**
+	 * Crypts the given byte array
+	 * 
+	 * @param input
+	 *            byte array to be crypted
+	 * @param mode
+	 *            crypt mode
+	 * @return the input crypted
+	 * @throws GeneralSecurityException
+	 *             if the input could not be decrypted or was modified
+	 */
+	@Override
+	protected final byte[] crypt(final byte[] input, final int mode)
+		throws GeneralSecurityException
+	{
+		final CipherPool pool = getCipherPool();
+
+		Cipher cipher = pool.ciphers.poll();
+		if (cipher == null)
+		{
+			cipher = Cipher.getInstance(CRYPT_METHOD);
+		}
+		Mac mac = pool.macs.poll();
+		if (mac == null)
+		{
+			mac = Mac.getInstance(MAC_METHOD);
+			mac.init(pool.macKey);
+		}
+
+		final byte[] result;
+		if (mode == Cipher.ENCRYPT_MODE)
+		{
+			byte[] iv = Arrays.copyOf(mac.doFinal(input), IV_LENGTH);
+			cipher.init(Cipher.ENCRYPT_MODE, pool.encryptionKey, new IvParameterSpec(iv));
+
+			result = new byte[IV_LENGTH + cipher.getOutputSize(input.length)];
+			System.arraycopy(iv, 0, result, 0, IV_LENGTH);
+			cipher.doFinal(input, 0, input.length, result, IV_LENGTH);
+		}
+		else
+		{
+			if (input.length < IV_LENGTH)
+			{
+				throw new GeneralSecurityException("Encrypted text is too short");
+			}
+			byte[] iv = Arrays.copyOf(input, IV_LENGTH);
+			cipher.init(Cipher.DECRYPT_MODE, pool.encryptionKey, new IvParameterSpec(iv));
+
+			result = cipher.doFinal(input, IV_LENGTH, input.length - IV_LENGTH);
+			if (MessageDigest.isEqual(iv, Arrays.copyOf(mac.doFinal(result), IV_LENGTH)) == false)
+			{
+				throw new GeneralSecurityException("Encrypted text has been modified");
+			}
+		}
+
+		pool.ciphers.offer(cipher);
+		pool.macs.offer(mac);
+		return result;
+	}
+
+	/**
+	 * @return the pool for the current encryption key
+	 * @throws GeneralSecurityException
+	 */
+	private CipherPool getCipherPool() throws GeneralSecurityException
+	{
+		final String key = getKey();
+		CipherPool pool = ciphers;
+		if (pool == null || pool.key.equals(key) == false)
+		{
+			pool = new CipherPool(key);
+			ciphers = pool;
+		}
+		return pool;
+	}
+
+	/**
+	 * The keys derived from an encryption key and the ciphers and MACs to use with them.
+	 */
+	private static final class CipherPool
+	{
+		private final String key;
+
+		private final SecretKeySpec encryptionKey;
+
+		private final SecretKeySpec macKey;
+
+		private final Queue<Cipher> ciphers = new ConcurrentLinkedQueue<Cipher>();
+
+		private final Queue<Mac> macs = new ConcurrentLinkedQueue<Mac>();
+
+		private CipherPool(final String key) throws GeneralSecurityException
+		{
+			this.key = key;
+
+			encryptionKey = new SecretKeySpec(Arrays.copyOf(derive("encrypt", key), 16), "AES");
+			macKey = new SecretKeySpec(derive("mac", key), MAC_METHOD);
+		}
+
+		private static byte[] derive(final String purpose, final String key)
+			throws GeneralSecurityException
+		{
+			try
+			{
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				digest.update(purpose.getBytes("UTF-8"));
+				return digest.digest(key.getBytes("UTF-8"));
+			}
+			catch (UnsupportedEncodingException e)
+			{
+				throw new RuntimeException(e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.crypt;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.wicket.util.collections.MostRecentlyUsedMap;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * {@link ICrypt} decorator that remembers the most recently encrypted and decrypted texts, so
+ * texts that are encrypted over and over again, e.g. the urls of a menu rendered on every page,
+ * skip the cipher. Each encrypted text is remembered for decryption too, thus urls that have just
+ * been generated are decrypted from the cache when they come back.
+ * <p>
+ * The cache lives as long as the decorated crypt, i.e. it is application-wide when used with a
+ * single crypt instance and per session when used by a key-in-session crypt factory.
+ * 
+ * @see CachingSunJceCryptFactory#CachingSunJceCryptFactory(String, int)
+ */
+public class CachingCrypt implements ICrypt
+{
+	private final ICrypt delegate;
+
+	/** plain text to encrypted text */
+	private final Map<String, String> encrypted;
+
+	/** encrypted text to plain text */
+	private final Map<String, String> decrypted;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Construct.
+	 * 
+	 * @param delegate
+	 *            the crypt doing the actual encryption and decryption
+	 * @param maxEntries
+	 *            maximum number of texts remembered for each direction
+	 */
+	public CachingCrypt(final ICrypt delegate, final int maxEntries)
+	{
+		this.delegate = Args.notNull(delegate, "delegate");
+
+		encrypted = Collections.synchronizedMap(new MostRecentlyUsedMap<String, String>(maxEntries));
+		decrypted = Collections.synchronizedMap(new MostRecentlyUsedMap<String, String>(maxEntries));
+	}
+
+	/**
+	 * @see org.apache.wicket.util.crypt.ICrypt#decryptUrlSafe(java.lang.String)
+	 */
+	public String decryptUrlSafe(final String text)
+	{
+		String plainText = decrypted.get(text);
+		if (plainText != null)
+		{
+			hits.incrementAndGet();
+		}
+		else
+		{
+			misses.incrementAndGet();
+			plainText = delegate.decryptUrlSafe(text);
+			if (plainText != null)
+			{
+				decrypted.put(text, plainText);
+			}
+		}
+		return plainText;
+	}
+
+	/**
+	 * @see org.apache.wicket.util.crypt.ICrypt#encryptUrlSafe(java.lang.String)
+	 */
+	public String encryptUrlSafe(final String plainText)
+	{
+		String text = encrypted.get(plainText);
+		if (text != null)
+		{
+			hits.incrementAndGet();
+		}
+		else
+		{
+			misses.incrementAndGet();
+			text = delegate.encryptUrlSafe(plainText);
+			if (text != null)
+			{
+				encrypted.put(plainText, text);
+				decrypted.put(text, plainText);
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * Sets the key of the decorated crypt and forgets all remembered texts.
+	 * 
+	 * @see org.apache.wicket.util.crypt.ICrypt#setKey(java.lang.String)
+	 */
+	public void setKey(final String key)
+	{
+		delegate.setKey(key);
+		clear();
+	}
+
+	/**
+	 * Forgets all remembered texts. The hit and miss counts are kept.
+	 */
+	public void clear()
+	{
+		encrypted.clear();
+		decrypted.clear();
+	}
+
+	/**
+	 * @return number of encryptions and decryptions answered from the cache
+	 */
+	public long getHits()
+	{
+		return hits.get();
+	}
+
+	/**
+	 * @return number of encryptions and decryptions that were delegated
+	 */
+	public long getMisses()
+	{
+		return misses.get();
+	}
+
+	/**
+	 * @return ratio of hits to all encryptions and decryptions, <code>0</code> if there were none
+	 */
+	public double getHitRatio()
+	{
+		long h = hits.get();
+		long total = h + misses.get();
+		return total == 0 ? 0 : (double)h / total;
+	}
+}
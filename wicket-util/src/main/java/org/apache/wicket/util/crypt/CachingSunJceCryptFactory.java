@@ -34,4 +34,26 @@ public class CachingSunJceCryptFactory extends CryptFactoryCachingDecorator
 	{
 		super(new ClassCryptFactory(SunJceCrypt.class, encryptionKey));
 	}
+
+	/**
+	 * Construct a factory whose crypt remembers the most recently en- and decrypted texts.
+	 * 
+	 * @param encryptionKey
+	 *            encryption key
+	 * @param maxEntries
+	 *            maximum number of texts remembered for each direction
+	 * @see CachingCrypt
+	 */
+	public CachingSunJceCryptFactory(final String encryptionKey, final int maxEntries)
+	{
+		super(new ICryptFactory()
+		{
+			public ICrypt newCrypt()
+			{
+				ICrypt crypt = new SunJceCrypt();
+				crypt.setKey(encryptionKey);
+				return new CachingCrypt(crypt, maxEntries);
+			}
+		});
+	}
 }
@@ -21,6 +21,8 @@ import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
 import java.security.Security;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
@@ -34,6 +36,10 @@ import javax.crypto.spec.PBEParameterSpec;
  * implementation is based around Sun's security providers and uses the <a
  * href="http://www.ietf.org/rfc/rfc2898.txt">PBEWithMD5AndDES</a> method to encrypt and decrypt the
  * data.
+ * <p>
+ * The secret key is derived once per encryption key and initialized {@link Cipher}s are pooled and
+ * reused, so that instances can be shared by many threads without paying for the key derivation
+ * and cipher lookup on every call.
  * 
  * @author Juergen Donnerstag
  */
@@ -51,6 +57,9 @@ public class SunJceCrypt extends AbstractCrypt
 	private final static byte[] salt = { (byte)0x15, (byte)0x8c, (byte)0xa3, (byte)0x4a,
 			(byte)0x66, (byte)0x51, (byte)0x2a, (byte)0xbc };
 
+	/** Ciphers for the current encryption key, replaced when the key changes */
+	private volatile CipherPool ciphers;
+
 	/**
 	 * Constructor
 	 */
@@ -87,11 +96,26 @@ public class SunJceCrypt extends AbstractCrypt
 	protected final byte[] crypt(final byte[] input, final int mode)
 		throws GeneralSecurityException
 	{
-		SecretKey key = generateSecretKey();
-		PBEParameterSpec spec = new PBEParameterSpec(salt, COUNT);
-		Cipher ciph = Cipher.getInstance(CRYPT_METHOD);
-		ciph.init(mode, key, spec);
-		return ciph.doFinal(input);
+		final String encryptionKey = getKey();
+		CipherPool pool = ciphers;
+		if (pool == null || pool.encryptionKey.equals(encryptionKey) == false)
+		{
+			pool = new CipherPool(encryptionKey, generateSecretKey());
+			ciphers = pool;
+		}
+
+		final Queue<Cipher> queue = (mode == Cipher.ENCRYPT_MODE) ? pool.encrypt : pool.decrypt;
+		Cipher ciph = queue.poll();
+		if (ciph == null)
+		{
+			ciph = Cipher.getInstance(CRYPT_METHOD);
+			ciph.init(mode, pool.secretKey, new PBEParameterSpec(salt, COUNT));
+		}
+		byte[] result = ciph.doFinal(input);
+
+		// doFinal() resets the cipher to its initialized state, a failed one is dropped
+		queue.offer(ciph);
+		return result;
 	}
 
 	/**
@@ -112,4 +136,24 @@ public class SunJceCrypt extends AbstractCrypt
 		final PBEKeySpec spec = new PBEKeySpec(getKey().toCharArray());
 		return SecretKeyFactory.getInstance(CRYPT_METHOD).generateSecret(spec);
 	}
+
+	/**
+	 * The secret key derived from an encryption key and the ciphers initialized with it.
+	 */
+	private static final class CipherPool
+	{
+		private final String encryptionKey;
+
+		private final SecretKey secretKey;
+
+		private final Queue<Cipher> encrypt = new ConcurrentLinkedQueue<Cipher>();
+
+		private final Queue<Cipher> decrypt = new ConcurrentLinkedQueue<Cipher>();
+
+		private CipherPool(final String encryptionKey, final SecretKey secretKey)
+		{
+			this.encryptionKey = encryptionKey;
+			this.secretKey = secretKey;
+		}
+	}
 }
@@ -155,6 +155,17 @@ public abstract class ListenerCollection<T> implements Serializable, Iterable<T>
 		listeners.remove(listener);
 	}
 
+	/**
+	 * Tells whether any listener has been added. Lets callers on hot paths skip building
+	 * notifications nobody receives.
+	 * 
+	 * @return {@code true} if there are no listeners
+	 */
+	public boolean isEmpty()
+	{
+		return listeners.isEmpty();
+	}
+
 	/**
 	 * Whether or not added listeners should be checked for duplicates.
 	 * 
@@ -61,6 +61,9 @@ public final class Strings
 
 	private static final Pattern HTML_NUMBER_REGEX = Pattern.compile("&#\\d+;");
 
+	/** Shared string representations of small non-negative numbers, filled lazily */
+	private static final String[] NUMBERS = new String[1024];
+
 	static
 	{
 		LINE_SEPARATOR = AccessController.doPrivileged(new PrivilegedAction<String>()
@@ -1152,6 +1155,31 @@ public final class Strings
 	}
 
 
+	/**
+	 * Converts a number to a string just like {@link String#valueOf(long)}, but returns shared,
+	 * interned instances for small non-negative numbers. Used for ids of repeater items, so that
+	 * the many equal ids in a component tree occupy memory and serialized bytes only once.
+	 * 
+	 * @param number
+	 *            The number
+	 * @return The string
+	 */
+	public static String valueOf(final long number)
+	{
+		if (number >= 0 && number < NUMBERS.length)
+		{
+			String string = NUMBERS[(int)number];
+			if (string == null)
+			{
+				// races are harmless, strings are immutable
+				string = String.valueOf(number).intern();
+				NUMBERS[(int)number] = string;
+			}
+			return string;
+		}
+		return String.valueOf(number);
+	}
+
 	/**
 	 * Converts a Throwable to a string.
 	 * 
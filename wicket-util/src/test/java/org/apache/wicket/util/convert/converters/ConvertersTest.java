@@ -17,6 +17,9 @@
 package org.apache.wicket.util.convert.converters;
 
 import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.Format;
+import java.text.NumberFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -427,4 +430,85 @@ public final class ConvertersTest extends Assert
 		bd = new BigDecimalConverter().convertToObject("0,1", Locale.GERMAN);
 		assertTrue(bd.doubleValue() == 0.1d);
 	}
+
+	/**
+	 * Reused formats keep their locale, and formats of overriding converters are still used.
+	 */
+	@Test
+	public void reusedFormats()
+	{
+		IntegerConverter integerConverter = new IntegerConverter();
+		for (int i = 0; i < 3; i++)
+		{
+			assertEquals("-1234567", integerConverter.convertToString(-1234567, Locale.US));
+			assertEquals("1234567", integerConverter.convertToString(1234567, DUTCH_LOCALE));
+			assertEquals(Integer.valueOf(42), integerConverter.convertToObject("42", DUTCH_LOCALE));
+		}
+
+		IntegerConverter grouping = new IntegerConverter()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public NumberFormat getNumberFormat(Locale locale)
+			{
+				NumberFormat format = super.getNumberFormat(locale);
+				format.setGroupingUsed(true);
+				return format;
+			}
+		};
+		assertEquals("1,234,567", grouping.convertToString(1234567, Locale.US));
+
+		DoubleConverter doubleConverter = new DoubleConverter();
+		for (int i = 0; i < 3; i++)
+		{
+			assertEquals("1,5", doubleConverter.convertToString(1.5, DUTCH_LOCALE));
+			assertEquals("1.5", doubleConverter.convertToString(1.5, Locale.US));
+		}
+		doubleConverter.setNumberFormat(Locale.US, new DecimalFormat("0.00"));
+		assertEquals("1.50", doubleConverter.convertToString(1.5, Locale.US));
+
+		DateConverter dateConverter = new DateConverter();
+		Calendar cal = Calendar.getInstance(DUTCH_LOCALE);
+		cal.clear();
+		cal.set(2002, Calendar.OCTOBER, 24);
+		for (int i = 0; i < 3; i++)
+		{
+			assertEquals("24-10-02", dateConverter.convertToString(cal.getTime(), DUTCH_LOCALE));
+			assertEquals("10/24/02", dateConverter.convertToString(cal.getTime(), Locale.US));
+			assertEquals(cal.getTime(), dateConverter.convertToObject("24-10-02", DUTCH_LOCALE));
+		}
+	}
+
+	/**
+	 * A format borrowed before the number format is set is not given back to the pool.
+	 */
+	@Test
+	public void formatSetWhileBorrowed()
+	{
+		BigDecimalConverter converter = new BigDecimalConverter()
+		{
+			private static final long serialVersionUID = 1L;
+
+			private boolean set;
+
+			@Override
+			protected BigDecimal parse(Format format, Object value, Locale locale)
+			{
+				if (set == false)
+				{
+					set = true;
+					setNumberFormat(Locale.US, new DecimalFormat("0.00"));
+				}
+				return super.parse(format, value, locale);
+			}
+		};
+		BigDecimal value = new BigDecimal("1.5");
+		assertEquals("1.5", converter.convertToString(value, Locale.US));
+		assertEquals(value, converter.convertToObject("1.5", Locale.US));
+		for (int i = 0; i < 3; i++)
+		{
+			assertEquals("1.50", converter.convertToString(value, Locale.US));
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wicket.util.crypt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CachingCrypt}.
+ */
+public class CachingCryptTest extends Assert
+{
+	/**
+	 * Repeated texts are answered from the cache, in both directions.
+	 */
+	@Test
+	public void cache()
+	{
+		CountingCrypt counting = new CountingCrypt();
+		CachingCrypt crypt = new CachingCrypt(counting, 2);
+
+		String encrypted = crypt.encryptUrlSafe("a");
+		assertEquals(encrypted, crypt.encryptUrlSafe("a"));
+		assertEquals("a", crypt.decryptUrlSafe(encrypted));
+		assertEquals(1, counting.count);
+		assertEquals(2, crypt.getHits());
+		assertEquals(1, crypt.getMisses());
+
+		// "a" is evicted
+		crypt.encryptUrlSafe("b");
+		crypt.encryptUrlSafe("c");
+		crypt.encryptUrlSafe("a");
+		assertEquals(4, counting.count);
+
+		// failed decryptions are not remembered
+		assertNull(crypt.decryptUrlSafe("invalid"));
+		assertNull(crypt.decryptUrlSafe("invalid"));
+		assertEquals(6, counting.count);
+	}
+
+	/**
+	 * Changing the key clears the cache.
+	 */
+	@Test
+	public void setKey()
+	{
+		CountingCrypt counting = new CountingCrypt();
+		CachingCrypt crypt = new CachingCrypt(counting, 10);
+
+		crypt.encryptUrlSafe("a");
+		crypt.setKey("other");
+		crypt.encryptUrlSafe("a");
+		assertEquals(2, counting.count);
+		assertEquals(0, crypt.getHitRatio(), 0);
+	}
+
+	private static class CountingCrypt implements ICrypt
+	{
+		private int count;
+
+		public String decryptUrlSafe(String text)
+		{
+			count++;
+			return text.startsWith("x") ? text.substring(1) : null;
+		}
+
+		public String encryptUrlSafe(String plainText)
+		{
+			count++;
+			return "x" + plainText;
+		}
+
+		public void setKey(String key)
+		{
+		}
+	}
+}
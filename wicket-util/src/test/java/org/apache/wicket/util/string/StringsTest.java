@@ -542,6 +542,20 @@ public class StringsTest extends Assert
 		assertTrue(exceptionString.contains("RuntimeException"));
 	}
 
+	/**
+	 * Small numbers share their string representation
+	 */
+	@Test
+	public void valueOf()
+	{
+		assertEquals("0", Strings.valueOf(0));
+		assertSame("17", Strings.valueOf(17));
+		assertSame(Strings.valueOf(1023), Strings.valueOf(1023));
+		assertEquals("1024", Strings.valueOf(1024));
+		assertEquals("-1", Strings.valueOf(-1));
+		assertEquals(String.valueOf(Long.MAX_VALUE), Strings.valueOf(Long.MAX_VALUE));
+	}
+
 	/**
 	 * Asserts that both string arrays are equal.
 	 * 